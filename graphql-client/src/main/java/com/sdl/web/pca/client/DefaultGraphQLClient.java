@@ -3,12 +3,18 @@ package com.sdl.web.pca.client;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.sdl.web.pca.client.auth.Authentication;
 import com.sdl.web.pca.client.exception.GraphQLClientException;
 import com.sdl.web.pca.client.exception.UnauthorizedException;
 import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.response.GraphQLResponse;
 import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
@@ -25,6 +31,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -37,10 +45,13 @@ public class DefaultGraphQLClient implements GraphQLClient {
         MAPPER.configure(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES, false);
         MAPPER.configure(DeserializationFeature.FAIL_ON_NUMBERS_FOR_ENUMS, false);
     }
+    private static final ObjectWriter REQUEST_WRITER = MAPPER.writerFor(GraphQLRequest.class);
 
     private final Authentication auth;
     private final String endpoint;
     private final ConcurrentMap<String, String> defaultHeaders = new ConcurrentHashMap<>();
+    private volatile WireLogger wireLogger = WireLogger.DISABLED;
+    private volatile HttpHost loggedProxy;
 
     public DefaultGraphQLClient(String endpoint, Map<String, String> defaultHeaders) {
         this(endpoint, defaultHeaders, null);
@@ -68,12 +79,26 @@ public class DefaultGraphQLClient implements GraphQLClient {
         String proxyHost = secure ? System.getProperty("https.proxyHost") : System.getProperty("http.proxyHost");
         if (proxyHost != null) {
             String proxyPort = secure ? System.getProperty("https.proxyPort") : System.getProperty("http.proxyPort");
-            LOG.info("Creating proxy with Host [" + proxyHost +"] and Port [" + proxyPort + "] for Endpoint [" + endpoint + "]");
-            return new HttpHost(proxyHost, proxyPort != null ? Integer.parseInt(proxyPort) : -1);
+            HttpHost proxy = new HttpHost(proxyHost, proxyPort != null ? Integer.parseInt(proxyPort) : -1);
+            // Proxy is created for every request, so only report when it is used for the first time or changes
+            if (!proxy.equals(loggedProxy)) {
+                loggedProxy = proxy;
+                LOG.info("Creating proxy with Host [{}] and Port [{}] for Endpoint [{}]", proxyHost, proxyPort, endpoint);
+            }
+            return proxy;
         }
         return null;
     }
 
+    /**
+     * Sets logger of sampled calls with their bodies, which is disabled by default.
+     *
+     * @param wireLogger wire logger
+     */
+    public void setWireLogger(WireLogger wireLogger) {
+        this.wireLogger = wireLogger == null ? WireLogger.DISABLED : wireLogger;
+    }
+
     @Override
     public String execute(String jsonEntity) throws UnauthorizedException, GraphQLClientException {
         return execute(jsonEntity, 0);
@@ -81,16 +106,50 @@ public class DefaultGraphQLClient implements GraphQLClient {
 
     @Override
     public String execute(String jsonEntity, int timeoutInMillis) throws UnauthorizedException, GraphQLClientException {
+        StringEntity entity = new StringEntity(jsonEntity, ContentType.APPLICATION_JSON);
+        return new String(executeInternal(entity, jsonEntity, timeoutInMillis, null, null).getBody(), UTF_8);
+    }
+
+    @Override
+    public String execute(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return new String(executeForBytes(request), UTF_8);
+    }
+
+    @Override
+    public byte[] executeForBytes(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return executeConditional(request, null, null).getBody();
+    }
+
+    @Override
+    public GraphQLResponse executeConditional(GraphQLRequest request, String etag, String lastModified)
+            throws UnauthorizedException, GraphQLClientException {
+        JsonRequestEntity entity;
+        try {
+            entity = new JsonRequestEntity(REQUEST_WRITER.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new GraphQLClientException("Unable to serialize request: " + request.toString(), e);
+        }
+        // Logged entity is only decoded if it is actually logged
+        return executeInternal(entity, entity, request.getTimeout(), etag, lastModified);
+    }
+
+    private GraphQLResponse executeInternal(HttpEntity entity, Object jsonEntity, int timeoutInMillis, String etag,
+                                            String lastModified) throws UnauthorizedException, GraphQLClientException {
         LOG.debug("Requested entity: {}", jsonEntity);
         HttpPost httpPost = new HttpPost(endpoint);
         defaultHeaders.forEach((key, value) -> httpPost.addHeader(key, value));
+        if (etag != null) {
+            httpPost.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            httpPost.addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
 
         if (timeoutInMillis > 0) {
             RequestConfig params = RequestConfig.custom().setConnectTimeout(timeoutInMillis).setSocketTimeout(timeoutInMillis).build();
             httpPost.setConfig(params);
         }
 
-        StringEntity entity = new StringEntity(jsonEntity, ContentType.APPLICATION_JSON);
         httpPost.setEntity(entity);
 
         if (auth != null) {
@@ -99,35 +158,77 @@ public class DefaultGraphQLClient implements GraphQLClient {
 
         //Execute and get the response.
         CloseableHttpClient httpClient = createHttpClient();
-        LOG.trace("Before call to Tridion content service: System.currentTimeMillis --> " + System.currentTimeMillis() + " --> endpoint (" + endpoint + ") --> jsonEntity (" + jsonEntity + ")");
+        LOG.trace("Before call to Tridion content service: System.currentTimeMillis --> {} --> endpoint ({}) --> jsonEntity ({})", System.currentTimeMillis(), endpoint, jsonEntity);
+        long start = System.nanoTime();
+        int status = -1;
+        byte[] content = null;
+        Exception failure = null;
         try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-            LOG.trace("After call to Tridion content service: System.currentTimeMillis --> " + System.currentTimeMillis() + " --> endpoint (" + endpoint + ") --> jsonEntity (" + jsonEntity + ")");
+            LOG.trace("After call to Tridion content service: System.currentTimeMillis --> {} --> endpoint ({}) --> jsonEntity ({})", System.currentTimeMillis(), endpoint, jsonEntity);
+            status = response.getStatusLine().getStatusCode();
+            String responseEtag = headerValue(response, HttpHeaders.ETAG);
+            String responseLastModified = headerValue(response, HttpHeaders.LAST_MODIFIED);
+            long maxAge = maxAge(headerValue(response, HttpHeaders.CACHE_CONTROL));
+            if (status == SC_NOT_MODIFIED && (etag != null || lastModified != null)) {
+                LOG.debug("Entity not modified for a request {}", jsonEntity);
+                return new GraphQLResponse(null, responseEtag, responseLastModified, maxAge);
+            }
             InputStream contentStream = response.getEntity().getContent();
-            String contentString = IOUtils.toString(contentStream, "UTF-8");
-            if (response.getStatusLine().getStatusCode() != SC_OK) {
-                if (response.getStatusLine().getStatusCode() == SC_UNAUTHORIZED) {
+            content = IOUtils.toByteArray(contentStream);
+            if (status != SC_OK) {
+                String contentString = new String(content, UTF_8);
+                if (status == SC_UNAUTHORIZED) {
                     throw new UnauthorizedException("Unable to retrieve requested entity, message: " + contentString);
                 }
                 throw new GraphQLClientException("Unable to retrieve requested entity from " + endpoint +
                         ", due to " + contentString);
             }
-            LOG.debug("Returned message: {} for a request {}", contentString, jsonEntity);
-            return contentString;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Returned message: {} for a request {}", new String(content, UTF_8), jsonEntity);
+            }
+            return new GraphQLResponse(content, responseEtag, responseLastModified, maxAge);
         } catch (UnauthorizedException e) {
+            failure = e;
             throw e;
         } catch (Exception e) {
+            failure = e;
             throw new GraphQLClientException("Exception during requesting entity: " + jsonEntity, e);
+        } finally {
+            wireLogger.log(endpoint, status, start, jsonEntity, content, failure);
         }
     }
 
-    @Override
-    public String execute(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
-        try {
-            String stringRequest = MAPPER.writeValueAsString(request);
-            return execute(stringRequest, request.getTimeout());
-        } catch (JsonProcessingException e) {
-            throw new GraphQLClientException("Unable to serialize request: " + request.toString(), e);
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * Reads freshness lifetime from a Cache-Control header. no-store wins over any other directive and no-cache
+     * counts as zero lifetime.
+     */
+    static long maxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return GraphQLResponse.NO_MAX_AGE;
+        }
+        long maxAge = GraphQLResponse.NO_MAX_AGE;
+        boolean noCache = false;
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase(Locale.ROOT);
+            if (value.equals("no-store")) {
+                return GraphQLResponse.NO_STORE;
+            }
+            if (value.equals("no-cache")) {
+                noCache = true;
+            } else if (value.startsWith("max-age=")) {
+                try {
+                    maxAge = Math.max(0, Long.parseLong(value.substring(8).replace("\"", "")));
+                } catch (NumberFormatException e) {
+                    LOG.debug("Ignoring malformed Cache-Control header: {}", cacheControl);
+                }
+            }
         }
+        return noCache ? 0 : maxAge;
     }
 
     /**
@@ -3,6 +3,9 @@ package com.sdl.web.pca.client;
 import com.sdl.web.pca.client.exception.GraphQLClientException;
 import com.sdl.web.pca.client.exception.UnauthorizedException;
 import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.response.GraphQLResponse;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * This interface enables java clients to connect to the GraphQL Service
@@ -37,6 +40,35 @@ public interface GraphQLClient {
      */
     String execute(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException;
 
+    /**
+     * This method can be used to execute the GraphQL queries when the response is going to be parsed or forwarded
+     * as bytes, so it does not have to be decoded into a string first.
+     *
+     * @param request GraphQLRequest object which holds the information to execute the query.
+     * @return The UTF-8 encoded GraphQL JSON response with data and errors if any.
+     * @throws GraphQLClientException Thrown when request to GraphQL Service fail
+     */
+    default byte[] executeForBytes(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return execute(request).getBytes(UTF_8);
+    }
+
+    /**
+     * This method can be used to revalidate a cached response. Validators of the cached response are sent as
+     * {@code If-None-Match} and {@code If-Modified-Since} headers, so the service may answer without a body.
+     * <p>
+     * Clients which do not support conditional requests always return full responses without caching headers.
+     *
+     * @param request      GraphQLRequest object which holds the information to execute the query.
+     * @param etag         entity tag of the cached response or null
+     * @param lastModified last modification date of the cached response or null
+     * @return The response, not modified one if the cached response is still valid.
+     * @throws GraphQLClientException Thrown when request to GraphQL Service fail
+     */
+    default GraphQLResponse executeConditional(GraphQLRequest request, String etag, String lastModified)
+            throws UnauthorizedException, GraphQLClientException {
+        return GraphQLResponse.of(executeForBytes(request));
+    }
+
     /**
      * Adds default header to request.
      * @param header HTTP Header name
@@ -0,0 +1,30 @@
+package com.sdl.web.pca.client;
+
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Entity of a GraphQL request serialized by Jackson.
+ * <p>
+ * Jackson serializes the request into its own recycled buffers and copies the result into the byte array sent here,
+ * so sending a request does not create an intermediate JSON string. The request is sent with its exact length, as
+ * some proxies and servers refuse chunked request bodies.
+ */
+final class JsonRequestEntity extends ByteArrayEntity {
+    private final byte[] json;
+
+    JsonRequestEntity(byte[] json) {
+        super(json, ContentType.APPLICATION_JSON);
+        this.json = json;
+    }
+
+    /**
+     * Returns serialized request, which is only decoded when the entity is actually logged.
+     */
+    @Override
+    public String toString() {
+        return new String(json, UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sdl.web.pca.client;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Logs sampled GraphQL calls with their request and response bodies at INFO level of the
+ * {@value #LOGGER_NAME} logger.
+ * <p>
+ * A call is logged if it is one of every {@code sampleRate} calls or if it takes at least
+ * {@code slowThresholdMillis}, so diagnostics can stay enabled under load. Bodies are truncated and formatted
+ * only for calls which are actually logged.
+ */
+public final class WireLogger {
+    public static final String LOGGER_NAME = "com.sdl.web.pca.client.wire";
+    public static final int DEFAULT_MAX_BODY_LENGTH = 2048;
+    public static final WireLogger DISABLED = new WireLogger(0, -1, DEFAULT_MAX_BODY_LENGTH);
+
+    private static final Logger LOG = getLogger(LOGGER_NAME);
+
+    private final int sampleRate;
+    private final long slowThresholdMillis;
+    private final int maxBodyLength;
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * @param sampleRate          log one of every given number of calls, 0 to log no calls by sampling
+     * @param slowThresholdMillis log all calls taking at least given number of milliseconds, negative to log no
+     *                            calls by duration
+     * @param maxBodyLength       maximum number of characters of request and response bodies to log
+     */
+    public WireLogger(int sampleRate, long slowThresholdMillis, int maxBodyLength) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException("Sample rate should not be negative, got " + sampleRate);
+        }
+        if (maxBodyLength < 0) {
+            throw new IllegalArgumentException("Maximum body length should not be negative, got " + maxBodyLength);
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * Creates logger logging one of every given number of calls.
+     *
+     * @param sampleRate number of calls per logged call, 1 to log every call
+     * @return wire logger
+     */
+    public static WireLogger sampled(int sampleRate) {
+        return new WireLogger(sampleRate, -1, DEFAULT_MAX_BODY_LENGTH);
+    }
+
+    /**
+     * Creates logger logging calls which take at least given time.
+     *
+     * @param slowThresholdMillis minimum duration of logged calls in milliseconds
+     * @return wire logger
+     */
+    public static WireLogger slowerThan(long slowThresholdMillis) {
+        return new WireLogger(0, slowThresholdMillis, DEFAULT_MAX_BODY_LENGTH);
+    }
+
+    /**
+     * Logs a completed call if it is sampled or slow.
+     *
+     * @param endpoint   endpoint called
+     * @param status     HTTP status or -1 if there is no response
+     * @param startNanos {@link System#nanoTime()} when the call started
+     * @param request    request body, converted to string only if logged
+     * @param response   response body or null
+     * @param failure    failure of the call or null
+     */
+    void log(String endpoint, int status, long startNanos, Object request, byte[] response, Exception failure) {
+        if ((sampleRate == 0 && slowThresholdMillis < 0) || !LOG.isInfoEnabled()) {
+            return;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        boolean slow = slowThresholdMillis >= 0 && durationMillis >= slowThresholdMillis;
+        boolean sampled = sampleRate > 0 && calls.getAndIncrement() % sampleRate == 0;
+        if (!slow && !sampled) {
+            return;
+        }
+        LOG.info("GraphQL call to {} took {} ms{}, status: {}, request: {}, response: {}, failure: {}",
+                endpoint, durationMillis, slow ? " (slow)" : "", status, truncate(String.valueOf(request)),
+                truncate(response), failure == null ? null : failure.toString());
+    }
+
+    private String truncate(String body) {
+        if (body.length() <= maxBodyLength) {
+            return body;
+        }
+        return body.substring(0, maxBodyLength) + "... (" + body.length() + " characters)";
+    }
+
+    private String truncate(byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        if (body.length <= maxBodyLength) {
+            return new String(body, UTF_8);
+        }
+        // Decode only the logged part, a multi-byte character cut at the end shows as a replacement character
+        return new String(body, 0, maxBodyLength, UTF_8) + "... (" + body.length + " bytes)";
+    }
+}
@@ -0,0 +1,94 @@
+package com.sdl.web.pca.client.request;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Value encoded to JSON once, which is written verbatim whenever a request containing it is serialized.
+ * <p>
+ * Constant parts of requests, such as query text or claims shared by many requests, can be encoded once and
+ * used as request variables or query, so they are not introspected and escaped again for every request.
+ * Encoded value is kept for callers which read requests, but it should not be modified afterwards, since
+ * changes would not be reflected in the encoded JSON.
+ */
+@JsonSerialize(using = EncodedJson.Serializer.class)
+public final class EncodedJson {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Object value;
+    private final SerializedString json;
+
+    private EncodedJson(Object value, String json) {
+        this.value = value;
+        // Serialized string keeps its UTF-8 bytes once computed, so every request reuses them
+        this.json = new SerializedString(json);
+    }
+
+    /**
+     * Encodes value to JSON.
+     *
+     * @param value value to encode
+     * @return encoded value
+     * @throws IllegalArgumentException if value cannot be serialized
+     */
+    public static EncodedJson of(Object value) {
+        try {
+            return new EncodedJson(value, MAPPER.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to encode value " + value, e);
+        }
+    }
+
+    /**
+     * Returns value which was encoded.
+     *
+     * @return value
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Returns JSON written for the value.
+     *
+     * @return JSON text
+     */
+    public String getJson() {
+        return json.getValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return json.getValue().equals(((EncodedJson) o).json.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return json.getValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json.getValue();
+    }
+
+    static final class Serializer extends StdSerializer<EncodedJson> {
+        Serializer() {
+            super(EncodedJson.class);
+        }
+
+        @Override
+        public void serialize(EncodedJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.sdl.web.pca.client.request;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 
+/**
+ * GraphQL request. Query and variable values may be {@link EncodedJson}, which is written verbatim.
+ */
 @JsonInclude(NON_NULL)
+@JsonAutoDetect(getterVisibility = NONE, isGetterVisibility = NONE)
+@JsonPropertyOrder({"query", "variables", "operationName"})
 public final class GraphQLRequest {
     private final String query;
+    private final EncodedJson encodedQuery;
     private final Map<String, Object> variables;
     private final String operationName;
 
@@ -31,7 +41,26 @@ public final class GraphQLRequest {
 
 
     public GraphQLRequest(String query, Map<String, Object> variables, String operationName, int timeout) {
+        this(query, null, variables, operationName, timeout);
+    }
+
+    /**
+     * Creates request which query has been encoded already.
+     *
+     * @param encodedQuery  query encoded as JSON string
+     * @param variables     variables
+     * @param operationName operation name or null
+     * @param timeout       timeout in milliseconds
+     */
+    public GraphQLRequest(EncodedJson encodedQuery, Map<String, Object> variables, String operationName,
+                          int timeout) {
+        this((String) encodedQuery.getValue(), encodedQuery, variables, operationName, timeout);
+    }
+
+    private GraphQLRequest(String query, EncodedJson encodedQuery, Map<String, Object> variables,
+                           String operationName, int timeout) {
         this.query = query;
+        this.encodedQuery = encodedQuery;
         this.variables = variables;
         this.operationName = operationName;
         this.timeout = (int) TimeUnit.MILLISECONDS.toMillis(timeout);
@@ -41,10 +70,17 @@ public final class GraphQLRequest {
         return query;
     }
 
+    @JsonProperty("query")
+    private Object getQueryForJson() {
+        return encodedQuery != null ? encodedQuery : query;
+    }
+
+    @JsonProperty
     public Map<String, Object> getVariables() {
         return variables;
     }
 
+    @JsonProperty
     public String getOperationName() {
         return operationName;
     }
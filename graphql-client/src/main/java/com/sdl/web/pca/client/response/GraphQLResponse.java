@@ -0,0 +1,88 @@
+package com.sdl.web.pca.client.response;
+
+/**
+ * Response of a conditional GraphQL request along with the HTTP caching headers returned by the service.
+ */
+public final class GraphQLResponse {
+    /**
+     * Value of {@link #getMaxAge()} when the service did not send a {@code max-age} directive.
+     */
+    public static final long NO_MAX_AGE = -1;
+    /**
+     * Value of {@link #getMaxAge()} when the service sent a {@code no-store} directive.
+     */
+    public static final long NO_STORE = -2;
+
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+    private final long maxAge;
+
+    /**
+     * @param body         UTF-8 encoded response body or null when the service answered {@code 304 Not Modified}
+     * @param etag         value of the {@code ETag} header or null
+     * @param lastModified value of the {@code Last-Modified} header or null
+     * @param maxAge       freshness lifetime in seconds from {@code Cache-Control}, {@link #NO_MAX_AGE} or
+     *                     {@link #NO_STORE}
+     */
+    public GraphQLResponse(byte[] body, String etag, String lastModified, long maxAge) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Creates response without caching headers.
+     *
+     * @param body UTF-8 encoded response body
+     * @return response
+     */
+    public static GraphQLResponse of(byte[] body) {
+        return new GraphQLResponse(body, null, null, NO_MAX_AGE);
+    }
+
+    /**
+     * Returns response body.
+     *
+     * @return UTF-8 encoded body or null if the response is not modified
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns freshness lifetime of the response. Zero means the response must be revalidated before reuse.
+     *
+     * @return lifetime in seconds, {@link #NO_MAX_AGE} or {@link #NO_STORE}
+     */
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Checks if the service forbade storing the response.
+     *
+     * @return true for {@code Cache-Control: no-store}
+     */
+    public boolean isNoStore() {
+        return maxAge == NO_STORE;
+    }
+
+    /**
+     * Checks if the service confirmed that the response held by the caller is still valid.
+     *
+     * @return true for {@code 304 Not Modified}
+     */
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.sdl.web.pca.client.scheduling;
+
+import com.sdl.web.pca.client.GraphQLClient;
+import com.sdl.web.pca.client.exception.GraphQLClientException;
+import com.sdl.web.pca.client.exception.UnauthorizedException;
+import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.response.GraphQLResponse;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Client which shares a limited number of concurrent requests of another client fairly between tenants, such as
+ * sites served by one client instance.
+ * <p>
+ * Requests above the limit wait, and requests of different tenants are started in proportion to tenant weights, so
+ * a tenant sending many requests, for example a crawler of one publication, does not delay requests of other
+ * tenants. Tenants may have concurrency and rate quotas, which apply even when connections are available. By
+ * default the tenant of a request is its namespace and publication.
+ * <p>
+ * Requests executed within a {@link RequestPriority#BACKGROUND} scope wait behind interactive ones and leave a
+ * number of slots to interactive requests, so batch jobs do not add to the latency of page renders.
+ * <p>
+ * The limit should not exceed the number of connections the wrapped client can use at once.
+ */
+public class FairGraphQLClient implements GraphQLClient {
+    /**
+     * Tenant of requests which do not identify their tenant.
+     */
+    public static final String DEFAULT_TENANT = "default";
+
+    private final GraphQLClient delegate;
+    private final FairScheduler scheduler;
+    private final Function<GraphQLRequest, String> tenantOf;
+
+    /**
+     * Creates client reserving a quarter of the slots for interactive requests.
+     *
+     * @param delegate       client to execute requests with
+     * @param maxConcurrency maximum number of requests running at once
+     */
+    public FairGraphQLClient(GraphQLClient delegate, int maxConcurrency) {
+        this(delegate, maxConcurrency, maxConcurrency / 4, TenantQuota.DEFAULT,
+                FairGraphQLClient::namespaceAndPublication);
+    }
+
+    public FairGraphQLClient(GraphQLClient delegate, int maxConcurrency, TenantQuota defaultQuota,
+                             Function<GraphQLRequest, String> tenantOf) {
+        this(delegate, maxConcurrency, maxConcurrency / 4, defaultQuota, tenantOf);
+    }
+
+    /**
+     * @param delegate            client to execute requests with
+     * @param maxConcurrency      maximum number of requests running at once
+     * @param reservedInteractive number of slots background requests leave to interactive ones
+     * @param defaultQuota        quota of tenants without own quota
+     * @param tenantOf            extracts tenant key from request
+     */
+    public FairGraphQLClient(GraphQLClient delegate, int maxConcurrency, int reservedInteractive,
+                             TenantQuota defaultQuota, Function<GraphQLRequest, String> tenantOf) {
+        this.delegate = delegate;
+        this.scheduler = new FairScheduler(maxConcurrency, reservedInteractive, defaultQuota);
+        this.tenantOf = tenantOf;
+    }
+
+    /**
+     * Returns tenant key made of {@code namespaceId} and {@code publicationId} variables of request.
+     *
+     * @param request request
+     * @return namespace and publication separated by colon, namespace only or {@link #DEFAULT_TENANT}
+     */
+    public static String namespaceAndPublication(GraphQLRequest request) {
+        Map<String, Object> variables = request.getVariables();
+        Object namespace = variables == null ? null : variables.get("namespaceId");
+        Object publication = variables == null ? null : variables.get("publicationId");
+        if (namespace == null && publication == null) {
+            return DEFAULT_TENANT;
+        }
+        return publication == null ? String.valueOf(namespace) : namespace + ":" + publication;
+    }
+
+    /**
+     * Sets quota of a tenant.
+     *
+     * @param tenant tenant key
+     * @param quota  quota
+     */
+    public void setQuota(String tenant, TenantQuota quota) {
+        scheduler.setQuota(tenant, quota);
+    }
+
+    /**
+     * Sets quota of tenants without own quota.
+     *
+     * @param quota quota
+     */
+    public void setDefaultQuota(TenantQuota quota) {
+        scheduler.setDefaultQuota(quota);
+    }
+
+    /**
+     * Returns statistics of all tenants seen so far.
+     *
+     * @return statistics by tenant key
+     */
+    public Map<String, TenantStats> getStats() {
+        return scheduler.getStats();
+    }
+
+    @Override
+    public String execute(String jsonEntity, int timeout) throws UnauthorizedException, GraphQLClientException {
+        return schedule(DEFAULT_TENANT, () -> delegate.execute(jsonEntity, timeout));
+    }
+
+    @Override
+    public String execute(String jsonEntity) throws UnauthorizedException, GraphQLClientException {
+        return schedule(DEFAULT_TENANT, () -> delegate.execute(jsonEntity));
+    }
+
+    @Override
+    public String execute(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return schedule(tenantOf.apply(request), () -> delegate.execute(request));
+    }
+
+    @Override
+    public byte[] executeForBytes(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return schedule(tenantOf.apply(request), () -> delegate.executeForBytes(request));
+    }
+
+    @Override
+    public GraphQLResponse executeConditional(GraphQLRequest request, String etag, String lastModified)
+            throws UnauthorizedException, GraphQLClientException {
+        return schedule(tenantOf.apply(request), () -> delegate.executeConditional(request, etag, lastModified));
+    }
+
+    @Override
+    public void addDefaultHeader(String header, String value) {
+        delegate.addDefaultHeader(header, value);
+    }
+
+    private <T> T schedule(String tenant, Call<T> call) throws UnauthorizedException, GraphQLClientException {
+        try {
+            scheduler.acquire(tenant, RequestPriority.current());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GraphQLClientException("Interrupted while waiting to execute request of tenant " + tenant, e);
+        }
+        boolean failed = true;
+        try {
+            T result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            scheduler.release(tenant, failed);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T call() throws UnauthorizedException, GraphQLClientException;
+    }
+}
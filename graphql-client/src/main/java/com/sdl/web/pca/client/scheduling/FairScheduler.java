@@ -0,0 +1,302 @@
+package com.sdl.web.pca.client.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Grants a limited number of slots to waiting callers, sharing them between tenants with start-time fair queuing.
+ * <p>
+ * Every tenant has a virtual clock which advances by the inverse of its weight whenever one of its requests starts.
+ * A free slot goes to the waiting tenant with the earliest clock which is within its concurrency and rate quotas,
+ * so a tenant with many waiting requests cannot delay requests of other tenants by more than its share. Clocks of
+ * tenants which have been idle are moved up to the current virtual time, so idle tenants do not save up a share.
+ * <p>
+ * Interactive and background requests wait in separate lanes, each with its own clocks. Waiting interactive
+ * requests always go first, and background requests only get a slot while more than the reserved number of slots
+ * is free, so interactive requests find a slot without waiting for background requests to complete.
+ * <p>
+ * Tenants are kept once seen, together with their statistics, so tenant keys should come from a bounded set.
+ */
+final class FairScheduler {
+    private static final int LANES = RequestPriority.values().length;
+    private static final int INTERACTIVE = RequestPriority.INTERACTIVE.ordinal();
+    private static final int BACKGROUND = RequestPriority.BACKGROUND.ordinal();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxConcurrency;
+    private final int reservedInteractive;
+    private final Map<String, Tenant> tenants = new HashMap<>();
+    private final List<Set<Tenant>> backlogged = new ArrayList<>();
+    private final double[] virtualTime = new double[LANES];
+    private TenantQuota defaultQuota;
+    private int running;
+
+    FairScheduler(int maxConcurrency, TenantQuota defaultQuota) {
+        this(maxConcurrency, 0, defaultQuota);
+    }
+
+    /**
+     * @param maxConcurrency      maximum number of slots granted at once
+     * @param reservedInteractive number of slots background requests leave to interactive ones
+     * @param defaultQuota        quota of tenants without own quota
+     */
+    FairScheduler(int maxConcurrency, int reservedInteractive, TenantQuota defaultQuota) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency should be greater than 0, got " + maxConcurrency);
+        }
+        if (reservedInteractive < 0 || reservedInteractive >= maxConcurrency) {
+            throw new IllegalArgumentException("Reserved concurrency should be at least 0 and less than " +
+                    maxConcurrency + ", got " + reservedInteractive);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.reservedInteractive = reservedInteractive;
+        this.defaultQuota = defaultQuota;
+        for (int i = 0; i < LANES; i++) {
+            backlogged.add(new LinkedHashSet<>());
+        }
+    }
+
+    void setQuota(String tenantKey, TenantQuota quota) {
+        lock.lock();
+        try {
+            tenant(tenantKey).setQuota(quota, true);
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setDefaultQuota(TenantQuota quota) {
+        lock.lock();
+        try {
+            defaultQuota = quota;
+            for (Tenant tenant : tenants.values()) {
+                if (!tenant.explicitQuota) {
+                    tenant.setQuota(quota, false);
+                }
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void acquire(String tenantKey) throws InterruptedException {
+        acquire(tenantKey, RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Waits until a slot is granted to the tenant. Every granted slot should be given back with {@link #release}.
+     *
+     * @param tenantKey tenant
+     * @param priority  priority of the request
+     * @throws InterruptedException if the thread is interrupted while waiting, in which case no slot is granted
+     */
+    void acquire(String tenantKey, RequestPriority priority) throws InterruptedException {
+        long start = System.nanoTime();
+        int lane = priority.ordinal();
+        lock.lock();
+        try {
+            Tenant tenant = tenant(tenantKey);
+            Waiter waiter = new Waiter(lock.newCondition());
+            tenant.waiters[lane].add(waiter);
+            backlogged.get(lane).add(tenant);
+            try {
+                dispatch();
+                while (!waiter.granted) {
+                    // Tenants held back by their rate only become eligible with time, nobody would signal them
+                    long delay = tenant.nanosUntilToken(System.nanoTime());
+                    if (delay > 0) {
+                        waiter.condition.awaitNanos(delay);
+                    } else {
+                        waiter.condition.await();
+                    }
+                    if (!waiter.granted) {
+                        dispatch();
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    finish(tenant, false);
+                } else {
+                    tenant.waiters[lane].remove(waiter);
+                    if (tenant.waiters[lane].isEmpty()) {
+                        backlogged.get(lane).remove(tenant);
+                    }
+                }
+                throw e;
+            }
+            long waited = System.nanoTime() - start;
+            tenant.totalWaitNanos += waited;
+            tenant.maxWaitNanos = Math.max(tenant.maxWaitNanos, waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a slot granted to the tenant.
+     *
+     * @param tenantKey tenant
+     * @param failed    whether the request of the slot failed
+     */
+    void release(String tenantKey, boolean failed) {
+        lock.lock();
+        try {
+            finish(tenants.get(tenantKey), failed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, TenantStats> getStats() {
+        lock.lock();
+        try {
+            Map<String, TenantStats> stats = new LinkedHashMap<>();
+            for (Map.Entry<String, Tenant> entry : tenants.entrySet()) {
+                Tenant tenant = entry.getValue();
+                stats.put(entry.getKey(), new TenantStats(tenant.requests, tenant.failures, tenant.running,
+                        tenant.queued(), tenant.totalWaitNanos, tenant.maxWaitNanos));
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Tenant tenant(String tenantKey) {
+        return tenants.computeIfAbsent(tenantKey, key -> new Tenant(defaultQuota));
+    }
+
+    private void finish(Tenant tenant, boolean failed) {
+        running--;
+        tenant.running--;
+        if (failed) {
+            tenant.failures++;
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        long now = System.nanoTime();
+        while (running < maxConcurrency) {
+            if (!grant(INTERACTIVE, now)
+                    && (running >= maxConcurrency - reservedInteractive || !grant(BACKGROUND, now))) {
+                return;
+            }
+        }
+    }
+
+    private boolean grant(int lane, long now) {
+        Tenant next = null;
+        double nextStart = 0;
+        for (Tenant tenant : backlogged.get(lane)) {
+            if (tenant.running >= tenant.quota.getMaxConcurrency() || tenant.nanosUntilToken(now) > 0) {
+                continue;
+            }
+            double start = Math.max(virtualTime[lane], tenant.finishTime[lane]);
+            if (next == null || start < nextStart) {
+                next = tenant;
+                nextStart = start;
+            }
+        }
+        if (next == null) {
+            return false;
+        }
+        Waiter waiter = next.waiters[lane].poll();
+        if (next.waiters[lane].isEmpty()) {
+            backlogged.get(lane).remove(next);
+        }
+        virtualTime[lane] = nextStart;
+        next.finishTime[lane] = nextStart + 1 / next.quota.getWeight();
+        next.takeToken();
+        next.running++;
+        next.requests++;
+        running++;
+        waiter.granted = true;
+        waiter.condition.signal();
+        return true;
+    }
+
+    private static final class Waiter {
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * State of a tenant, guarded by the scheduler lock.
+     */
+    private static final class Tenant {
+        @SuppressWarnings("unchecked")
+        private final Deque<Waiter>[] waiters = new Deque[LANES];
+        private final double[] finishTime = new double[LANES];
+        private TenantQuota quota;
+        private boolean explicitQuota;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private int running;
+        private long requests;
+        private long failures;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private Tenant(TenantQuota quota) {
+            for (int i = 0; i < LANES; i++) {
+                waiters[i] = new ArrayDeque<>();
+            }
+            setQuota(quota, false);
+            this.tokens = capacity();
+        }
+
+        private int queued() {
+            int queued = 0;
+            for (Deque<Waiter> lane : waiters) {
+                queued += lane.size();
+            }
+            return queued;
+        }
+
+        private void setQuota(TenantQuota quota, boolean explicit) {
+            this.quota = quota;
+            this.explicitQuota = explicit;
+            this.tokens = Math.min(tokens, capacity());
+        }
+
+        /**
+         * Tokens are refilled at the rate of the quota, up to one second worth of requests.
+         */
+        private double capacity() {
+            return Math.max(1, quota.getRequestsPerSecond());
+        }
+
+        private long nanosUntilToken(long now) {
+            double rate = quota.getRequestsPerSecond();
+            if (rate == 0) {
+                return 0;
+            }
+            tokens = Math.min(capacity(), tokens + (now - refilledAt) * rate / TimeUnit.SECONDS.toNanos(1));
+            refilledAt = now;
+            return tokens >= 1 ? 0 : Math.max(1, (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1)));
+        }
+
+        private void takeToken() {
+            if (quota.getRequestsPerSecond() > 0) {
+                tokens--;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sdl.web.pca.client.scheduling;
+
+/**
+ * Priority of requests executed by the current thread, used by {@link FairGraphQLClient} to keep connections
+ * available for interactive requests while background jobs are running.
+ * <p>
+ * Requests are interactive unless executed within a scope of another priority:
+ * <pre>
+ * try (RequestPriority.Scope ignored = RequestPriority.BACKGROUND.enter()) {
+ *     apiClient.getPageModelData(...);
+ * }
+ * </pre>
+ * Priority is kept per thread, so tasks handed over to other threads should be wrapped with {@link #wrap}.
+ */
+public enum RequestPriority {
+    /**
+     * Requests a user is waiting for, such as page renders.
+     */
+    INTERACTIVE,
+    /**
+     * Requests of batch jobs, such as cache warm-up, sitemap crawls and exports, which only use capacity left by
+     * interactive requests.
+     */
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * Returns priority of requests executed by the current thread.
+     *
+     * @return current priority
+     */
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets this priority for requests executed by the current thread until the returned scope is closed.
+     *
+     * @return scope restoring the previous priority when closed
+     */
+    public Scope enter() {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Scope(previous);
+    }
+
+    /**
+     * Wraps task so it executes its requests with this priority on whatever thread it runs.
+     *
+     * @param task task
+     * @return wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Scope ignored = enter()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Scope of a priority, to be closed by the thread which entered it.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final RequestPriority previous;
+
+        private Scope(RequestPriority previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sdl.web.pca.client.scheduling;
+
+/**
+ * Share of the client a tenant is entitled to.
+ * <p>
+ * When requests of several tenants wait for a connection, they are started in proportion to the weights of their
+ * tenants. Independently of other tenants, a tenant never runs more than its maximum concurrency and never starts
+ * more requests than its rate allows.
+ */
+public final class TenantQuota {
+    public static final TenantQuota DEFAULT = new TenantQuota(1, Integer.MAX_VALUE, 0);
+
+    private final double weight;
+    private final int maxConcurrency;
+    private final double requestsPerSecond;
+
+    /**
+     * @param weight            relative share of connections when tenants compete for them
+     * @param maxConcurrency    maximum number of requests of the tenant running at once
+     * @param requestsPerSecond maximum rate of requests of the tenant, 0 for unlimited rate
+     */
+    public TenantQuota(double weight, int maxConcurrency, double requestsPerSecond) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight should be positive, got " + weight);
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency should be greater than 0, got " + maxConcurrency);
+        }
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("Rate should not be negative, got " + requestsPerSecond);
+        }
+        this.weight = weight;
+        this.maxConcurrency = maxConcurrency;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public TenantQuota withWeight(double weight) {
+        return new TenantQuota(weight, maxConcurrency, requestsPerSecond);
+    }
+
+    public TenantQuota withMaxConcurrency(int maxConcurrency) {
+        return new TenantQuota(weight, maxConcurrency, requestsPerSecond);
+    }
+
+    public TenantQuota withRequestsPerSecond(double requestsPerSecond) {
+        return new TenantQuota(weight, maxConcurrency, requestsPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "TenantQuota{" +
+                "weight=" + weight +
+                ", maxConcurrency=" + maxConcurrency +
+                ", requestsPerSecond=" + requestsPerSecond +
+                '}';
+    }
+}
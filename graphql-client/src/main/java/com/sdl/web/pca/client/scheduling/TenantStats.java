@@ -0,0 +1,78 @@
+package com.sdl.web.pca.client.scheduling;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of requests of a tenant.
+ */
+public final class TenantStats {
+    private final long requests;
+    private final long failures;
+    private final int running;
+    private final int queued;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    TenantStats(long requests, long failures, int running, int queued, long totalWaitNanos, long maxWaitNanos) {
+        this.requests = requests;
+        this.failures = failures;
+        this.running = running;
+        this.queued = queued;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * @return number of requests started
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return number of started requests which failed
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return number of requests running now
+     */
+    public int getRunning() {
+        return running;
+    }
+
+    /**
+     * @return number of requests waiting to start now
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return average time started requests waited to start, in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        return requests == 0 ? 0 : (double) totalWaitNanos / requests / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return longest time a started request waited to start, in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "TenantStats{" +
+                "requests=" + requests +
+                ", failures=" + failures +
+                ", running=" + running +
+                ", queued=" + queued +
+                ", averageWaitMillis=" + getAverageWaitMillis() +
+                ", maxWaitMillis=" + getMaxWaitMillis() +
+                '}';
+    }
+}
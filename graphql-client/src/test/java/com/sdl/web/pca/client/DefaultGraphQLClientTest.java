@@ -2,25 +2,36 @@ package com.sdl.web.pca.client;
 
 import com.sdl.web.pca.client.exception.GraphQLClientException;
 import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.response.GraphQLResponse;
 import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -74,6 +85,59 @@ public class DefaultGraphQLClientTest {
         assertEquals(RESPONSE, result);
     }
 
+    @Test
+    public void sendRequestEntityWithLength() throws Exception {
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(httpResponse);
+        when(httpResponse.getEntity().getContent()).thenReturn(IOUtils
+                .toInputStream(RESPONSE, "UTF-8"));
+        when(httpResponse.getStatusLine().getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        GraphQLRequest request = new GraphQLRequest("{items{edges{node{id}}}}", new HashMap<>(), DEFAULT_TIMEOUT);
+
+        client.execute(request);
+
+        ArgumentCaptor<HttpPost> sent = ArgumentCaptor.forClass(HttpPost.class);
+        verify(httpClient).execute(sent.capture());
+        HttpEntity entity = sent.getValue().getEntity();
+        String json = "{\"query\":\"{items{edges{node{id}}}}\",\"variables\":{}}";
+        assertTrue(entity.isRepeatable());
+        assertFalse(entity.isChunked());
+        assertEquals(json.length(), entity.getContentLength());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        entity.writeTo(body);
+        entity.writeTo(body);
+        assertEquals(json + json, body.toString("UTF-8"));
+        assertEquals(json, IOUtils.toString(entity.getContent(), "UTF-8"));
+        assertEquals(json, entity.toString());
+    }
+
+    @Test
+    public void executeConditionalNotModified() throws Exception {
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(httpResponse);
+        when(httpResponse.getStatusLine().getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        when(httpResponse.getFirstHeader(HttpHeaders.CACHE_CONTROL))
+                .thenReturn(new BasicHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=300"));
+        GraphQLRequest request = new GraphQLRequest(REQUEST, new HashMap<>(), DEFAULT_TIMEOUT);
+
+        GraphQLResponse result = client.executeConditional(request, "\"v1\"", null);
+
+        assertTrue(result.isNotModified());
+        assertEquals(300, result.getMaxAge());
+        ArgumentCaptor<HttpUriRequest> sent = ArgumentCaptor.forClass(HttpUriRequest.class);
+        verify(httpClient).execute(sent.capture());
+        assertEquals("\"v1\"", sent.getValue().getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+        assertNull(sent.getValue().getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    public void readMaxAge() {
+        assertEquals(GraphQLResponse.NO_MAX_AGE, DefaultGraphQLClient.maxAge(null));
+        assertEquals(GraphQLResponse.NO_MAX_AGE, DefaultGraphQLClient.maxAge("private"));
+        assertEquals(60, DefaultGraphQLClient.maxAge("Max-Age=60, must-revalidate"));
+        assertEquals(0, DefaultGraphQLClient.maxAge("max-age=60, no-cache"));
+        assertEquals(GraphQLResponse.NO_STORE, DefaultGraphQLClient.maxAge("no-cache, no-store"));
+        assertEquals(GraphQLResponse.NO_STORE, DefaultGraphQLClient.maxAge("max-age=60, No-Store"));
+    }
+
     @Test(expected = GraphQLClientException.class)
     public void failedHttpClientRequest() throws Exception {
         when(httpClient.execute(any(HttpUriRequest.class))).thenThrow(IOException.class);
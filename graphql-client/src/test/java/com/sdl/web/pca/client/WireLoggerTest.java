@@ -0,0 +1,72 @@
+package com.sdl.web.pca.client;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WireLoggerTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(WireLogger.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level level;
+
+    @Before
+    public void setup() {
+        level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void cleanup() {
+        logger.detachAppender(appender);
+        logger.setLevel(level);
+    }
+
+    @Test
+    public void logsSampledCallsWithTruncatedBodies() {
+        WireLogger wireLogger = new WireLogger(2, -1, 5);
+
+        for (int i = 0; i < 4; i++) {
+            wireLogger.log("http://localhost", 200, System.nanoTime(), "request-" + i, "response".getBytes(UTF_8),
+                    null);
+        }
+
+        assertEquals(2, appender.list.size());
+        String message = appender.list.get(1).getFormattedMessage();
+        assertTrue(message, message.contains("request: reque... (9 characters)"));
+        assertTrue(message, message.contains("response: respo... (8 bytes)"));
+    }
+
+    @Test
+    public void logsSlowCallsOnly() {
+        WireLogger wireLogger = WireLogger.slowerThan(1000);
+
+        wireLogger.log("http://localhost", 200, System.nanoTime(), "fast", null, null);
+        wireLogger.log("http://localhost", -1, System.nanoTime() - 2_000_000_000L, "slow", null,
+                new IOException("Timeout"));
+
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message, message.contains("(slow)") && message.contains("request: slow"));
+        assertTrue(message, message.contains("java.io.IOException: Timeout"));
+    }
+
+    @Test
+    public void disabledLogsNothing() {
+        WireLogger.DISABLED.log("http://localhost", 200, System.nanoTime() - 2_000_000_000L, "request", null, null);
+
+        assertEquals(0, appender.list.size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.sdl.web.pca.client.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class GraphQLRequestTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String QUERY = "query page($id: Int) {\n  page(pageId: $id) { \"title\" }\n}";
+
+    @Test
+    public void writesEncodedPartsVerbatim() throws Exception {
+        Map<String, Object> claim = Collections.singletonMap("uri", "taf:claim:contentdelivery:webcontent:model");
+        Map<String, Object> plainVariables = new LinkedHashMap<>();
+        plainVariables.put("id", 640);
+        plainVariables.put("contextData", Collections.singletonList(claim));
+        Map<String, Object> encodedVariables = new LinkedHashMap<>();
+        encodedVariables.put("id", 640);
+        encodedVariables.put("contextData", EncodedJson.of(Collections.singletonList(claim)));
+
+        GraphQLRequest plain = new GraphQLRequest(QUERY, plainVariables, "page", 0);
+        GraphQLRequest encoded = new GraphQLRequest(EncodedJson.of(QUERY), encodedVariables, "page", 0);
+
+        assertEquals(MAPPER.writeValueAsString(plain), MAPPER.writeValueAsString(encoded));
+        assertEquals(QUERY, encoded.getQuery());
+        assertEquals("{\"query\":\"x\",\"variables\":{}}",
+                MAPPER.writeValueAsString(new GraphQLRequest("x", Collections.emptyMap())));
+    }
+}
@@ -0,0 +1,137 @@
+package com.sdl.web.pca.client.scheduling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FairSchedulerTest {
+
+    @Test
+    public void sharesSlotsBetweenTenants() throws Exception {
+        FairScheduler scheduler = new FairScheduler(1, TenantQuota.DEFAULT);
+        scheduler.acquire("crawler");
+        BlockingQueue<String> started = new LinkedBlockingQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        // The crawler queues a burst before the site sends a single request
+        for (int i = 0; i < 3; i++) {
+            threads.add(start(scheduler, "crawler", started));
+            waitForQueued(scheduler, "crawler", i + 1);
+        }
+        threads.add(start(scheduler, "site", started));
+        waitForQueued(scheduler, "site", 1);
+
+        List<String> order = new ArrayList<>();
+        scheduler.release("crawler", false);
+        for (int i = 0; i < 4; i++) {
+            order.add(started.poll(5, TimeUnit.SECONDS));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals("site", order.get(0));
+        assertEquals(4, scheduler.getStats().get("crawler").getRequests());
+        assertEquals(0, scheduler.getStats().get("crawler").getRunning());
+    }
+
+    @Test
+    public void limitsTenantConcurrency() throws Exception {
+        FairScheduler scheduler = new FairScheduler(4, TenantQuota.DEFAULT);
+        scheduler.setQuota("crawler", TenantQuota.DEFAULT.withMaxConcurrency(1));
+        scheduler.acquire("crawler");
+        BlockingQueue<String> started = new LinkedBlockingQueue<>();
+
+        Thread crawler = start(scheduler, "crawler", started);
+        scheduler.acquire("site");
+
+        assertNull(started.poll(50, TimeUnit.MILLISECONDS));
+        scheduler.release("crawler", true);
+        assertEquals("crawler", started.poll(5, TimeUnit.SECONDS));
+        crawler.join();
+        assertEquals(1, scheduler.getStats().get("crawler").getFailures());
+        assertEquals(1, scheduler.getStats().get("site").getRunning());
+    }
+
+    @Test
+    public void limitsTenantRate() throws Exception {
+        FairScheduler scheduler = new FairScheduler(4, TenantQuota.DEFAULT.withRequestsPerSecond(20));
+        long start = System.nanoTime();
+        for (int i = 0; i < 22; i++) {
+            scheduler.acquire("crawler");
+            scheduler.release("crawler", false);
+        }
+
+        // A burst of one second worth of requests passes, the rest waits for the rate
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(80));
+    }
+
+    @Test
+    public void reservesSlotsForInteractiveRequests() throws Exception {
+        FairScheduler scheduler = new FairScheduler(2, 1, TenantQuota.DEFAULT);
+        scheduler.acquire("crawler", RequestPriority.BACKGROUND);
+        BlockingQueue<String> started = new LinkedBlockingQueue<>();
+
+        Thread background = start(scheduler, "crawler", RequestPriority.BACKGROUND, started);
+        waitForQueued(scheduler, "crawler", 1);
+        assertNull(started.poll(50, TimeUnit.MILLISECONDS));
+
+        // Interactive request takes the reserved slot and goes before queued background requests
+        scheduler.acquire("site", RequestPriority.INTERACTIVE);
+        Thread interactive = start(scheduler, "site", RequestPriority.INTERACTIVE, started);
+        waitForQueued(scheduler, "site", 1);
+        scheduler.release("crawler", false);
+        assertEquals("site", started.poll(5, TimeUnit.SECONDS));
+        interactive.join();
+
+        scheduler.release("site", false);
+        assertEquals("crawler", started.poll(5, TimeUnit.SECONDS));
+        background.join();
+    }
+
+    @Test
+    public void restoresPriorityOfScope() {
+        assertEquals(RequestPriority.INTERACTIVE, RequestPriority.current());
+        try (RequestPriority.Scope ignored = RequestPriority.BACKGROUND.enter()) {
+            assertEquals(RequestPriority.BACKGROUND, RequestPriority.current());
+            RequestPriority.INTERACTIVE.wrap(() ->
+                    assertEquals(RequestPriority.INTERACTIVE, RequestPriority.current())).run();
+            assertEquals(RequestPriority.BACKGROUND, RequestPriority.current());
+        }
+        assertEquals(RequestPriority.INTERACTIVE, RequestPriority.current());
+    }
+
+    private static Thread start(FairScheduler scheduler, String tenant, BlockingQueue<String> started) {
+        return start(scheduler, tenant, RequestPriority.INTERACTIVE, started);
+    }
+
+    private static Thread start(FairScheduler scheduler, String tenant, RequestPriority priority,
+                                BlockingQueue<String> started) {
+        Thread thread = new Thread(() -> {
+            try {
+                scheduler.acquire(tenant, priority);
+                started.add(tenant);
+                scheduler.release(tenant, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void waitForQueued(FairScheduler scheduler, String tenant, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((scheduler.getStats().get(tenant) == null || scheduler.getStats().get(tenant).getQueued() < queued)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
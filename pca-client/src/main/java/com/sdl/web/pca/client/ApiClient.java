@@ -3,6 +3,7 @@ package com.sdl.web.pca.client;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sdl.web.pca.client.contentmodel.ContextData;
 import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.contentmodel.RawJson;
 import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
 import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
 import com.sdl.web.pca.client.contentmodel.enums.ContentType;
@@ -456,6 +457,64 @@ public interface ApiClient {
                                 DataModelType modelType, DcpType dcpType, ContentIncludeMode contentIncludeMode,
                                 ContextData contextData) throws ApiClientException;
 
+    /**
+     * Retrieves page model data by given publication id and url as raw JSON bytes, without parsing them into a tree.
+     * Use {@link RawJson#writeTo(java.io.OutputStream)} or {@link RawJson#asByteBuffer()} to forward the model.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param url           url
+     * @param contentType   content type
+     * @param modelType     data model type
+     * @param pageInclusion page inclusion
+     * @param contentIncludeMode include mode for content
+     * @param contextData   context data
+     * @return raw JSON of page model, or null if page has no model data
+     * @throws ApiClientException in case of exception
+     */
+    RawJson getRawPageModelData(ContentNamespace ns, int publicationId, String url, ContentType contentType,
+                                DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                ContextData contextData) throws ApiClientException;
+
+    /**
+     * Retrieves page model data by given publication id and page id as raw JSON bytes, without parsing them into a tree.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param pageId        page id
+     * @param contentType   content type
+     * @param modelType     data model type
+     * @param pageInclusion page inclusion
+     * @param contentIncludeMode include mode for content
+     * @param contextData   context data
+     * @return raw JSON of page model, or null if page has no model data
+     * @throws ApiClientException in case of exception
+     */
+    RawJson getRawPageModelData(ContentNamespace ns, int publicationId, int pageId, ContentType contentType,
+                                DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                ContextData contextData) throws ApiClientException;
+
+    /**
+     * Retrieves entity model data by given publication, entity and template ids as raw JSON bytes, without parsing
+     * them into a tree.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param entityId      entity id
+     * @param templateId    template id
+     * @param contentType   content type
+     * @param modelType     model type
+     * @param dcpType       dcp type
+     * @param contentIncludeMode include mode for content
+     * @param contextData   context data
+     * @return raw JSON of entity model, or null if entity has no model data
+     * @throws ApiClientException in case of exception
+     */
+    RawJson getRawEntityModelData(ContentNamespace ns, int publicationId, int entityId, int templateId,
+                                  ContentType contentType,
+                                  DataModelType modelType, DcpType dcpType, ContentIncludeMode contentIncludeMode,
+                                  ContextData contextData) throws ApiClientException;
+
     /**
      * Retrieves TaxonomySitemapItem by given publication id.
      *
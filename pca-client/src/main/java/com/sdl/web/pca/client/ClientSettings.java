@@ -0,0 +1,236 @@
+package com.sdl.web.pca.client;
+
+import com.google.common.base.Strings;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentType;
+import com.sdl.web.pca.client.contentmodel.enums.DataModelType;
+import com.sdl.web.pca.client.contentmodel.enums.ModelServiceLinkRendering;
+import com.sdl.web.pca.client.contentmodel.enums.TcdlLinkRendering;
+import com.sdl.web.pca.client.contentmodel.generated.ClaimValue;
+import com.sdl.web.pca.client.contentmodel.generated.ClaimValueType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.copyClaim;
+import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.createClaimTcdlBinaryLinkUrlPrefix;
+import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.createClaimTcdlLinkUrlPrefix;
+import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.sharedClaim;
+
+/**
+ * Immutable snapshot of {@link DefaultApiClient} settings, together with the claims they add to every request.
+ * <p>
+ * Claims are computed once when a snapshot is created, so requests reuse them instead of building them again.
+ * Every change creates a new snapshot. The global context data is the only mutable part: claims are computed again
+ * when claims added to it or their values differ from the ones last seen.
+ */
+public final class ClientSettings {
+    static final ClientSettings DEFAULT = new ClientSettings(null, ContentType.MODEL, DataModelType.R2,
+            TcdlLinkRendering.RELATIVE, ModelServiceLinkRendering.RELATIVE, null, null);
+
+    private final ContextData globalContextData;
+    private final ContentType defaultContentType;
+    private final DataModelType defaultModelType;
+    private final TcdlLinkRendering tcdlLinkRenderingType;
+    private final ModelServiceLinkRendering modelServiceLinkRenderingType;
+    private final String tcdlLinkUrlPrefix;
+    private final String tcdlBinaryLinkUrlPrefix;
+    private volatile Claims claims;
+
+    private ClientSettings(ContextData globalContextData, ContentType defaultContentType,
+                           DataModelType defaultModelType, TcdlLinkRendering tcdlLinkRenderingType,
+                           ModelServiceLinkRendering modelServiceLinkRenderingType, String tcdlLinkUrlPrefix,
+                           String tcdlBinaryLinkUrlPrefix) {
+        this.globalContextData = globalContextData;
+        this.defaultContentType = defaultContentType;
+        this.defaultModelType = defaultModelType;
+        this.tcdlLinkRenderingType = tcdlLinkRenderingType;
+        this.modelServiceLinkRenderingType = modelServiceLinkRenderingType;
+        this.tcdlLinkUrlPrefix = tcdlLinkUrlPrefix;
+        this.tcdlBinaryLinkUrlPrefix = tcdlBinaryLinkUrlPrefix;
+        this.claims = createClaims(globalClaims());
+    }
+
+    private List<ClaimValue> globalClaims() {
+        return globalContextData == null ? Collections.emptyList() : globalContextData.getClaimValues();
+    }
+
+    private Claims createClaims(List<ClaimValue> globalClaims) {
+        return new Claims(globalClaims, Collections.unmodifiableMap(createClaimMap(globalClaims)));
+    }
+
+    private Map<String, ClaimValue> createClaimMap(List<ClaimValue> globalClaims) {
+        // Later claims with the same URI replace earlier ones, like claims of context data passed to requests
+        Map<String, ClaimValue> result = new LinkedHashMap<>();
+        for (ClaimValue claim : globalClaims) {
+            if (claim != null) {
+                result.put(claim.getUri(), claim);
+            }
+        }
+        // Add a default claim here to control model type returned by default
+        put(result, sharedClaim(defaultModelType));
+        put(result, sharedClaim(defaultContentType));
+        // Add claim to control how tcdl links are rendered
+        put(result, sharedClaim(tcdlLinkRenderingType));
+        // Add claim to control how model-service plugin renders links
+        put(result, sharedClaim(modelServiceLinkRenderingType));
+        // Add claim to control prefix urls
+        if (tcdlLinkRenderingType != TcdlLinkRendering.ABSOLUTE) {
+            return result;
+        }
+        if (!Strings.isNullOrEmpty(tcdlLinkUrlPrefix)) {
+            put(result, createClaimTcdlLinkUrlPrefix(tcdlLinkUrlPrefix));
+        }
+        if (!Strings.isNullOrEmpty(tcdlBinaryLinkUrlPrefix)) {
+            put(result, createClaimTcdlBinaryLinkUrlPrefix(tcdlBinaryLinkUrlPrefix));
+        }
+        return result;
+    }
+
+    private static void put(Map<String, ClaimValue> claims, ClaimValue claim) {
+        claims.put(claim.getUri(), claim);
+    }
+
+    /**
+     * Returns copies of the claims added to every request, keyed by claim URI. Changing them does not change the
+     * claims sent; use the global context data or the other settings for that.
+     *
+     * @return unmodifiable copies of claims
+     */
+    public Map<String, ClaimValue> getClaims() {
+        Map<String, ClaimValue> copies = new LinkedHashMap<>();
+        for (ClaimValue claim : claims().values()) {
+            put(copies, copyClaim(claim));
+        }
+        return Collections.unmodifiableMap(copies);
+    }
+
+    /**
+     * Returns claims added to every request, keyed by claim URI. The same map is returned as long as the global
+     * context data does not change. Default claims are shared by all clients, so they must not be modified.
+     *
+     * @return unmodifiable claims
+     */
+    Map<String, ClaimValue> claims() {
+        Claims current = claims;
+        if (globalContextData != null) {
+            List<ClaimValue> globalClaims = globalContextData.getClaimValues();
+            if (!current.isComputedFrom(globalClaims)) {
+                current = createClaims(globalClaims);
+                claims = current;
+            }
+        }
+        return current.byUri;
+    }
+
+    public ContextData getGlobalContextData() {
+        return globalContextData;
+    }
+
+    public ContentType getDefaultContentType() {
+        return defaultContentType;
+    }
+
+    public DataModelType getDefaultModelType() {
+        return defaultModelType;
+    }
+
+    public TcdlLinkRendering getTcdlLinkRenderingType() {
+        return tcdlLinkRenderingType;
+    }
+
+    public ModelServiceLinkRendering getModelServiceLinkRenderingType() {
+        return modelServiceLinkRenderingType;
+    }
+
+    public String getTcdlLinkUrlPrefix() {
+        return tcdlLinkUrlPrefix;
+    }
+
+    public String getTcdlBinaryLinkUrlPrefix() {
+        return tcdlBinaryLinkUrlPrefix;
+    }
+
+    public ClientSettings withGlobalContextData(ContextData globalContextData) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    public ClientSettings withDefaultContentType(ContentType defaultContentType) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    public ClientSettings withDefaultModelType(DataModelType defaultModelType) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    public ClientSettings withTcdlLinkRenderingType(TcdlLinkRendering tcdlLinkRenderingType) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    public ClientSettings withModelServiceLinkRenderingType(ModelServiceLinkRendering modelServiceLinkRenderingType) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    public ClientSettings withTcdlLinkUrlPrefix(String tcdlLinkUrlPrefix) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    public ClientSettings withTcdlBinaryLinkUrlPrefix(String tcdlBinaryLinkUrlPrefix) {
+        return new ClientSettings(globalContextData, defaultContentType, defaultModelType, tcdlLinkRenderingType,
+                modelServiceLinkRenderingType, tcdlLinkUrlPrefix, tcdlBinaryLinkUrlPrefix);
+    }
+
+    /**
+     * Claims together with the state of the global claims they were computed from.
+     */
+    private static final class Claims {
+        private final ClaimValue[] sources;
+        private final String[] uris;
+        private final String[] values;
+        private final ClaimValueType[] types;
+        private final Map<String, ClaimValue> byUri;
+
+        private Claims(List<ClaimValue> globalClaims, Map<String, ClaimValue> byUri) {
+            int size = globalClaims.size();
+            this.sources = globalClaims.toArray(new ClaimValue[size]);
+            this.uris = new String[size];
+            this.values = new String[size];
+            this.types = new ClaimValueType[size];
+            for (int i = 0; i < size; i++) {
+                if (sources[i] != null) {
+                    uris[i] = sources[i].getUri();
+                    values[i] = sources[i].getValue();
+                    types[i] = sources[i].getType();
+                }
+            }
+            this.byUri = byUri;
+        }
+
+        private boolean isComputedFrom(List<ClaimValue> globalClaims) {
+            if (globalClaims.size() != sources.length) {
+                return false;
+            }
+            for (int i = 0; i < sources.length; i++) {
+                ClaimValue claim = globalClaims.get(i);
+                if (claim != sources[i]) {
+                    return false;
+                }
+                // Claims are mutable beans, so values set on them after they were added are detected as well
+                if (claim != null && !(Objects.equals(uris[i], claim.getUri())
+                        && Objects.equals(values[i], claim.getValue()) && types[i] == claim.getType())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
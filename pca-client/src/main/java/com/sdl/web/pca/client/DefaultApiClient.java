@@ -1,12 +1,24 @@
 package com.sdl.web.pca.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.google.common.base.Strings;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.sdl.web.pca.client.cache.CacheTags;
+import com.sdl.web.pca.client.cache.CachedResponse;
+import com.sdl.web.pca.client.cache.NegativeCache;
+import com.sdl.web.pca.client.cache.RequestFingerprint;
+import com.sdl.web.pca.client.cache.ResponseCache;
 import com.sdl.web.pca.client.contentmodel.ContextData;
 import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.contentmodel.RawJson;
+import com.sdl.web.pca.client.contentmodel.RawJsonMap;
 import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
 import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
 import com.sdl.web.pca.client.contentmodel.enums.ContentType;
@@ -31,16 +43,21 @@ import com.sdl.web.pca.client.contentmodel.generated.PageConnection;
 import com.sdl.web.pca.client.contentmodel.generated.Publication;
 import com.sdl.web.pca.client.contentmodel.generated.PublicationConnection;
 import com.sdl.web.pca.client.contentmodel.generated.PublicationMapping;
+import com.sdl.web.pca.client.contentmodel.generated.RawContent;
 import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
 import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
 import com.sdl.web.pca.client.exception.ApiClientException;
 import com.sdl.web.pca.client.exception.GraphQLClientException;
 import com.sdl.web.pca.client.exception.UnauthorizedException;
+import com.sdl.web.pca.client.jsonmapper.CanonicalizingModule;
 import com.sdl.web.pca.client.jsonmapper.ContentComponentDeserializer;
 import com.sdl.web.pca.client.jsonmapper.ItemDeserializer;
 import com.sdl.web.pca.client.jsonmapper.SitemapDeserializer;
 import com.sdl.web.pca.client.query.PCARequestBuilder;
 import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.response.GraphQLResponse;
+import com.sdl.web.pca.client.sitemap.PageIdResolver;
+import com.sdl.web.pca.client.sitemap.PageUrlIndex;
 import com.sdl.web.pca.client.util.CmUri;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,39 +66,46 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
-import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.createClaim;
-import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.createClaimTcdlBinaryLinkUrlPrefix;
-import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.createClaimTcdlLinkUrlPrefix;
+import static com.sdl.web.pca.client.modelserviceplugin.ClaimHelper.sharedClaim;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class DefaultApiClient implements ApiClient, GraphQLClient {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultApiClient.class);
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper MAPPER = createMapper(null);
 
     private GraphQLClient client;
-    private int requestTimeout;
+    private final int requestTimeout;
 
-    private ContextData globalContextData = new ContextData();
-    private ContentType defaultContentType = ContentType.MODEL;
-    private DataModelType defaultModelType = DataModelType.R2;
-    private TcdlLinkRendering tcdlLinkRenderingType = TcdlLinkRendering.RELATIVE;
-    private ModelServiceLinkRendering modelServiceLinkRenderingType = ModelServiceLinkRendering.RELATIVE;
-    private String tcdlLinkUrlPrefix = null;
-    private String tcdlBinaryLinkUrlPrefix = null;
+    private volatile ClientSettings settings = ClientSettings.DEFAULT;
+    private volatile Components components = Components.DEFAULT;
 
-    static {
+    private static ObjectMapper createMapper(CanonicalizingModule canonicalizingModule) {
+        ObjectMapper mapper = new ObjectMapper();
         SimpleModule module = new SimpleModule() {
             public Object getTypeId() {
                 return DefaultApiClient.class.getName();
             }
         };
-        module.addDeserializer(SitemapItem.class, new SitemapDeserializer(SitemapItem.class, MAPPER));
-        module.addDeserializer(ContentComponent.class, new ContentComponentDeserializer(ContentComponent.class, MAPPER));
-        module.addDeserializer(Item.class, new ItemDeserializer(Item.class, MAPPER));
-        MAPPER.registerModule(module);
+        module.addDeserializer(SitemapItem.class, new SitemapDeserializer(SitemapItem.class, mapper));
+        module.addDeserializer(ContentComponent.class, new ContentComponentDeserializer(ContentComponent.class, mapper));
+        module.addDeserializer(Item.class, new ItemDeserializer(Item.class, mapper));
+        mapper.registerModule(module);
+        // Generated model keeps raw content data as a map, which is read as raw JSON and parsed on first access
+        mapper.addMixIn(RawContent.class, RawContentMixIn.class);
+        if (canonicalizingModule != null) {
+            mapper.registerModule(canonicalizingModule);
+            mapper.setNodeFactory(canonicalizingModule.getNodeFactory());
+        }
         LOG.info("Custom deserializers are loaded");
+        return mapper;
     }
 
     public DefaultApiClient(GraphQLClient graphQLClient) {
@@ -93,74 +117,215 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
         this.requestTimeout = (int) TimeUnit.MILLISECONDS.toMillis(requestTimeout);
     }
 
+    /**
+     * Returns snapshot of the current settings.
+     *
+     * @return settings
+     */
+    public ClientSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Replaces all settings at once.
+     *
+     * @param settings new settings
+     */
+    public void setSettings(ClientSettings settings) {
+        Objects.requireNonNull(settings);
+        updateSettings(current -> settings);
+    }
+
+    private synchronized void updateSettings(UnaryOperator<ClientSettings> update) {
+        // Writers are serialized so concurrent changes of different settings are not lost, readers never lock
+        settings = update.apply(settings);
+    }
+
+    private synchronized void updateComponents(UnaryOperator<Components> update) {
+        components = update.apply(components);
+    }
+
     @Override
     public ContextData getGlobalContextData() {
+        ContextData globalContextData = settings.getGlobalContextData();
+        return globalContextData != null ? globalContextData : createGlobalContextData();
+    }
+
+    private synchronized ContextData createGlobalContextData() {
+        // Every client gets its own context data, created when it is first asked for
+        ContextData globalContextData = settings.getGlobalContextData();
+        if (globalContextData == null) {
+            globalContextData = new ContextData();
+            settings = settings.withGlobalContextData(globalContextData);
+        }
         return globalContextData;
     }
 
+    /**
+     * Sets global context data. Claims added to it afterwards are used by following requests.
+     *
+     * @param globalContextData context with passed claims
+     */
     @Override
     public void setGlobalContextData(ContextData globalContextData) {
-        this.globalContextData = globalContextData;
+        updateSettings(s -> s.withGlobalContextData(globalContextData));
     }
 
     @Override
     public ContentType getDefaultContentType() {
-        return defaultContentType;
+        return settings.getDefaultContentType();
     }
 
     @Override
     public void setDefaultContentType(ContentType contentType) {
-        this.defaultContentType = contentType;
+        updateSettings(s -> s.withDefaultContentType(contentType));
     }
 
     @Override
     public DataModelType getDefaultModelType() {
-        return defaultModelType;
+        return settings.getDefaultModelType();
     }
 
     @Override
     public void setDefaultModelType(DataModelType dataModelType) {
-        this.defaultModelType = dataModelType;
+        updateSettings(s -> s.withDefaultModelType(dataModelType));
     }
 
     @Override
     public TcdlLinkRendering getTcdlLinkRenderingType() {
-        return tcdlLinkRenderingType;
+        return settings.getTcdlLinkRenderingType();
     }
 
     @Override
     public void setTcdlLinkRenderingType(TcdlLinkRendering tcdlLinkRenderingType) {
-        this.tcdlLinkRenderingType = tcdlLinkRenderingType;
+        updateSettings(s -> s.withTcdlLinkRenderingType(tcdlLinkRenderingType));
     }
 
     @Override
     public ModelServiceLinkRendering getModelServiceLinkRenderingType() {
-        return modelServiceLinkRenderingType;
+        return settings.getModelServiceLinkRenderingType();
     }
 
     @Override
     public void setModelServiceLinkRenderingType(ModelServiceLinkRendering renderingType) {
-        this.modelServiceLinkRenderingType = renderingType;
+        updateSettings(s -> s.withModelServiceLinkRenderingType(renderingType));
     }
 
     @Override
     public String getTcdlLinkUrlPrefix() {
-        return tcdlLinkUrlPrefix;
+        return settings.getTcdlLinkUrlPrefix();
     }
 
     @Override
     public void setTcdlLinkUrlPrefix(String tcdlLinkUrlPrefix) {
-        this.tcdlLinkUrlPrefix = tcdlLinkUrlPrefix;
+        updateSettings(s -> s.withTcdlLinkUrlPrefix(tcdlLinkUrlPrefix));
     }
 
     @Override
     public String getTcdlBinaryLinkUrlPrefix() {
-        return tcdlBinaryLinkUrlPrefix;
+        return settings.getTcdlBinaryLinkUrlPrefix();
     }
 
     @Override
     public void setTcdlBinaryLinkUrlPrefix(String tcdlBinaryLinkUrlPrefix) {
-        this.tcdlBinaryLinkUrlPrefix = tcdlBinaryLinkUrlPrefix;
+        updateSettings(s -> s.withTcdlBinaryLinkUrlPrefix(tcdlBinaryLinkUrlPrefix));
+    }
+
+    public boolean isCanonicalizing() {
+        return components.mapper != MAPPER;
+    }
+
+    /**
+     * Enables binding mode in which models share repeated strings, see {@link CanonicalizingModule}. Every client
+     * has own intern tables, which are created when the mode is enabled and dropped when it is disabled.
+     *
+     * @param canonicalizing true to enable, false to bind every model separately
+     */
+    public void setCanonicalizing(boolean canonicalizing) {
+        updateComponents(c -> {
+            if (canonicalizing == (c.mapper != MAPPER)) {
+                return c;
+            }
+            return c.withMapper(canonicalizing ? createMapper(new CanonicalizingModule()) : MAPPER);
+        });
+    }
+
+    public ResponseCache getResponseCache() {
+        return components.responseCache;
+    }
+
+    /**
+     * Sets cache for responses of page model, entity model, sitemap and publication mapping requests.
+     * Responses of other requests are never cached.
+     * <p>
+     * A {@code Cache-Control: max-age} sent by the content service overrides the time to live of a response.
+     * Expired responses carrying an {@code ETag} or {@code Last-Modified} header are revalidated with a
+     * conditional request instead of being downloaded again.
+     *
+     * @param responseCache cache to use or null to disable caching
+     * @param ttl           default time to keep cached responses for
+     * @param unit          unit of time to live
+     */
+    public void setResponseCache(ResponseCache responseCache, long ttl, TimeUnit unit) {
+        long ttlMillis = unit.toMillis(ttl);
+        // Cache and its time to live are replaced together, so requests never see one without the other
+        updateComponents(c -> c.withResponseCache(responseCache, ttlMillis));
+    }
+
+    public NegativeCache getNegativeCache() {
+        return components.negativeCache;
+    }
+
+    /**
+     * Sets cache of pages and binaries not found by URL. Pages, page models and binaries requested by URL which
+     * were recently not found are reported missing without a request.
+     *
+     * @param negativeCache cache to use or null to always ask the content service
+     */
+    public void setNegativeCache(NegativeCache negativeCache) {
+        updateComponents(c -> c.withNegativeCache(negativeCache));
+    }
+
+    public PageIdResolver getPageIdResolver() {
+        return components.pageIdResolver;
+    }
+
+    /**
+     * Sets resolver of page URLs, such as {@link PageUrlIndex}. Pages and page models requested by a URL the
+     * resolver knows are requested by id, which the content service answers without resolving the URL.
+     *
+     * @param pageIdResolver resolver to use or null to request pages by URL
+     */
+    public void setPageIdResolver(PageIdResolver pageIdResolver) {
+        updateComponents(c -> c.withPageIdResolver(pageIdResolver));
+    }
+
+    /**
+     * Removes cached responses which depend on given item, such as page models containing a component.
+     *
+     * @param cmUri URI of a republished or unpublished item
+     * @return number of removed responses
+     */
+    public int invalidate(CmUri cmUri) {
+        ResponseCache cache = components.responseCache;
+        return cache == null ? 0 : cache.invalidateTag(CacheTags.item(cmUri));
+    }
+
+    /**
+     * Removes all cached responses of a publication.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @return number of removed responses
+     */
+    public int invalidatePublication(ContentNamespace ns, int publicationId) {
+        Components current = components;
+        NegativeCache misses = current.negativeCache;
+        if (misses != null) {
+            misses.invalidatePublication(ns, publicationId);
+        }
+        ResponseCache cache = current.responseCache;
+        return cache == null ? 0 : cache.invalidateTag(CacheTags.publication(ns, publicationId));
     }
 
     @Override
@@ -183,6 +348,11 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
         return client.execute(request);
     }
 
+    @Override
+    public byte[] executeForBytes(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return client.executeForBytes(request);
+    }
+
     @Override
     public ComponentPresentation getComponentPresentation(ContentNamespace ns, int publicationId, int componentId,
                                                           int templateId, String customMetaFilter,
@@ -195,7 +365,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("templateId", templateId)
                 .withCustomMetaFilter(customMetaFilter)
                 .withContentIncludeMode(contentIncludeMode)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
         return getResultForRequest(graphQLRequest, ComponentPresentation.class, "/data/componentPresentation");
@@ -214,7 +385,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withPagination(pagination)
                 .withCustomMetaFilter(customMetaFilter)
                 .withContentIncludeMode(contentIncludeMode)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -230,7 +402,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("pageId", pageId)
                 .withCustomMetaFilter(customMetaFilter)
                 .withContentIncludeMode(contentIncludeMode)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
         return getResultForRequest(graphQLRequest, Page.class, "/data/page");
@@ -238,6 +411,10 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
 
     @Override
     public Page getPage(ContentNamespace ns, int publicationId, String url, String customMetaFilter, ContentIncludeMode contentIncludeMode, ContextData contextData) {
+        int pageId = pageIdOf(ns, publicationId, url);
+        if (pageId != PageIdResolver.UNKNOWN) {
+            return getPage(ns, publicationId, pageId, customMetaFilter, contentIncludeMode, contextData);
+        }
         GraphQLRequest graphQLRequest = new PCARequestBuilder()
                 .withQuery("PageByUrl")
                 .withNamespace(ns)
@@ -245,11 +422,14 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("url", url)
                 .withCustomMetaFilter(customMetaFilter)
                 .withContentIncludeMode(contentIncludeMode)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
-        return getResultForRequest(graphQLRequest, Page.class, "/data/page");
+        return unlessMissing(false, ns, publicationId, url, null,
+                () -> getResponse(graphQLRequest, "/data/page").getBytes(UTF_8),
+                response -> readResult(response, Page.class, "/data/page"));
     }
 
     @Override
@@ -259,7 +439,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withCmUri(cmUri)
                 .withCustomMetaFilter(customMetaFilter)
                 .withContentIncludeMode(contentIncludeMode)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -275,7 +456,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("url", url)
                 .withCustomMetaFilter(customMetaFilter)
                 .withContentIncludeMode(contentIncludeMode)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -292,7 +474,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
                 .withVariable("binaryId", binaryId)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -310,11 +493,14 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
                 .withVariable("url", url)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
-        return getResultForRequest(graphQLRequest, BinaryComponent.class, "/data/binaryComponent");
+        return unlessMissing(true, ns, publicationId, url, null,
+                () -> getResponse(graphQLRequest, "/data/binaryComponent").getBytes(UTF_8),
+                response -> readResult(response, BinaryComponent.class, "/data/binaryComponent"));
     }
 
     @Override
@@ -327,7 +513,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("namespaceId", cmUri.getNamespaceId())
                 .withVariable("publicationId", cmUri.getPublicationId())
                 .withVariable("cmUri", cmUri.toString())
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -356,7 +543,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("after", pagination.getAfter())
                 .withVariable("inputItemFilter", filter)
                 .withVariable("inputSortParam", sort)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -380,7 +568,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withCustomMetaFilter(customMetaFilter)
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -399,7 +588,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withVariable("first", pagination.getFirst())
                 .withVariable("after", pagination.getAfter())
                 .withVariable("filter", filter)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -487,72 +677,141 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withTimeout(requestTimeout)
                 .build();
 
-        return getResultForRequest(graphQLRequest, PublicationMapping.class, "/data/publicationMapping");
+        return getCachedResultForRequest(graphQLRequest, PublicationMapping.class, "/data/publicationMapping");
     }
 
     @Override
     public JsonNode getPageModelData(ContentNamespace ns, int publicationId, String url, ContentType contentType,
                                      DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
                                      ContextData contextData) throws ApiClientException {
-        GraphQLRequest graphQLRequest = new PCARequestBuilder()
+        int pageId = pageIdOf(ns, publicationId, url);
+        if (pageId != PageIdResolver.UNKNOWN) {
+            return getPageModelData(ns, publicationId, pageId, contentType, modelType, pageInclusion,
+                    contentIncludeMode, contextData);
+        }
+        GraphQLRequest graphQLRequest = pageModelByUrlRequest(ns, publicationId, url, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData);
+
+        return unlessMissing(false, ns, publicationId, url, MissingNode.getInstance(),
+                () -> getCachedResponse(graphQLRequest, "/data/page/rawContent/data", this::executeAsBytes),
+                response -> readJsonResult(graphQLRequest, response, "/data/page/rawContent/data"));
+    }
+
+    @Override
+    public JsonNode getPageModelData(ContentNamespace ns, int publicationId, int pageId, ContentType contentType,
+                                     DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                     ContextData contextData) throws ApiClientException {
+        GraphQLRequest graphQLRequest = pageModelByIdRequest(ns, publicationId, pageId, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData);
+
+        return getCachedJsonResult(graphQLRequest, "/data/page/rawContent/data");
+    }
+
+    @Override
+    public JsonNode getEntityModelData(ContentNamespace ns, int publicationId, int entityId, int templateId,
+                                       ContentType contentType,
+                                       DataModelType modelType, DcpType dcpType, ContentIncludeMode contentIncludeMode,
+                                       ContextData contextData) throws ApiClientException {
+        GraphQLRequest graphQLRequest = entityModelRequest(ns, publicationId, entityId, templateId, contentType,
+                modelType, dcpType, contentIncludeMode, contextData);
+
+        return getCachedJsonResult(graphQLRequest, "/data/componentPresentation/rawContent/data");
+    }
+
+    @Override
+    public RawJson getRawPageModelData(ContentNamespace ns, int publicationId, String url, ContentType contentType,
+                                       DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                       ContextData contextData) throws ApiClientException {
+        int pageId = pageIdOf(ns, publicationId, url);
+        if (pageId != PageIdResolver.UNKNOWN) {
+            return getRawPageModelData(ns, publicationId, pageId, contentType, modelType, pageInclusion,
+                    contentIncludeMode, contextData);
+        }
+        GraphQLRequest graphQLRequest = pageModelByUrlRequest(ns, publicationId, url, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData);
+
+        return unlessMissing(false, ns, publicationId, url, null,
+                () -> getCachedResponse(graphQLRequest, "/data/page/rawContent/data", client::executeForBytes),
+                response -> readRawResult(graphQLRequest, response, "/data/page/rawContent/data"));
+    }
+
+    @Override
+    public RawJson getRawPageModelData(ContentNamespace ns, int publicationId, int pageId, ContentType contentType,
+                                       DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                       ContextData contextData) throws ApiClientException {
+        GraphQLRequest graphQLRequest = pageModelByIdRequest(ns, publicationId, pageId, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData);
+
+        return getRawResult(graphQLRequest, "/data/page/rawContent/data");
+    }
+
+    @Override
+    public RawJson getRawEntityModelData(ContentNamespace ns, int publicationId, int entityId, int templateId,
+                                         ContentType contentType,
+                                         DataModelType modelType, DcpType dcpType, ContentIncludeMode contentIncludeMode,
+                                         ContextData contextData) throws ApiClientException {
+        GraphQLRequest graphQLRequest = entityModelRequest(ns, publicationId, entityId, templateId, contentType,
+                modelType, dcpType, contentIncludeMode, contextData);
+
+        return getRawResult(graphQLRequest, "/data/componentPresentation/rawContent/data");
+    }
+
+    private GraphQLRequest pageModelByUrlRequest(ContentNamespace ns, int publicationId, String url,
+                                                 ContentType contentType, DataModelType modelType,
+                                                 PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                                 ContextData contextData) {
+        return new PCARequestBuilder()
                 .withQuery("PageModelByUrl")
                 .withContentIncludeMode(contentIncludeMode)
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
                 .withVariable("url", url)
-                .withContextData(globalContextDataInternal(), contextData)
-                .withClaim(createClaim(contentType))
-                .withClaim(createClaim(modelType))
-                .withClaim(createClaim(pageInclusion))
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
+                .withClaim(sharedClaim(contentType))
+                .withClaim(sharedClaim(modelType))
+                .withClaim(sharedClaim(pageInclusion))
                 .withOperation("page")
                 .withTimeout(requestTimeout)
                 .build();
-
-        return getJsonResult(graphQLRequest, "/data/page/rawContent/data");
     }
 
-    @Override
-    public JsonNode getPageModelData(ContentNamespace ns, int publicationId, int pageId, ContentType contentType,
-                                     DataModelType modelType, PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
-                                     ContextData contextData) throws ApiClientException {
-
-        GraphQLRequest graphQLRequest = new PCARequestBuilder()
+    private GraphQLRequest pageModelByIdRequest(ContentNamespace ns, int publicationId, int pageId,
+                                                ContentType contentType, DataModelType modelType,
+                                                PageInclusion pageInclusion, ContentIncludeMode contentIncludeMode,
+                                                ContextData contextData) {
+        return new PCARequestBuilder()
                 .withQuery("PageModelById")
                 .withContentIncludeMode(contentIncludeMode)
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
                 .withVariable("pageId", pageId)
-                .withContextData(globalContextDataInternal(), contextData)
-                .withClaim(createClaim(contentType))
-                .withClaim(createClaim(modelType))
-                .withClaim(createClaim(pageInclusion))
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
+                .withClaim(sharedClaim(contentType))
+                .withClaim(sharedClaim(modelType))
+                .withClaim(sharedClaim(pageInclusion))
                 .withTimeout(requestTimeout)
                 .build();
-
-        return getJsonResult(graphQLRequest, "/data/page/rawContent/data");
     }
 
-    @Override
-    public JsonNode getEntityModelData(ContentNamespace ns, int publicationId, int entityId, int templateId,
-                                       ContentType contentType,
-                                       DataModelType modelType, DcpType dcpType, ContentIncludeMode contentIncludeMode,
-                                       ContextData contextData) throws ApiClientException {
-
-        GraphQLRequest graphQLRequest = new PCARequestBuilder()
+    private GraphQLRequest entityModelRequest(ContentNamespace ns, int publicationId, int entityId, int templateId,
+                                              ContentType contentType, DataModelType modelType, DcpType dcpType,
+                                              ContentIncludeMode contentIncludeMode, ContextData contextData) {
+        return new PCARequestBuilder()
                 .withQuery("EntityModelById")
                 .withContentIncludeMode(contentIncludeMode)
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
                 .withVariable("componentId", entityId)
                 .withVariable("templateId", templateId)
-                .withContextData(globalContextDataInternal(), contextData)
-                .withClaim(createClaim(contentType))
-                .withClaim(createClaim(modelType))
-                .withClaim(createClaim(dcpType))
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
+                .withClaim(sharedClaim(contentType))
+                .withClaim(sharedClaim(modelType))
+                .withClaim(sharedClaim(dcpType))
                 .withTimeout(requestTimeout)
                 .build();
-
-        return getJsonResult(graphQLRequest, "/data/componentPresentation/rawContent/data");
     }
 
     @Override
@@ -564,11 +823,12 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withRecurseFragment("RecurseItems", descendantLevels)
                 .withNamespace(ns)
                 .withPublicationId(publicationId)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
-        return getResultForRequest(graphQLRequest, TaxonomySitemapItem.class, "/data/sitemap");
+        return getCachedResultForRequest(graphQLRequest, TaxonomySitemapItem.class, "/data/sitemap");
     }
 
     @Override
@@ -587,7 +847,8 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
                 .withPublicationId(publicationId)
                 .withVariable("taxonomyNodeId", taxonomyNodeId)
                 .withVariable("ancestor", ancestor)
-                .withContextData(globalContextDataInternal(), contextData)
+                .withBaseClaims(settings.claims())
+                .withContextData(contextData)
                 .withTimeout(requestTimeout)
                 .build();
 
@@ -595,25 +856,187 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
     }
 
 
+    private int pageIdOf(ContentNamespace ns, int publicationId, String url) {
+        PageIdResolver resolver = components.pageIdResolver;
+        return resolver == null ? PageIdResolver.UNKNOWN : resolver.getPageId(ns, publicationId, url);
+    }
+
+    private <T> T unlessMissing(boolean binary, ContentNamespace ns, int publicationId, String url, T missing,
+                                Supplier<byte[]> call, Function<byte[], T> reader) {
+        NegativeCache misses = components.negativeCache;
+        if (misses == null) {
+            return reader.apply(call.get());
+        }
+        String key = binary
+                ? NegativeCache.binaryKey(ns, publicationId, url)
+                : NegativeCache.pageKey(ns, publicationId, url);
+        if (misses.isMissing(key)) {
+            return missing;
+        }
+        byte[] response = call.get();
+        T result = reader.apply(response);
+        // An empty result may also be a page without model data or a failed query, only a null item is a miss
+        if ((result == null || result instanceof JsonNode && (((JsonNode) result).isMissingNode()
+                || ((JsonNode) result).isNull()))
+                && isNullAt(response, binary ? "/data/binaryComponent" : "/data/page") && !hasErrors(response)) {
+            misses.putMissing(key);
+        }
+        return result;
+    }
+
+    private static boolean isNullAt(byte[] response, String path) {
+        try (JsonParser parser = new FilteringParserDelegate(MAPPER.getFactory().createParser(response),
+                new JsonPointerBasedFilter(path), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+            return parser.nextToken() == JsonToken.VALUE_NULL;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     private <T> T getResultForRequest(GraphQLRequest request, Class<T> clazz, String path) throws ApiClientException {
-        JsonNode result = getJsonResult(request, path);
+        return readResult(getResponse(request, path).getBytes(UTF_8), clazz, path);
+    }
+
+    private <T> T getCachedResultForRequest(GraphQLRequest request, Class<T> clazz, String path)
+            throws ApiClientException {
+        return readResult(getCachedResponse(request, path, this::executeAsBytes), clazz, path);
+    }
+
+    private <T> T readResult(byte[] result, Class<T> clazz, String path) throws ApiClientException {
+        // Bind straight from the response bytes, so raw content data is sliced instead of being parsed into a tree
         try {
-            return MAPPER.treeToValue(result, clazz);
-        } catch (JsonProcessingException e) {
-            throw new ApiClientException("Unable map result to " + clazz.getName() + ": " + result.toString(), e);
+            return components.mapper.readerFor(clazz).at(path).readValue(result);
+        } catch (IOException e) {
+            throw new ApiClientException("Unable map result at " + path + " to " + clazz.getName(), e);
         }
     }
 
     private JsonNode getJsonResult(GraphQLRequest request, String path) throws ApiClientException {
+        String result = getResponse(request, path);
+        try {
+            return components.mapper.readTree(result).at(path);
+        } catch (IOException e) {
+            throw new ApiClientException("Unable to deserialize result for query " + request, e);
+        }
+    }
+
+    private JsonNode getCachedJsonResult(GraphQLRequest request, String path) throws ApiClientException {
+        return readJsonResult(request, getCachedResponse(request, path, this::executeAsBytes), path);
+    }
+
+    private JsonNode readJsonResult(GraphQLRequest request, byte[] result, String path) throws ApiClientException {
+        try {
+            return components.mapper.readTree(result).at(path);
+        } catch (IOException e) {
+            throw new ApiClientException("Unable to deserialize result for query " + request, e);
+        }
+    }
+
+    private RawJson getRawResult(GraphQLRequest request, String path) throws ApiClientException {
+        return readRawResult(request, getCachedResponse(request, path, client::executeForBytes), path);
+    }
+
+    private RawJson readRawResult(GraphQLRequest request, byte[] result, String path) throws ApiClientException {
+        // Locate the value with a streaming filter and slice its bytes out of the response, no tree is built
+        try (JsonParser parser = new FilteringParserDelegate(MAPPER.getFactory().createParser(result),
+                new JsonPointerBasedFilter(path), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return components.mapper.readValue(parser, RawJson.class);
+        } catch (IOException e) {
+            throw new ApiClientException("Unable to read result at " + path + " for query " + request, e);
+        }
+    }
+
+    private String getResponse(GraphQLRequest request, String path) throws ApiClientException {
+        return executeWithRetry(request, path, client::execute);
+    }
+
+    private byte[] getCachedResponse(GraphQLRequest request, String path, Execution<byte[]> execution)
+            throws ApiClientException {
+        Components current = components;
+        ResponseCache cache = current.responseCache;
+        if (cache == null) {
+            return executeWithRetry(request, path, execution);
+        }
+        String key = RequestFingerprint.of(request);
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.getBody();
+        }
+        // An expired response with validators is revalidated, so an unchanged one is not transferred again
+        CachedResponse stale = cached != null && cached.hasValidators() ? cached : null;
+        GraphQLResponse response = executeWithRetry(request, path, r -> client.executeConditional(r,
+                stale == null ? null : stale.getEtag(), stale == null ? null : stale.getLastModified()));
+        if (response.isNotModified()) {
+            if (stale == null) {
+                throw new ApiClientException("Content service answered unconditional query " + request +
+                        " with no content");
+            }
+            if (response.isNoStore()) {
+                cache.invalidate(key);
+            } else {
+                cache.put(key, stale.refresh(now + ttlOf(response, current.responseCacheTtl), response.getEtag(),
+                        response.getLastModified()));
+            }
+            return stale.getBody();
+        }
+        byte[] result = response.getBody();
+        long ttl = ttlOf(response, current.responseCacheTtl);
+        if (!response.isNoStore() && (ttl > 0 || response.getEtag() != null || response.getLastModified() != null) && !hasErrors(result)) {
+            cache.put(key, new CachedResponse(result, now + ttl, CacheTags.of(request, result), response.getEtag(),
+                    response.getLastModified()));
+        }
+        return result;
+    }
+
+    private static long ttlOf(GraphQLResponse response, long defaultTtl) {
+        // Cache-Control of the content service takes precedence over the configured time to live
+        if (response.getMaxAge() == GraphQLResponse.NO_MAX_AGE) {
+            return defaultTtl;
+        }
+        return TimeUnit.SECONDS.toMillis(Math.max(0, response.getMaxAge()));
+    }
+
+    private byte[] executeAsBytes(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException {
+        return client.execute(request).getBytes(UTF_8);
+    }
+
+    private static boolean hasErrors(byte[] response) {
+        // Only top level fields are looked at, values are skipped without being parsed into objects
+        try (JsonParser parser = MAPPER.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return true;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("errors".equals(field) && value != JsonToken.VALUE_NULL) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private <T> T executeWithRetry(GraphQLRequest request, String path, Execution<T> execution) throws ApiClientException {
         int attempt = 3;
         UnauthorizedException[] exception = new UnauthorizedException[1];
         while(attempt > 0) {
             try {
                 attempt--;
-                return getJsonResultInternal(request, path);
+                return execution.execute(request);
             } catch (UnauthorizedException ex) {
                 if (exception[0] == null) exception[0] = ex;
                 LOG.error("Could not perform query on " + path);
+            } catch (GraphQLClientException e) {
+                throw new ApiClientException("Unable to execute query: " + request, e);
             }
             try {
                 Thread.currentThread().sleep(200);
@@ -625,38 +1048,52 @@ public class DefaultApiClient implements ApiClient, GraphQLClient {
         throw new ApiClientException("Could not perform query " + request + " after 3 attempts", exception[0]);
     }
 
-    private JsonNode getJsonResultInternal(GraphQLRequest request, String path) throws ApiClientException, UnauthorizedException {
-        try {
-            String resultString = client.execute(request);
-            JsonNode resultJson = MAPPER.readTree(resultString);
-            return resultJson.at(path);
-        } catch (GraphQLClientException e) {
-            throw new ApiClientException("Unable to execute query: " + request, e);
-        } catch (IOException e) {
-            throw new ApiClientException("Unable to deserialize result for query " + request, e);
+    /**
+     * Immutable set of caches, resolver and mapper used by requests. Every change creates a new instance, so a
+     * request sees either all old or all new components.
+     */
+    private static final class Components {
+        private static final Components DEFAULT = new Components(null, 0, null, null, MAPPER);
+
+        private final ResponseCache responseCache;
+        private final long responseCacheTtl;
+        private final NegativeCache negativeCache;
+        private final PageIdResolver pageIdResolver;
+        private final ObjectMapper mapper;
+
+        private Components(ResponseCache responseCache, long responseCacheTtl, NegativeCache negativeCache,
+                           PageIdResolver pageIdResolver, ObjectMapper mapper) {
+            this.responseCache = responseCache;
+            this.responseCacheTtl = responseCacheTtl;
+            this.negativeCache = negativeCache;
+            this.pageIdResolver = pageIdResolver;
+            this.mapper = mapper;
         }
-    }
 
-    private ContextData globalContextDataInternal() {
-        ContextData data = new ContextData();
-        data.addClaimValues(globalContextData);
-        // Add a default claim here to control model type returned by default
-        data.addClaimValue(createClaim(defaultModelType));
-        data.addClaimValue(createClaim(defaultContentType));
-        // Add claim to control how tcdl links are rendered
-        data.addClaimValue(createClaim(tcdlLinkRenderingType));
-        // Add claim to control how model-service plugin renders links
-        data.addClaimValue(createClaim(modelServiceLinkRenderingType));
-        // Add claim to control prefix urls
-        if (tcdlLinkRenderingType != TcdlLinkRendering.ABSOLUTE) {
-            return data;
+        private Components withResponseCache(ResponseCache responseCache, long responseCacheTtl) {
+            return new Components(responseCache, responseCacheTtl, negativeCache, pageIdResolver, mapper);
         }
-        if (!Strings.isNullOrEmpty(tcdlLinkUrlPrefix)) {
-            data.addClaimValue(createClaimTcdlLinkUrlPrefix(tcdlLinkUrlPrefix));
+
+        private Components withNegativeCache(NegativeCache negativeCache) {
+            return new Components(responseCache, responseCacheTtl, negativeCache, pageIdResolver, mapper);
+        }
+
+        private Components withPageIdResolver(PageIdResolver pageIdResolver) {
+            return new Components(responseCache, responseCacheTtl, negativeCache, pageIdResolver, mapper);
         }
-        if (!Strings.isNullOrEmpty(tcdlBinaryLinkUrlPrefix)) {
-            data.addClaimValue(createClaimTcdlBinaryLinkUrlPrefix(tcdlBinaryLinkUrlPrefix));
+
+        private Components withMapper(ObjectMapper mapper) {
+            return new Components(responseCache, responseCacheTtl, negativeCache, pageIdResolver, mapper);
         }
-        return data;
+    }
+
+    @FunctionalInterface
+    private interface Execution<T> {
+        T execute(GraphQLRequest request) throws UnauthorizedException, GraphQLClientException;
+    }
+
+    private abstract static class RawContentMixIn {
+        @JsonDeserialize(using = RawJsonMap.Deserializer.class)
+        abstract void setData(Map data);
     }
 }
@@ -0,0 +1,446 @@
+package com.sdl.web.pca.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.contentmodel.RawJson;
+import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.enums.ContentType;
+import com.sdl.web.pca.client.contentmodel.enums.DataModelType;
+import com.sdl.web.pca.client.contentmodel.enums.DcpType;
+import com.sdl.web.pca.client.contentmodel.enums.ModelServiceLinkRendering;
+import com.sdl.web.pca.client.contentmodel.enums.PageInclusion;
+import com.sdl.web.pca.client.contentmodel.enums.TcdlLinkRendering;
+import com.sdl.web.pca.client.contentmodel.generated.Ancestor;
+import com.sdl.web.pca.client.contentmodel.generated.BinaryComponent;
+import com.sdl.web.pca.client.contentmodel.generated.ClaimValue;
+import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentation;
+import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentationConnection;
+import com.sdl.web.pca.client.contentmodel.generated.InputComponentPresentationFilter;
+import com.sdl.web.pca.client.contentmodel.generated.InputItemFilter;
+import com.sdl.web.pca.client.contentmodel.generated.InputPublicationFilter;
+import com.sdl.web.pca.client.contentmodel.generated.InputSortParam;
+import com.sdl.web.pca.client.contentmodel.generated.ItemConnection;
+import com.sdl.web.pca.client.contentmodel.generated.Page;
+import com.sdl.web.pca.client.contentmodel.generated.PageConnection;
+import com.sdl.web.pca.client.contentmodel.generated.Publication;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationConnection;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationMapping;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.util.CmUri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * View of an {@link ApiClient} which remembers results of its calls until it is closed, meant to be opened for
+ * a single page render:
+ * <pre>
+ * try (MemoizingApiClient render = new MemoizingApiClient(apiClient)) {
+ *     ...
+ * }
+ * </pre>
+ * Calls with equal arguments are executed once and later calls, also concurrent ones, get the same result,
+ * including {@code null}. Failed calls are not remembered. {@link ContextData} arguments are matched by the claims
+ * they hold at the time of the call. Paged queries, which take pagination and filter beans without own equality,
+ * are passed to the wrapped client without being remembered. Results are shared between callers, so they should
+ * not be modified.
+ * <p>
+ * Changing settings through the view changes them on the wrapped client and forgets remembered results.
+ * Once closed, the view passes calls to the wrapped client without remembering them.
+ */
+public class MemoizingApiClient implements ApiClient, AutoCloseable {
+    private static final Object NULL = new Object();
+
+    private final ApiClient delegate;
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> results = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private volatile boolean closed;
+
+    public MemoizingApiClient(ApiClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns number of calls answered with a remembered result.
+     *
+     * @return number of calls which did not reach the wrapped client
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Forgets remembered results and stops remembering new ones.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        results.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(Supplier<T> call, Object... key) {
+        if (closed) {
+            return call.get();
+        }
+        List<Object> arguments = Arrays.asList(key);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Object> existing = results.putIfAbsent(arguments, result);
+        if (existing != null) {
+            hits.incrementAndGet();
+            try {
+                Object value = existing.join();
+                return value == NULL ? null : (T) value;
+            } catch (CompletionException e) {
+                // The call failed for the caller which executed it, every waiting caller gets the same exception
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            T value = call.get();
+            result.complete(value == null ? NULL : value);
+            return value;
+        } catch (Throwable e) {
+            // Waiting callers would block forever on a result which is never completed
+            results.remove(arguments, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns key of the claims of context data, so calls with equal claims match and claims added later do not.
+     */
+    private static List<Object> claims(ContextData contextData) {
+        if (contextData == null) {
+            return null;
+        }
+        List<ClaimValue> claimValues = contextData.getClaimValues();
+        List<Object> key = new ArrayList<>(claimValues.size() * 3);
+        for (ClaimValue claim : claimValues) {
+            if (claim == null) {
+                key.add(null);
+            } else {
+                key.add(claim.getUri());
+                key.add(claim.getValue());
+                key.add(claim.getType());
+            }
+        }
+        return key;
+    }
+
+    @Override
+    public ContextData getGlobalContextData() {
+        return delegate.getGlobalContextData();
+    }
+
+    @Override
+    public void setGlobalContextData(ContextData globalContextData) {
+        delegate.setGlobalContextData(globalContextData);
+        results.clear();
+    }
+
+    @Override
+    public ContentType getDefaultContentType() {
+        return delegate.getDefaultContentType();
+    }
+
+    @Override
+    public void setDefaultContentType(ContentType contentType) {
+        delegate.setDefaultContentType(contentType);
+        results.clear();
+    }
+
+    @Override
+    public DataModelType getDefaultModelType() {
+        return delegate.getDefaultModelType();
+    }
+
+    @Override
+    public void setDefaultModelType(DataModelType dataModelType) {
+        delegate.setDefaultModelType(dataModelType);
+        results.clear();
+    }
+
+    @Override
+    public TcdlLinkRendering getTcdlLinkRenderingType() {
+        return delegate.getTcdlLinkRenderingType();
+    }
+
+    @Override
+    public void setTcdlLinkRenderingType(TcdlLinkRendering tcdlLinkRenderingType) {
+        delegate.setTcdlLinkRenderingType(tcdlLinkRenderingType);
+        results.clear();
+    }
+
+    @Override
+    public ModelServiceLinkRendering getModelServiceLinkRenderingType() {
+        return delegate.getModelServiceLinkRenderingType();
+    }
+
+    @Override
+    public void setModelServiceLinkRenderingType(ModelServiceLinkRendering renderingType) {
+        delegate.setModelServiceLinkRenderingType(renderingType);
+        results.clear();
+    }
+
+    @Override
+    public String getTcdlLinkUrlPrefix() {
+        return delegate.getTcdlLinkUrlPrefix();
+    }
+
+    @Override
+    public void setTcdlLinkUrlPrefix(String tcdlLinkUrlPrefix) {
+        delegate.setTcdlLinkUrlPrefix(tcdlLinkUrlPrefix);
+        results.clear();
+    }
+
+    @Override
+    public String getTcdlBinaryLinkUrlPrefix() {
+        return delegate.getTcdlBinaryLinkUrlPrefix();
+    }
+
+    @Override
+    public void setTcdlBinaryLinkUrlPrefix(String binaryLinksPrefix) {
+        delegate.setTcdlBinaryLinkUrlPrefix(binaryLinksPrefix);
+        results.clear();
+    }
+
+    @Override
+    public void addDefaultHeader(String header, String value) {
+        delegate.addDefaultHeader(header, value);
+        results.clear();
+    }
+
+    @Override
+    public ComponentPresentation getComponentPresentation(ContentNamespace ns, int publicationId, int componentId,
+                                                          int templateId, String customMetaFilter,
+                                                          ContentIncludeMode contentIncludeMode,
+                                                          ContextData contextData) {
+        return memoize(() -> delegate.getComponentPresentation(ns, publicationId, componentId, templateId,
+                customMetaFilter, contentIncludeMode, contextData),
+                "getComponentPresentation", ns, publicationId, componentId, templateId, customMetaFilter,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public ComponentPresentationConnection getComponentPresentations(ContentNamespace ns, int publicationId,
+                                                                     InputComponentPresentationFilter filter,
+                                                                     InputSortParam sort, Pagination pagination,
+                                                                     String customMetaFilter,
+                                                                     ContentIncludeMode contentIncludeMode,
+                                                                     ContextData contextData) {
+        return delegate.getComponentPresentations(ns, publicationId, filter, sort, pagination, customMetaFilter,
+                contentIncludeMode, contextData);
+    }
+
+    @Override
+    public Page getPage(ContentNamespace ns, int publicationId, int pageId, String customMetaFilter,
+                        ContentIncludeMode contentIncludeMode, ContextData contextData) {
+        return memoize(() -> delegate.getPage(ns, publicationId, pageId, customMetaFilter, contentIncludeMode,
+                contextData),
+                "getPageById", ns, publicationId, pageId, customMetaFilter, contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public Page getPage(ContentNamespace ns, int publicationId, String url, String customMetaFilter,
+                        ContentIncludeMode contentIncludeMode, ContextData contextData) {
+        return memoize(() -> delegate.getPage(ns, publicationId, url, customMetaFilter, contentIncludeMode,
+                contextData),
+                "getPageByUrl", ns, publicationId, url, customMetaFilter, contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public Page getPage(CmUri cmUri, String customMetaFilter, ContentIncludeMode contentIncludeMode,
+                        ContextData contextData) {
+        return memoize(() -> delegate.getPage(cmUri, customMetaFilter, contentIncludeMode, contextData),
+                "getPageByCmUri", cmUri, customMetaFilter, contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public PageConnection getPages(ContentNamespace ns, Pagination pagination, String url, String customMetaFilter,
+                                   ContentIncludeMode contentIncludeMode, ContextData contextData) {
+        return delegate.getPages(ns, pagination, url, customMetaFilter, contentIncludeMode, contextData);
+    }
+
+    @Override
+    public BinaryComponent getBinaryComponent(ContentNamespace ns, int publicationId, int binaryId,
+                                              String customMetaFilter, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getBinaryComponent(ns, publicationId, binaryId, customMetaFilter,
+                contextData),
+                "getBinaryComponentById", ns, publicationId, binaryId, customMetaFilter, claims(contextData));
+    }
+
+    @Override
+    public BinaryComponent getBinaryComponent(ContentNamespace ns, int publicationId, String url,
+                                              String customMetaFilter, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getBinaryComponent(ns, publicationId, url, customMetaFilter, contextData),
+                "getBinaryComponentByUrl", ns, publicationId, url, customMetaFilter, claims(contextData));
+    }
+
+    @Override
+    public BinaryComponent getBinaryComponent(CmUri cmUri, String customMetaFilter, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getBinaryComponent(cmUri, customMetaFilter, contextData),
+                "getBinaryComponentByCmUri", cmUri, customMetaFilter, claims(contextData));
+    }
+
+    @Override
+    public ItemConnection executeItemQuery(InputItemFilter filter, InputSortParam sort, Pagination pagination,
+                                           String customMetaFilter, ContentIncludeMode contentIncludeMode,
+                                           boolean includeContainerItems, ContextData contextData)
+            throws ApiClientException {
+        return delegate.executeItemQuery(filter, sort, pagination, customMetaFilter, contentIncludeMode,
+                includeContainerItems, contextData);
+    }
+
+    @Override
+    public Publication getPublication(ContentNamespace ns, int publicationId, String customMetaFilter,
+                                      ContextData contextData) throws ApiClientException {
+        return memoize(() -> delegate.getPublication(ns, publicationId, customMetaFilter, contextData),
+                "getPublication", ns, publicationId, customMetaFilter, claims(contextData));
+    }
+
+    @Override
+    public PublicationConnection getPublications(ContentNamespace ns, Pagination pagination,
+                                                 InputPublicationFilter filter, String customMetaFilter,
+                                                 ContextData contextData) {
+        return delegate.getPublications(ns, pagination, filter, customMetaFilter, contextData);
+    }
+
+    @Override
+    public String resolvePageLink(ContentNamespace ns, int publicationId, int pageId, boolean renderRelativeLink)
+            throws ApiClientException {
+        return memoize(() -> delegate.resolvePageLink(ns, publicationId, pageId, renderRelativeLink),
+                "resolvePageLink", ns, publicationId, pageId, renderRelativeLink);
+    }
+
+    @Override
+    public String resolveComponentLink(ContentNamespace ns, int publicationId, int componentId, Integer sourcePageId,
+                                       Integer excludeComponentTemplateId, boolean renderRelativeLink)
+            throws ApiClientException {
+        return memoize(() -> delegate.resolveComponentLink(ns, publicationId, componentId, sourcePageId,
+                excludeComponentTemplateId, renderRelativeLink),
+                "resolveComponentLink", ns, publicationId, componentId, sourcePageId, excludeComponentTemplateId,
+                renderRelativeLink);
+    }
+
+    @Override
+    public String resolveBinaryLink(ContentNamespace ns, int publicationId, int binaryId, String variantId,
+                                    boolean renderRelativeLink) throws ApiClientException {
+        return memoize(() -> delegate.resolveBinaryLink(ns, publicationId, binaryId, variantId, renderRelativeLink),
+                "resolveBinaryLink", ns, publicationId, binaryId, variantId, renderRelativeLink);
+    }
+
+    @Override
+    public String resolveDynamicComponentLink(ContentNamespace ns, int publicationId, int pageId, int componentId,
+                                              int templateId, boolean renderRelativeLink) throws ApiClientException {
+        return memoize(() -> delegate.resolveDynamicComponentLink(ns, publicationId, pageId, componentId,
+                templateId, renderRelativeLink),
+                "resolveDynamicComponentLink", ns, publicationId, pageId, componentId, templateId,
+                renderRelativeLink);
+    }
+
+    @Override
+    public PublicationMapping getPublicationMapping(ContentNamespace ns, String url) throws ApiClientException {
+        return memoize(() -> delegate.getPublicationMapping(ns, url), "getPublicationMapping", ns, url);
+    }
+
+    @Override
+    public JsonNode getPageModelData(ContentNamespace ns, int publicationId, String url, ContentType contentType,
+                                     DataModelType modelType, PageInclusion pageInclusion,
+                                     ContentIncludeMode contentIncludeMode, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getPageModelData(ns, publicationId, url, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData),
+                "getPageModelDataByUrl", ns, publicationId, url, contentType, modelType, pageInclusion,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public JsonNode getPageModelData(ContentNamespace ns, int publicationId, int pageId, ContentType contentType,
+                                     DataModelType modelType, PageInclusion pageInclusion,
+                                     ContentIncludeMode contentIncludeMode, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getPageModelData(ns, publicationId, pageId, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData),
+                "getPageModelDataById", ns, publicationId, pageId, contentType, modelType, pageInclusion,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public JsonNode getEntityModelData(ContentNamespace ns, int publicationId, int entityId, int templateId,
+                                       ContentType contentType, DataModelType modelType, DcpType dcpType,
+                                       ContentIncludeMode contentIncludeMode, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getEntityModelData(ns, publicationId, entityId, templateId, contentType,
+                modelType, dcpType, contentIncludeMode, contextData),
+                "getEntityModelData", ns, publicationId, entityId, templateId, contentType, modelType, dcpType,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public RawJson getRawPageModelData(ContentNamespace ns, int publicationId, String url, ContentType contentType,
+                                       DataModelType modelType, PageInclusion pageInclusion,
+                                       ContentIncludeMode contentIncludeMode, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getRawPageModelData(ns, publicationId, url, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData),
+                "getRawPageModelDataByUrl", ns, publicationId, url, contentType, modelType, pageInclusion,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public RawJson getRawPageModelData(ContentNamespace ns, int publicationId, int pageId, ContentType contentType,
+                                       DataModelType modelType, PageInclusion pageInclusion,
+                                       ContentIncludeMode contentIncludeMode, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getRawPageModelData(ns, publicationId, pageId, contentType, modelType,
+                pageInclusion, contentIncludeMode, contextData),
+                "getRawPageModelDataById", ns, publicationId, pageId, contentType, modelType, pageInclusion,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public RawJson getRawEntityModelData(ContentNamespace ns, int publicationId, int entityId, int templateId,
+                                         ContentType contentType, DataModelType modelType, DcpType dcpType,
+                                         ContentIncludeMode contentIncludeMode, ContextData contextData)
+            throws ApiClientException {
+        return memoize(() -> delegate.getRawEntityModelData(ns, publicationId, entityId, templateId, contentType,
+                modelType, dcpType, contentIncludeMode, contextData),
+                "getRawEntityModelData", ns, publicationId, entityId, templateId, contentType, modelType, dcpType,
+                contentIncludeMode, claims(contextData));
+    }
+
+    @Override
+    public TaxonomySitemapItem getSitemap(ContentNamespace ns, int publicationId, int descendantLevels,
+                                          ContextData contextData) throws ApiClientException {
+        return memoize(() -> delegate.getSitemap(ns, publicationId, descendantLevels, contextData),
+                "getSitemap", ns, publicationId, descendantLevels, claims(contextData));
+    }
+
+    @Override
+    public TaxonomySitemapItem[] getSitemapSubtree(ContentNamespace ns, int publicationId, String taxonomyNodeId,
+                                                   int descendantLevels, Ancestor ancestor,
+                                                   ContextData contextData) throws ApiClientException {
+        return memoize(() -> delegate.getSitemapSubtree(ns, publicationId, taxonomyNodeId, descendantLevels,
+                ancestor, contextData),
+                "getSitemapSubtree", ns, publicationId, taxonomyNodeId, descendantLevels, ancestor,
+                claims(contextData));
+    }
+}
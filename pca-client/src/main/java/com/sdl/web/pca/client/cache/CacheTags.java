@@ -0,0 +1,195 @@
+package com.sdl.web.pca.client.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.util.CmUri;
+import com.sdl.web.pca.client.util.ItemTypes;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependency tags of cached responses.
+ * <p>
+ * Tags are version-less CM URIs: {@code tcm:0-5-1} for publication 5 and {@code tcm:5-640-64} for page 640 of it.
+ * A response is tagged with the publication, page and component its request asks for, and with every item
+ * found in the response body, either as an object holding {@code itemId}, {@code publicationId},
+ * {@code namespaceId} and {@code itemType} fields or as a CM URI string value.
+ */
+public final class CacheTags {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private CacheTags() {
+    }
+
+    /**
+     * Returns tag of a publication.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @return tag
+     */
+    public static String publication(ContentNamespace ns, int publicationId) {
+        return item(ns.getNameSpaceValue(), 0, publicationId, ItemTypes.PUBLICATION.getValue());
+    }
+
+    /**
+     * Returns tag of an item, ignoring version of the URI.
+     *
+     * @param cmUri item URI
+     * @return tag
+     */
+    public static String item(CmUri cmUri) {
+        if (cmUri.getItemType() == ItemTypes.PUBLICATION.getValue()) {
+            return item(cmUri.getNamespaceId(), 0, cmUri.getItemId(), cmUri.getItemType());
+        }
+        return item(cmUri.getNamespaceId(), cmUri.getPublicationId(), cmUri.getItemId(), cmUri.getItemType());
+    }
+
+    /**
+     * Collects tags of a response.
+     *
+     * @param request  request of the response
+     * @param response response body
+     * @return tags
+     */
+    public static Set<String> of(GraphQLRequest request, byte[] response) {
+        Set<String> tags = new HashSet<>();
+        Map<String, Object> variables = request.getVariables();
+        int ns = intVariable(variables, "namespaceId");
+        int publicationId = intVariable(variables, "publicationId");
+        if (isNamespace(ns) && publicationId > 0) {
+            tags.add(item(ns, 0, publicationId, ItemTypes.PUBLICATION.getValue()));
+            int pageId = intVariable(variables, "pageId");
+            if (pageId > 0) {
+                tags.add(item(ns, publicationId, pageId, ItemTypes.PAGE.getValue()));
+            }
+            int componentId = intVariable(variables, "componentId");
+            if (componentId > 0) {
+                tags.add(item(ns, publicationId, componentId, ItemTypes.COMPONENT.getValue()));
+            }
+        }
+        try {
+            collect(response, ns, publicationId, tags);
+        } catch (IOException e) {
+            // Tags found before the malformed part are kept
+        }
+        return tags;
+    }
+
+    private static void collect(byte[] response, int ns, int publicationId, Set<String> tags) throws IOException {
+        Deque<ItemFields> objects = new ArrayDeque<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(response)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT:
+                        objects.push(new ItemFields(objects.size() == 2 ? parser.getParsingContext().getParent()
+                                .getCurrentName() : null));
+                        break;
+                    case END_OBJECT:
+                        objects.pop().addTo(tags, ns, publicationId);
+                        break;
+                    case VALUE_NUMBER_INT:
+                        // Values which do not fit an int, such as timestamps, are never ids
+                        if (!objects.isEmpty() && parser.getNumberType() == JsonParser.NumberType.INT) {
+                            objects.peek().set(parser.getCurrentName(), parser.getIntValue());
+                        }
+                        break;
+                    case VALUE_STRING:
+                        addUri(parser.getText(), tags);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    private static void addUri(String value, Set<String> tags) {
+        if (value.length() < 7 || !(value.startsWith("tcm:") || value.startsWith("ish:"))) {
+            return;
+        }
+        try {
+            tags.add(item(new CmUri(value)));
+        } catch (IllegalArgumentException e) {
+            // Not a CM URI
+        }
+    }
+
+    private static int intVariable(Map<String, Object> variables, String name) {
+        Object value = variables == null ? null : variables.get(name);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static boolean isNamespace(int ns) {
+        return ns > 0 && ns <= CmUri.Namespace.values().length;
+    }
+
+    private static String item(int ns, int publicationId, int itemId, int itemType) {
+        return CmUri.Namespace.values()[ns - 1].getName() + ":" + publicationId + "-" + itemId + "-" + itemType;
+    }
+
+    /**
+     * Item fields seen in a JSON object.
+     */
+    private static final class ItemFields {
+        // Name of the root query field for objects directly under "data", which tells item type of a page or
+        // component presentation query selecting only itemId
+        private final String rootField;
+        private int namespaceId;
+        private int publicationId;
+        private int itemId;
+        private int itemType;
+
+        private ItemFields(String rootField) {
+            this.rootField = rootField;
+        }
+
+        private void set(String field, int value) {
+            if ("namespaceId".equals(field)) {
+                namespaceId = value;
+            } else if ("publicationId".equals(field)) {
+                publicationId = value;
+            } else if ("itemId".equals(field)) {
+                itemId = value;
+            } else if ("itemType".equals(field)) {
+                itemType = value;
+            }
+        }
+
+        private void addTo(Set<String> tags, int requestNs, int requestPublicationId) {
+            int ns = namespaceId > 0 ? namespaceId : requestNs;
+            int pub = publicationId > 0 ? publicationId : requestPublicationId;
+            if (!isNamespace(ns) || pub <= 0) {
+                return;
+            }
+            int type = itemType > 0 ? itemType : rootItemType();
+            if (itemId > 0 && type > 0) {
+                tags.add(type == ItemTypes.PUBLICATION.getValue()
+                        ? item(ns, 0, itemId, type)
+                        : item(ns, pub, itemId, type));
+            } else if (rootField != null && itemId == 0 && publicationId > 0) {
+                // Root object of publication scoped data, such as a publication mapping
+                tags.add(item(ns, 0, publicationId, ItemTypes.PUBLICATION.getValue()));
+            }
+        }
+
+        private int rootItemType() {
+            if ("page".equals(rootField)) {
+                return ItemTypes.PAGE.getValue();
+            }
+            if ("componentPresentation".equals(rootField) || "component".equals(rootField)) {
+                return ItemTypes.COMPONENT.getValue();
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.sdl.web.pca.client.cache;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
+import com.sdl.web.pca.client.contentmodel.enums.ContentType;
+import com.sdl.web.pca.client.contentmodel.enums.DataModelType;
+import com.sdl.web.pca.client.contentmodel.enums.DcpType;
+import com.sdl.web.pca.client.contentmodel.enums.PageInclusion;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.scheduling.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads responses listed in a {@link WarmUpManifest} through the regular calls of an {@link ApiClient},
+ * so a response cache set on the client is filled before the node starts serving traffic.
+ * <p>
+ * Entries are loaded concurrently at a limited rate. Request parameters used for page and entity models should
+ * match those the application uses, otherwise responses are cached under different request fingerprints.
+ * A failing entry does not stop the run, it is reported to the listener and in the result. Entries are loaded with
+ * {@link RequestPriority#BACKGROUND} priority, so a warm-up running next to live traffic only uses spare capacity.
+ */
+public class CacheWarmer {
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final ApiClient client;
+    private final int concurrency;
+    private final double requestsPerSecond;
+
+    private ContentType contentType;
+    private DataModelType modelType;
+    private PageInclusion pageInclusion = PageInclusion.INCLUDE;
+    private DcpType dcpType = DcpType.DEFAULT;
+    private ContentIncludeMode contentIncludeMode = ContentIncludeMode.INCLUDE_DATA_AND_RENDER;
+    private ContextData contextData = null;
+
+    /**
+     * @param client            client to load entries with
+     * @param concurrency       number of entries loaded at once
+     * @param requestsPerSecond maximum number of entries started per second, 0 or less for no limit
+     */
+    public CacheWarmer(ApiClient client, int concurrency, double requestsPerSecond) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency should be greater than 0, got " + concurrency);
+        }
+        this.client = client;
+        this.concurrency = concurrency;
+        this.requestsPerSecond = requestsPerSecond;
+        this.contentType = client.getDefaultContentType();
+        this.modelType = client.getDefaultModelType();
+    }
+
+    public void setContentType(ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    public void setModelType(DataModelType modelType) {
+        this.modelType = modelType;
+    }
+
+    public void setPageInclusion(PageInclusion pageInclusion) {
+        this.pageInclusion = pageInclusion;
+    }
+
+    public void setDcpType(DcpType dcpType) {
+        this.dcpType = dcpType;
+    }
+
+    public void setContentIncludeMode(ContentIncludeMode contentIncludeMode) {
+        this.contentIncludeMode = contentIncludeMode;
+    }
+
+    public void setContextData(ContextData contextData) {
+        this.contextData = contextData;
+    }
+
+    /**
+     * Loads all entries of the manifest and waits for them to complete.
+     *
+     * @param manifest entries to load
+     * @return outcome of the run
+     */
+    public WarmUpResult warmUp(WarmUpManifest manifest) {
+        return warmUp(manifest, new WarmUpListener() {
+        });
+    }
+
+    /**
+     * Loads all entries of the manifest and waits for them to complete.
+     *
+     * @param manifest entries to load
+     * @param listener listener notified about every completed entry
+     * @return outcome of the run
+     * @throws ApiClientException when the calling thread is interrupted
+     */
+    public WarmUpResult warmUp(WarmUpManifest manifest, WarmUpListener listener) throws ApiClientException {
+        List<WarmUpManifest.Entry> entries = manifest.getEntries();
+        int total = entries.size();
+        long start = System.currentTimeMillis();
+        RateLimiter rateLimiter = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger loaded = new AtomicInteger();
+        Map<WarmUpManifest.Entry, Exception> failures = new ConcurrentHashMap<>();
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(concurrency, Math.max(total, 1)),
+                new ThreadFactoryBuilder().setNameFormat("pca-cache-warmer-%d").setDaemon(true).build());
+        try {
+            for (WarmUpManifest.Entry entry : entries) {
+                workers.execute(RequestPriority.BACKGROUND.wrap(() -> {
+                    if (rateLimiter != null) {
+                        rateLimiter.acquire();
+                    }
+                    Exception failure = null;
+                    try {
+                        load(entry);
+                        loaded.incrementAndGet();
+                    } catch (Exception e) {
+                        LOG.debug("Unable to warm up {}", entry, e);
+                        failures.put(entry, e);
+                        failure = e;
+                    }
+                    int done = completed.incrementAndGet();
+                    try {
+                        if (failure == null) {
+                            listener.onLoaded(entry, done, total);
+                        } else {
+                            listener.onFailed(entry, failure, done, total);
+                        }
+                    } catch (RuntimeException e) {
+                        LOG.warn("Warm-up listener failed for {}", entry, e);
+                    }
+                }));
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new ApiClientException("Cache warm-up is interrupted", e);
+        }
+        WarmUpResult result = new WarmUpResult(total, loaded.get(), failures, System.currentTimeMillis() - start);
+        LOG.info("Cache warm-up finished: {}", result);
+        return result;
+    }
+
+    private void load(WarmUpManifest.Entry entry) {
+        switch (entry.getKind()) {
+            case PAGE:
+                client.getPageModelData(entry.getNamespace(), entry.getPublicationId(), entry.getUrl(), contentType,
+                        modelType, pageInclusion, contentIncludeMode, contextData);
+                break;
+            case ENTITY:
+                client.getEntityModelData(entry.getNamespace(), entry.getPublicationId(), entry.getComponentId(),
+                        entry.getTemplateId(), contentType, modelType, dcpType, contentIncludeMode, contextData);
+                break;
+            case PUBLICATION_MAPPING:
+                client.getPublicationMapping(entry.getNamespace(), entry.getUrl());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported entry " + entry);
+        }
+    }
+}
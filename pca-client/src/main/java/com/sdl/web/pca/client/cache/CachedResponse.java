@@ -0,0 +1,101 @@
+package com.sdl.web.pca.client.cache;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Raw response body of a GraphQL request kept in a {@link ResponseCache}.
+ * <p>
+ * The body array is shared with the cache and should not be modified.
+ */
+public final class CachedResponse {
+    private final byte[] body;
+    private final long expiresAt;
+    private final Set<String> tags;
+    private final String etag;
+    private final String lastModified;
+
+    /**
+     * @param body      UTF-8 encoded response body
+     * @param expiresAt time the response expires at, in milliseconds since epoch
+     */
+    public CachedResponse(byte[] body, long expiresAt) {
+        this(body, expiresAt, Collections.emptySet());
+    }
+
+    /**
+     * @param body      UTF-8 encoded response body
+     * @param expiresAt time the response expires at, in milliseconds since epoch
+     * @param tags      dependency tags, see {@link CacheTags}
+     */
+    public CachedResponse(byte[] body, long expiresAt, Set<String> tags) {
+        this(body, expiresAt, tags, null, null);
+    }
+
+    /**
+     * @param body         UTF-8 encoded response body
+     * @param expiresAt    time the response expires at, in milliseconds since epoch
+     * @param tags         dependency tags, see {@link CacheTags}
+     * @param etag         entity tag sent by the content service or null
+     * @param lastModified last modification date sent by the content service or null
+     */
+    public CachedResponse(byte[] body, long expiresAt, Set<String> tags, String etag, String lastModified) {
+        this.body = body;
+        this.expiresAt = expiresAt;
+        this.tags = Collections.unmodifiableSet(tags);
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Checks if an expired response may be revalidated with a conditional request instead of being downloaded again.
+     *
+     * @return true if the content service sent validators for the response
+     */
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * Creates copy of this response with new expiry time, for a response revalidated by the content service.
+     *
+     * @param newExpiresAt    time the response expires at, in milliseconds since epoch
+     * @param newEtag         entity tag sent with the revalidation or null to keep the current one
+     * @param newLastModified last modification date sent with the revalidation or null to keep the current one
+     * @return refreshed response
+     */
+    public CachedResponse refresh(long newExpiresAt, String newEtag, String newLastModified) {
+        return new CachedResponse(body, newExpiresAt, tags, newEtag == null ? etag : newEtag,
+                newLastModified == null ? lastModified : newLastModified);
+    }
+
+    /**
+     * Checks if response is expired at given time.
+     *
+     * @param now time in milliseconds since epoch
+     * @return true if response should not be served anymore
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
@@ -0,0 +1,701 @@
+package com.sdl.web.pca.client.cache;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Response cache persisted in a single append-only segment file, so a restarted node serves cached responses
+ * right away.
+ * <p>
+ * Every put appends a record holding key, expiry time, dependency tags, HTTP validators and body, protected by
+ * a checksum.
+ * Invalidation appends a tombstone record. The index from key to record position and the reverse index of tags
+ * are kept in memory and rebuilt by scanning the segment when the cache is opened; a torn record at the end of
+ * the file, left by a crash, is cut off. Once the file holds more replaced, removed and expired records than
+ * live ones, live records are copied in the background into a new segment which atomically replaces the old one.
+ * <p>
+ * Reads run concurrently with each other and with appends. Storage failures are logged and treated as misses;
+ * responses with keys, tags or validators too long for a record are not stored.
+ * <p>
+ * A directory is used by one cache at a time. The cache holds a lock on a file in the directory while it is open,
+ * so another process opening the same directory fails instead of corrupting the segment.
+ */
+public class DiskResponseCache implements ResponseCache, Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(DiskResponseCache.class);
+
+    static final String SEGMENT_FILE = "responses.seg";
+    static final String LOCK_FILE = "responses.lock";
+    private static final int FILE_MAGIC = 0x50434143;
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_KEY_LENGTH = 1024;
+    private static final int MAX_TAG_COUNT = 0xFFFF;
+    private static final int MAX_VALUE_LENGTH = 0xFFFF;
+    private static final int TOMBSTONE = -1;
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+    private static final Executor COMPACTION_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("pca-response-cache-compaction-%d")
+            .setDaemon(true)
+            .build());
+
+    private final Path segment;
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+    private final Map<String, Slot> index = new ConcurrentHashMap<>();
+    private final TagIndex tags = new TagIndex();
+    private final ReentrantReadWriteLock channelLock = new ReentrantReadWriteLock();
+    private final Lock appendLock = new ReentrantLock();
+    private final Lock compactionLock = new ReentrantLock();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+    private long deadBytes;
+    private long generation;
+    private boolean closed;
+
+    /**
+     * Opens cache stored in given directory, creating the directory and segment file when missing.
+     *
+     * @param directory directory to keep the segment file in
+     * @throws IOException when the segment cannot be opened or the directory is used by another cache
+     */
+    public DiskResponseCache(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.segment = directory.resolve(SEGMENT_FILE);
+        // The segment file is replaced by compaction, so the lock is held on a file which stays
+        this.lockChannel = open(directory.resolve(LOCK_FILE));
+        try {
+            this.directoryLock = lockDirectory(lockChannel, directory);
+            this.channel = open(segment);
+        } catch (IOException e) {
+            closeQuietly(lockChannel);
+            throw e;
+        }
+        try {
+            load();
+        } catch (IOException e) {
+            closeQuietly(channel);
+            closeQuietly(lockChannel);
+            throw e;
+        }
+        if (shouldCompact()) {
+            compact();
+        }
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        Lock lock = channelLock.readLock();
+        lock.lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null || closed) {
+                return null;
+            }
+            ByteBuffer body = ByteBuffer.allocate(slot.bodyLength);
+            readFully(channel, body, slot.bodyPosition);
+            return new CachedResponse(body.array(), slot.expiresAt, tags.tagsOf(key), slot.etag, slot.lastModified);
+        } catch (IOException e) {
+            LOG.warn("Unable to read cached response from {}", segment, e);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        append(key, response.getExpiresAt(), response.getBody(), response.getTags(), response.getEtag(),
+                response.getLastModified());
+    }
+
+    @Override
+    public void invalidate(String key) {
+        if (index.containsKey(key)) {
+            append(key, 0, null, Collections.emptySet(), null, null);
+        }
+    }
+
+    @Override
+    public int invalidateTag(String tag) {
+        int removed = 0;
+        for (String key : tags.keysOf(tag)) {
+            if (index.containsKey(key)) {
+                append(key, 0, null, Collections.emptySet(), null, null);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Lock lock = channelLock.writeLock();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            channel.truncate(HEADER_SIZE);
+            generation++;
+            index.clear();
+            tags.clear();
+            end = HEADER_SIZE;
+            liveBytes = 0;
+            deadBytes = 0;
+        } catch (IOException e) {
+            LOG.warn("Unable to clear response cache {}", segment, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns number of cached responses.
+     *
+     * @return number of responses
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Rewrites the segment keeping only live, not expired records.
+     * <p>
+     * Live records are copied while reads and appends go on; only records appended in the meantime are copied
+     * while the segment is swapped, which blocks readers and writers for a short time.
+     */
+    public void compact() {
+        compactionLock.lock();
+        try {
+            compactSegment();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private void compactSegment() {
+        long now = System.currentTimeMillis();
+        Path compacted = segment.resolveSibling(SEGMENT_FILE + ".tmp");
+        Map<String, Slot> snapshot;
+        Map<String, Slot> copied = new HashMap<>();
+        long snapshotEnd;
+        long snapshotGeneration;
+        long position = HEADER_SIZE;
+        FileChannel target = null;
+        Lock readLock = channelLock.readLock();
+        readLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            appendLock.lock();
+            try {
+                snapshot = new HashMap<>(index);
+                snapshotEnd = end;
+                snapshotGeneration = generation;
+            } finally {
+                appendLock.unlock();
+            }
+            target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            writeFully(target, header(), 0);
+            for (Map.Entry<String, Slot> entry : snapshot.entrySet()) {
+                Slot slot = entry.getValue();
+                if (now >= slot.expiresAt) {
+                    continue;
+                }
+                transfer(channel, slot.position, slot.recordLength, target, position);
+                copied.put(entry.getKey(), slot.movedTo(position));
+                position += slot.recordLength;
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to compact response cache {}", segment, e);
+            closeQuietly(target);
+            deleteQuietly(compacted);
+            return;
+        } finally {
+            readLock.unlock();
+        }
+
+        Lock writeLock = channelLock.writeLock();
+        writeLock.lock();
+        try {
+            if (closed || generation != snapshotGeneration) {
+                closeQuietly(target);
+                deleteQuietly(compacted);
+                return;
+            }
+            // Records appended since the snapshot keep their order behind the copied ones
+            long tailPosition = position;
+            try {
+                transfer(channel, snapshotEnd, end - snapshotEnd, target, tailPosition);
+                target.force(true);
+                target.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to compact response cache {}", segment, e);
+                closeQuietly(target);
+                deleteQuietly(compacted);
+                return;
+            }
+            try {
+                channel.close();
+                Files.move(compacted, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                channel = open(segment);
+            } catch (IOException e) {
+                closed = true;
+                index.clear();
+                tags.clear();
+                LOG.error("Unable to replace response cache segment {}, cache is disabled", segment, e);
+                return;
+            }
+            Map<String, Slot> slots = new HashMap<>();
+            long live = 0;
+            for (Map.Entry<String, Slot> entry : index.entrySet()) {
+                String key = entry.getKey();
+                Slot slot = entry.getValue();
+                Slot moved;
+                if (slot.position >= snapshotEnd) {
+                    moved = slot.movedTo(tailPosition + slot.position - snapshotEnd);
+                } else if (slot == snapshot.get(key)) {
+                    moved = copied.get(key);
+                } else {
+                    moved = null;
+                }
+                if (moved == null) {
+                    tags.remove(key);
+                } else {
+                    slots.put(key, moved);
+                    live += moved.recordLength;
+                }
+            }
+            index.clear();
+            index.putAll(slots);
+            end = tailPosition + end - snapshotEnd;
+            liveBytes = live;
+            deadBytes = end - HEADER_SIZE - live;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void compactInBackground() {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            COMPACTION_EXECUTOR.execute(() -> {
+                try {
+                    compact();
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Lock lock = channelLock.writeLock();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                channel.force(true);
+                channel.close();
+            } finally {
+                directoryLock.release();
+                lockChannel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(String key, long expiresAt, byte[] body, Set<String> recordTags, String etag,
+                        String lastModified) {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        if (keyBytes.length > MAX_KEY_LENGTH) {
+            LOG.debug("Cache key {} is too long to be cached", key);
+            return;
+        }
+        if (recordTags.size() > MAX_TAG_COUNT) {
+            LOG.debug("Response {} has too many tags to be cached", key);
+            return;
+        }
+        ByteBuffer record = record(keyBytes, expiresAt, body, recordTags, etag, lastModified);
+        if (record == null) {
+            LOG.debug("Response {} has a tag or validator too long to be cached", key);
+            return;
+        }
+        boolean compact;
+        Lock lock = channelLock.readLock();
+        lock.lock();
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long position = end;
+            writeFully(channel, record, position);
+            end += record.capacity();
+            Slot previous;
+            if (body == null) {
+                previous = index.remove(key);
+                tags.remove(key);
+            } else {
+                previous = index.put(key, new Slot(position, record.capacity(), expiresAt, body.length, etag,
+                        lastModified));
+                tags.put(key, recordTags);
+            }
+            if (previous != null) {
+                liveBytes -= previous.recordLength;
+                deadBytes += previous.recordLength;
+            }
+            if (body == null) {
+                deadBytes += record.capacity();
+            } else {
+                liveBytes += record.capacity();
+            }
+            compact = shouldCompact();
+        } catch (IOException e) {
+            LOG.warn("Unable to write cached response to {}", segment, e);
+            return;
+        } finally {
+            appendLock.unlock();
+            lock.unlock();
+        }
+        if (compact) {
+            compactInBackground();
+        }
+    }
+
+    private boolean shouldCompact() {
+        return deadBytes > MIN_COMPACTION_BYTES && deadBytes > liveBytes;
+    }
+
+    private void load() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            channel.truncate(0);
+            writeFully(channel, header(), 0);
+            end = HEADER_SIZE;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        if (header.getInt(0) != FILE_MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            LOG.warn("Response cache {} has unknown format, discarding it", segment);
+            channel.truncate(0);
+            writeFully(channel, header(), 0);
+            end = HEADER_SIZE;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long size = channel.size();
+        long position = HEADER_SIZE;
+        SegmentReader reader = new SegmentReader(channel, position);
+        while (position < size) {
+            try {
+                position = readRecord(reader, position, size, now);
+            } catch (EOFException | CorruptRecordException e) {
+                LOG.warn("Response cache {} has a broken record at {}, truncating it", segment, position);
+                channel.truncate(position);
+                break;
+            }
+        }
+        end = position;
+    }
+
+    private long readRecord(SegmentReader reader, long position, long size, long now) throws IOException {
+        CRC32 crc = new CRC32();
+        int keyLength = reader.readInt(crc);
+        if (keyLength < 0 || keyLength > MAX_KEY_LENGTH) {
+            throw new CorruptRecordException();
+        }
+        String key = new String(reader.readBytes(keyLength, crc), UTF_8);
+        long expiresAt = reader.readLong(crc);
+        int tagCount = reader.readShort(crc) & 0xFFFF;
+        Set<String> recordTags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            int tagLength = reader.readShort(crc) & 0xFFFF;
+            recordTags.add(new String(reader.readBytes(tagLength, crc), UTF_8));
+        }
+        String etag = reader.readString(crc);
+        String lastModified = reader.readString(crc);
+        int bodyLength = reader.readInt(crc);
+        if (bodyLength < TOMBSTONE || bodyLength > size - reader.position()) {
+            throw new CorruptRecordException();
+        }
+        long bodyPosition = reader.position();
+        if (bodyLength > 0) {
+            reader.readBytes(bodyLength, crc);
+        }
+        if (reader.readInt(null) != (int) crc.getValue()) {
+            throw new CorruptRecordException();
+        }
+        int recordLength = (int) (reader.position() - position);
+        Slot previous;
+        if (bodyLength == TOMBSTONE) {
+            previous = index.remove(key);
+            tags.remove(key);
+        } else {
+            previous = index.put(key, new Slot(position, recordLength, expiresAt, bodyPosition, bodyLength, etag,
+                    lastModified));
+            tags.put(key, recordTags);
+        }
+        if (previous != null) {
+            liveBytes -= previous.recordLength;
+            deadBytes += previous.recordLength;
+        }
+        if (bodyLength == TOMBSTONE || now >= expiresAt) {
+            deadBytes += recordLength;
+        } else {
+            liveBytes += recordLength;
+        }
+        return reader.position();
+    }
+
+    /**
+     * Encodes record, or returns {@code null} when a tag or validator is too long to be stored.
+     */
+    private static ByteBuffer record(byte[] key, long expiresAt, byte[] body, Set<String> recordTags, String etag,
+                                     String lastModified) {
+        int bodyLength = body == null ? 0 : body.length;
+        List<byte[]> encodedTags = new ArrayList<>(recordTags.size());
+        int tagsLength = 2;
+        for (String tag : recordTags) {
+            byte[] encoded = encode(tag);
+            if (encoded == null) {
+                return null;
+            }
+            encodedTags.add(encoded);
+            tagsLength += 2 + encoded.length;
+        }
+        // Missing validators are stored as empty strings, which are never valid header values
+        byte[] encodedEtag = encode(etag == null ? "" : etag);
+        byte[] encodedLastModified = encode(lastModified == null ? "" : lastModified);
+        if (encodedEtag == null || encodedLastModified == null) {
+            return null;
+        }
+        int validatorsLength = 2 + encodedEtag.length + 2 + encodedLastModified.length;
+        ByteBuffer record = ByteBuffer.allocate(4 + key.length + 8 + tagsLength + validatorsLength + 4 + bodyLength
+                + 4);
+        record.putInt(key.length).put(key).putLong(expiresAt).putShort((short) encodedTags.size());
+        for (byte[] tag : encodedTags) {
+            record.putShort((short) tag.length).put(tag);
+        }
+        record.putShort((short) encodedEtag.length).put(encodedEtag);
+        record.putShort((short) encodedLastModified.length).put(encodedLastModified);
+        record.putInt(body == null ? TOMBSTONE : body.length);
+        if (body != null) {
+            record.put(body);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private static byte[] encode(String value) {
+        byte[] encoded = value.getBytes(UTF_8);
+        return encoded.length > MAX_VALUE_LENGTH ? null : encoded;
+    }
+
+    private static FileLock lockDirectory(FileChannel lockChannel, Path directory) throws IOException {
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another cache of this JVM
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException("Response cache directory " + directory + " is used by another cache");
+        }
+        return lock;
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(FILE_MAGIC).putInt(FORMAT_VERSION).flip();
+        return header;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debug("Unable to delete {}", path, e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Unable to close {}", channel, e);
+        }
+    }
+
+    private static void transfer(FileChannel source, long sourcePosition, long length, FileChannel target,
+                                 long targetPosition) throws IOException {
+        long copied = 0;
+        while (copied < length) {
+            copied += source.transferTo(sourcePosition + copied, length - copied, target.position(targetPosition
+                    + copied));
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Location of a record in the segment.
+     */
+    private static final class Slot {
+        private final long position;
+        private final int recordLength;
+        private final long expiresAt;
+        private final long bodyPosition;
+        private final int bodyLength;
+        private final String etag;
+        private final String lastModified;
+
+        private Slot(long position, int recordLength, long expiresAt, int bodyLength, String etag,
+                     String lastModified) {
+            // Body is followed by the checksum only
+            this(position, recordLength, expiresAt, position + recordLength - 4 - bodyLength, bodyLength, etag,
+                    lastModified);
+        }
+
+        private Slot(long position, int recordLength, long expiresAt, long bodyPosition, int bodyLength, String etag,
+                     String lastModified) {
+            this.position = position;
+            this.recordLength = recordLength;
+            this.expiresAt = expiresAt;
+            this.bodyPosition = bodyPosition;
+            this.bodyLength = bodyLength;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        private Slot movedTo(long newPosition) {
+            return new Slot(newPosition, recordLength, expiresAt, bodyPosition - position + newPosition,
+                    bodyLength, etag, lastModified);
+        }
+    }
+
+    /**
+     * Sequential buffered reader over the segment used when the index is rebuilt.
+     */
+    private static final class SegmentReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long bufferPosition;
+
+        private SegmentReader(FileChannel channel, long position) {
+            this.channel = channel;
+            this.bufferPosition = position;
+            buffer.limit(0);
+        }
+
+        private long position() {
+            return bufferPosition - buffer.remaining();
+        }
+
+        private short readShort(CRC32 crc) throws IOException {
+            return ByteBuffer.wrap(readBytes(2, crc)).getShort();
+        }
+
+        private String readString(CRC32 crc) throws IOException {
+            int length = readShort(crc) & 0xFFFF;
+            return length == 0 ? null : new String(readBytes(length, crc), UTF_8);
+        }
+
+        private int readInt(CRC32 crc) throws IOException {
+            return ByteBuffer.wrap(readBytes(4, crc)).getInt();
+        }
+
+        private long readLong(CRC32 crc) throws IOException {
+            return ByteBuffer.wrap(readBytes(8, crc)).getLong();
+        }
+
+        private byte[] readBytes(int length, CRC32 crc) throws IOException {
+            byte[] result = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer, bufferPosition);
+                    buffer.flip();
+                    if (read <= 0) {
+                        throw new EOFException();
+                    }
+                    bufferPosition += read;
+                }
+                int chunk = Math.min(length - offset, buffer.remaining());
+                buffer.get(result, offset, chunk);
+                offset += chunk;
+            }
+            if (crc != null) {
+                crc.update(result, 0, length);
+            }
+            return result;
+        }
+    }
+
+    private static final class CorruptRecordException extends IOException {
+    }
+}
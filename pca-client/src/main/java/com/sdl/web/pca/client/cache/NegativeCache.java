@@ -0,0 +1,249 @@
+package com.sdl.web.pca.client.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Remembers pages and binaries which were not found by URL, so repeated requests for URLs which do not exist,
+ * such as probes of bots, are answered without asking the content service.
+ * <p>
+ * Misses are kept exactly for the time to live, up to a maximum number. Misses pushed out by newer ones are moved
+ * to Bloom filters, which hold many more of them in little memory, but may mistake an existing URL for a missing
+ * one with the configured false positive probability. Filters are replaced every time to live, so misses in them
+ * are forgotten after at most twice the time to live. A filter is also replaced early once it holds its capacity,
+ * so a flood of misses makes older misses be forgotten sooner instead of raising the false positive probability. A published page may thus be reported missing until a miss
+ * recorded for its URL expires, which is why the time to live should be short.
+ */
+public class NegativeCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final int DEFAULT_OVERFLOW_CAPACITY = 1_000_000;
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.0001;
+
+    private final Cache<String, Boolean> misses;
+    private final Ticker ticker;
+    private final long ttlNanos;
+    private final int overflowCapacity;
+    private final double falsePositiveProbability;
+    private final AtomicLong hits = new AtomicLong();
+
+    private volatile Overflow overflow;
+
+    /**
+     * Creates cache keeping {@value #DEFAULT_MAXIMUM_SIZE} misses exactly and up to
+     * {@value #DEFAULT_OVERFLOW_CAPACITY} more in Bloom filters.
+     *
+     * @param ttl  time to remember a miss for
+     * @param unit unit of time to live
+     */
+    public NegativeCache(long ttl, TimeUnit unit) {
+        this(ttl, unit, DEFAULT_MAXIMUM_SIZE, DEFAULT_OVERFLOW_CAPACITY, DEFAULT_FALSE_POSITIVE_PROBABILITY);
+    }
+
+    /**
+     * @param ttl                      time to remember a miss for
+     * @param unit                     unit of time to live
+     * @param maximumSize              number of misses kept exactly
+     * @param overflowCapacity         number of misses kept in each Bloom filter, 0 to forget misses pushed out
+     * @param falsePositiveProbability probability of a Bloom filter reporting a URL which was not missing
+     */
+    public NegativeCache(long ttl, TimeUnit unit, int maximumSize, int overflowCapacity,
+                         double falsePositiveProbability) {
+        this(ttl, unit, maximumSize, overflowCapacity, falsePositiveProbability, Ticker.systemTicker());
+    }
+
+    NegativeCache(long ttl, TimeUnit unit, int maximumSize, int overflowCapacity, double falsePositiveProbability,
+                  Ticker ticker) {
+        this.ticker = ticker;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.overflowCapacity = overflowCapacity;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.misses = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl, unit)
+                .ticker(ticker)
+                .<String, Boolean>removalListener(removal -> {
+                    if (removal.getCause() == RemovalCause.SIZE) {
+                        overflow(removal.getKey());
+                    }
+                })
+                .build();
+        if (overflowCapacity > 0) {
+            this.overflow = new Overflow(null, ticker.read());
+        }
+    }
+
+    /**
+     * Returns key of a page, also used for models of the page.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param url           page URL
+     * @return key
+     */
+    public static String pageKey(ContentNamespace ns, int publicationId, String url) {
+        return key("page", ns, publicationId, url);
+    }
+
+    /**
+     * Returns key of a binary.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param url           binary URL
+     * @return key
+     */
+    public static String binaryKey(ContentNamespace ns, int publicationId, String url) {
+        return key("binary", ns, publicationId, url);
+    }
+
+    private static String key(String kind, ContentNamespace ns, int publicationId, String url) {
+        return publicationPrefix(ns, publicationId) + kind + ":" + url;
+    }
+
+    private static String publicationPrefix(ContentNamespace ns, int publicationId) {
+        return ns.getNameSpaceValue() + ":" + publicationId + ":";
+    }
+
+    /**
+     * Tells whether a miss was recorded for the key.
+     *
+     * @param key key of a page or binary
+     * @return true if the item was recently not found
+     */
+    public boolean isMissing(String key) {
+        if (misses.getIfPresent(key) != null || overflowContains(key)) {
+            hits.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records that an item was not found.
+     *
+     * @param key key of a page or binary
+     */
+    public void putMissing(String key) {
+        misses.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets a miss kept exactly. Misses already moved to Bloom filters expire with their filter.
+     *
+     * @param key key of a page or binary
+     */
+    public void invalidate(String key) {
+        misses.invalidate(key);
+    }
+
+    /**
+     * Forgets misses of a publication kept exactly. Misses already moved to Bloom filters expire with their filter.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     */
+    public void invalidatePublication(ContentNamespace ns, int publicationId) {
+        String prefix = publicationPrefix(ns, publicationId);
+        misses.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Forgets all misses.
+     */
+    public void clear() {
+        misses.invalidateAll();
+        if (overflowCapacity > 0) {
+            overflow = new Overflow(null, ticker.read());
+        }
+    }
+
+    /**
+     * Returns number of lookups which found a miss.
+     *
+     * @return number of requests which did not reach the content service
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    private boolean overflowContains(String key) {
+        Overflow current = currentOverflow();
+        if (current == null) {
+            return false;
+        }
+        return current.filter.mightContain(key)
+                || current.previous != null && current.previous.filter.mightContain(key);
+    }
+
+    private void overflow(String key) {
+        Overflow current = currentOverflow();
+        if (current == null) {
+            return;
+        }
+        if (current.added.incrementAndGet() > overflowCapacity) {
+            current = rotate(current, ticker.read());
+            current.added.incrementAndGet();
+        }
+        current.filter.put(key);
+    }
+
+    private Overflow currentOverflow() {
+        Overflow current = overflow;
+        if (current == null) {
+            return null;
+        }
+        long now = ticker.read();
+        if (now - current.startedAt < ttlNanos) {
+            return current;
+        }
+        synchronized (this) {
+            current = overflow;
+            return now - current.startedAt >= ttlNanos ? rotate(current, now) : current;
+        }
+    }
+
+    private synchronized Overflow rotate(Overflow expected, long now) {
+        Overflow current = overflow;
+        if (current != expected) {
+            // Replaced by another thread in the meantime
+            return current;
+        }
+        // Misses of the previous filter are dropped with it
+        Overflow previous = new Overflow(current.filter, null, current.startedAt);
+        current = new Overflow(previous, now);
+        overflow = current;
+        return current;
+    }
+
+    /**
+     * Bloom filter of misses recorded since it was started, with the filter it replaced.
+     */
+    private final class Overflow {
+        private final BloomFilter<CharSequence> filter;
+        private final Overflow previous;
+        private final long startedAt;
+        private final AtomicInteger added = new AtomicInteger();
+
+        private Overflow(Overflow previous, long startedAt) {
+            this(BloomFilter.create(Funnels.stringFunnel(UTF_8), overflowCapacity, falsePositiveProbability),
+                    previous, startedAt);
+        }
+
+        private Overflow(BloomFilter<CharSequence> filter, Overflow previous, long startedAt) {
+            this.filter = filter;
+            this.previous = previous;
+            this.startedAt = startedAt;
+        }
+    }
+}
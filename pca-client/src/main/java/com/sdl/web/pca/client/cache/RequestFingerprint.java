@@ -0,0 +1,41 @@
+package com.sdl.web.pca.client.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.common.hash.Hashing;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.request.GraphQLRequest;
+
+/**
+ * Computes stable cache keys for GraphQL requests.
+ * <p>
+ * The key is a SHA-256 hash of the request serialized with sorted properties and map entries, so it covers
+ * query text, variables, context data claims and operation name, and does not depend on the iteration order
+ * of variable maps.
+ */
+public final class RequestFingerprint {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private RequestFingerprint() {
+    }
+
+    /**
+     * Computes fingerprint of given request.
+     *
+     * @param request request
+     * @return hex encoded fingerprint
+     */
+    public static String of(GraphQLRequest request) {
+        try {
+            return Hashing.sha256().hashBytes(MAPPER.writeValueAsBytes(request)).toString();
+        } catch (JsonProcessingException e) {
+            throw new ApiClientException("Unable to compute fingerprint of request " + request, e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sdl.web.pca.client.cache;
+
+/**
+ * Storage for raw responses of GraphQL requests keyed by {@link RequestFingerprint}.
+ * <p>
+ * Implementations should be safe for concurrent use and should not throw on storage failures,
+ * since cache problems should never fail a request which could be served by the content service.
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns cached response, including expired ones, so callers may decide how to refresh them.
+     *
+     * @param key request fingerprint
+     * @return cached response or null if there is none
+     */
+    CachedResponse get(String key);
+
+    /**
+     * Stores response, replacing previous one with the same key.
+     *
+     * @param key      request fingerprint
+     * @param response response to store
+     */
+    void put(String key, CachedResponse response);
+
+    /**
+     * Removes response with given key.
+     *
+     * @param key request fingerprint
+     */
+    void invalidate(String key);
+
+    /**
+     * Removes all responses tagged with given dependency tag.
+     *
+     * @param tag dependency tag, see {@link CacheTags}
+     * @return number of removed responses
+     */
+    int invalidateTag(String tag);
+
+    /**
+     * Removes all responses.
+     */
+    void clear();
+}
@@ -0,0 +1,85 @@
+package com.sdl.web.pca.client.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent reverse index from dependency tags to cache keys, for caches supporting
+ * {@link ResponseCache#invalidateTag(String)}.
+ */
+public final class TagIndex {
+    private final Map<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tagsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Records tags of a key, replacing tags recorded for it before.
+     *
+     * @param key  cache key
+     * @param tags tags of the key
+     */
+    public void put(String key, Collection<String> tags) {
+        remove(key);
+        if (tags.isEmpty()) {
+            return;
+        }
+        Set<String> copy = Collections.unmodifiableSet(new HashSet<>(tags));
+        tagsByKey.put(key, copy);
+        for (String tag : copy) {
+            // Keys are added and removed inside compute, so a set emptied concurrently is never written to
+            keysByTag.compute(tag, (t, keys) -> {
+                Set<String> result = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                result.add(key);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Forgets tags of a key.
+     *
+     * @param key cache key
+     */
+    public void remove(String key) {
+        Set<String> tags = tagsByKey.remove(key);
+        if (tags == null) {
+            return;
+        }
+        for (String tag : tags) {
+            keysByTag.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Returns tags recorded for a key.
+     *
+     * @param key cache key
+     * @return tags, empty if there are none
+     */
+    public Set<String> tagsOf(String key) {
+        Set<String> tags = tagsByKey.get(key);
+        return tags == null ? Collections.emptySet() : tags;
+    }
+
+    /**
+     * Returns keys tagged with given tag.
+     *
+     * @param tag dependency tag
+     * @return snapshot of tagged keys
+     */
+    public Set<String> keysOf(String tag) {
+        Set<String> keys = keysByTag.get(tag);
+        return keys == null ? Collections.emptySet() : new HashSet<>(keys);
+    }
+
+    public void clear() {
+        keysByTag.clear();
+        tagsByKey.clear();
+    }
+}
@@ -0,0 +1,28 @@
+package com.sdl.web.pca.client.cache;
+
+/**
+ * Receives progress of a {@link CacheWarmer} run. Methods are called from worker threads.
+ */
+public interface WarmUpListener {
+
+    /**
+     * Called after an entry is loaded.
+     *
+     * @param entry     loaded entry
+     * @param completed number of entries completed so far, including failed ones
+     * @param total     number of entries in the manifest
+     */
+    default void onLoaded(WarmUpManifest.Entry entry, int completed, int total) {
+    }
+
+    /**
+     * Called after an entry failed to load.
+     *
+     * @param entry     failed entry
+     * @param error     failure
+     * @param completed number of entries completed so far, including failed ones
+     * @param total     number of entries in the manifest
+     */
+    default void onFailed(WarmUpManifest.Entry entry, Exception error, int completed, int total) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.sdl.web.pca.client.cache;
+
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * List of pages, entities and publication mappings to preload with {@link CacheWarmer}.
+ * <p>
+ * Besides the builder methods a manifest may be read from text with one entry per line, where
+ * empty lines and lines starting with {@code #} are ignored:
+ * <pre>
+ * page Sites 5 /index.html
+ * entity Sites 5 1458 9195
+ * mapping Sites http://localhost:8882/
+ * </pre>
+ */
+public final class WarmUpManifest {
+    private final List<Entry> entries = new ArrayList<>();
+
+    public WarmUpManifest addPage(ContentNamespace ns, int publicationId, String url) {
+        entries.add(new Entry(Kind.PAGE, ns, publicationId, url, 0, 0));
+        return this;
+    }
+
+    public WarmUpManifest addEntity(ContentNamespace ns, int publicationId, int componentId, int templateId) {
+        entries.add(new Entry(Kind.ENTITY, ns, publicationId, null, componentId, templateId));
+        return this;
+    }
+
+    public WarmUpManifest addPublicationMapping(ContentNamespace ns, String url) {
+        entries.add(new Entry(Kind.PUBLICATION_MAPPING, ns, 0, url, 0, 0));
+        return this;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Reads manifest in text format.
+     *
+     * @param reader reader to read lines from
+     * @return manifest
+     * @throws IOException              in case of read failure
+     * @throws IllegalArgumentException in case of malformed line
+     */
+    public static WarmUpManifest read(BufferedReader reader) throws IOException {
+        WarmUpManifest manifest = new WarmUpManifest();
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                switch (parts[0]) {
+                    case "page":
+                        checkLength(parts, 4);
+                        manifest.addPage(namespace(parts[1]), Integer.parseInt(parts[2]), parts[3]);
+                        break;
+                    case "entity":
+                        checkLength(parts, 5);
+                        manifest.addEntity(namespace(parts[1]), Integer.parseInt(parts[2]),
+                                Integer.parseInt(parts[3]), Integer.parseInt(parts[4]));
+                        break;
+                    case "mapping":
+                        checkLength(parts, 3);
+                        manifest.addPublicationMapping(namespace(parts[1]), parts[2]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown entry type " + parts[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Malformed manifest line " + number + ": " + e.getMessage(), e);
+            }
+        }
+        return manifest;
+    }
+
+    private static void checkLength(String[] parts, int length) {
+        if (parts.length != length) {
+            throw new IllegalArgumentException("expected " + length + " values, got " + parts.length);
+        }
+    }
+
+    private static ContentNamespace namespace(String value) {
+        for (ContentNamespace ns : ContentNamespace.values()) {
+            if (ns.name().equalsIgnoreCase(value) || String.valueOf(ns.getNameSpaceValue()).equals(value)) {
+                return ns;
+            }
+        }
+        throw new IllegalArgumentException("unknown namespace " + value);
+    }
+
+    /**
+     * Type of manifest entry.
+     */
+    public enum Kind {
+        PAGE, ENTITY, PUBLICATION_MAPPING
+    }
+
+    /**
+     * Single manifest entry. Only fields relevant for its kind are set.
+     */
+    public static final class Entry {
+        private final Kind kind;
+        private final ContentNamespace namespace;
+        private final int publicationId;
+        private final String url;
+        private final int componentId;
+        private final int templateId;
+
+        private Entry(Kind kind, ContentNamespace namespace, int publicationId, String url, int componentId,
+                      int templateId) {
+            this.kind = kind;
+            this.namespace = namespace;
+            this.publicationId = publicationId;
+            this.url = url;
+            this.componentId = componentId;
+            this.templateId = templateId;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public ContentNamespace getNamespace() {
+            return namespace;
+        }
+
+        public int getPublicationId() {
+            return publicationId;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getComponentId() {
+            return componentId;
+        }
+
+        public int getTemplateId() {
+            return templateId;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case PAGE:
+                    return "page " + namespace + " " + publicationId + " " + url;
+                case ENTITY:
+                    return "entity " + namespace + " " + publicationId + " " + componentId + " " + templateId;
+                default:
+                    return "mapping " + namespace + " " + url;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sdl.web.pca.client.cache;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link CacheWarmer} run.
+ */
+public final class WarmUpResult {
+    private final int total;
+    private final int loaded;
+    private final Map<WarmUpManifest.Entry, Exception> failures;
+    private final long durationMillis;
+
+    WarmUpResult(int total, int loaded, Map<WarmUpManifest.Entry, Exception> failures, long durationMillis) {
+        this.total = total;
+        this.loaded = loaded;
+        this.failures = Collections.unmodifiableMap(failures);
+        this.durationMillis = durationMillis;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Returns entries which failed to load together with their failures.
+     *
+     * @return failed entries
+     */
+    public Map<WarmUpManifest.Entry, Exception> getFailures() {
+        return failures;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpResult{total=" + total + ", loaded=" + loaded + ", failed=" + failures.size() +
+                ", durationMillis=" + durationMillis + '}';
+    }
+}
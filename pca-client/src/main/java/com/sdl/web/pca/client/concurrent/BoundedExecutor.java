@@ -0,0 +1,61 @@
+package com.sdl.web.pca.client.concurrent;
+
+import com.sdl.web.pca.client.scheduling.RequestPriority;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor running at most given number of tasks at once on a delegate executor. Tasks above the limit are
+ * queued and started by finishing tasks, so no thread is blocked while waiting for a free slot.
+ * <p>
+ * Tasks execute their requests with the {@link RequestPriority} of the thread which submitted them.
+ */
+public final class BoundedExecutor implements Executor {
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public BoundedExecutor(Executor delegate, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency should be greater than 0, got " + maxConcurrency);
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queue.add(RequestPriority.current().wrap(command));
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) {
+                // A running task will pick up the queued one when it finishes
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    drain();
+                }
+            });
+        }
+    }
+}
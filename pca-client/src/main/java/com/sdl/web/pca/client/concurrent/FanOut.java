@@ -0,0 +1,78 @@
+package com.sdl.web.pca.client.concurrent;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.exception.ApiClientException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Runs independent blocking calls of {@link ApiClient} in parallel, for example entity models of all components of
+ * a page, and waits for all of them.
+ * <p>
+ * On Java 21 and later every call runs on its own virtual thread, which costs kilobytes of stack. Older runtimes run
+ * calls on a shared pool of platform threads, which is why the default number of calls in flight depends on the
+ * runtime. Either way, every call in flight holds its own connection to the service.
+ */
+public class FanOut {
+    public static final int DEFAULT_CONCURRENCY = FanOutThreads.DEFAULT_CONCURRENCY;
+
+    private final Executor executor;
+
+    public FanOut() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    public FanOut(int concurrency) {
+        this(FanOutThreads.EXECUTOR, concurrency);
+    }
+
+    /**
+     * @param executor    executor to run calls on
+     * @param concurrency maximum number of calls running at once
+     */
+    public FanOut(Executor executor, int concurrency) {
+        this.executor = new BoundedExecutor(executor, concurrency);
+    }
+
+    /**
+     * Tells whether default executor runs calls on virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isVirtualThreads() {
+        return FanOutThreads.VIRTUAL;
+    }
+
+    /**
+     * Applies call to every input in parallel and waits for all calls to complete.
+     *
+     * @param inputs inputs of calls
+     * @param call   call to apply
+     * @param <T>    input type
+     * @param <R>    result type
+     * @return results in the order of inputs
+     * @throws ApiClientException or another runtime exception thrown by a call, after all calls are complete
+     */
+    public <T, R> List<R> map(Collection<? extends T> inputs, Function<? super T, ? extends R> call) {
+        List<CompletableFuture<? extends R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(CompletableFuture.supplyAsync(() -> call.apply(input), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<? extends R> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sdl.web.pca.client.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Threads running {@link FanOut} calls on Java 8 to 20, which are pooled platform threads.
+ * <p>
+ * Java 21 and later use the variant of this class from {@code META-INF/versions/21} of the multi-release JAR.
+ */
+final class FanOutThreads {
+    static final boolean VIRTUAL = false;
+
+    /**
+     * Every call in flight holds a platform thread with its stack for the whole round trip.
+     */
+    static final int DEFAULT_CONCURRENCY = 16;
+
+    static final Executor EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("pca-fan-out-%d")
+            .setDaemon(true)
+            .build());
+
+    private FanOutThreads() {
+    }
+}
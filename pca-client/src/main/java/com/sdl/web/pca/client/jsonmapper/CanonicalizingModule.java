@@ -0,0 +1,208 @@
+package com.sdl.web.pca.client.jsonmapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Module which makes bound models share repeated values, such as custom meta keys, publication titles, URL prefixes
+ * and dates, instead of holding a separate copy of each of them.
+ * <p>
+ * Strings up to {@link #MAX_INTERNED_LENGTH} characters are interned in a bounded table, both in bound beans and
+ * in trees created with {@link #getNodeFactory()}. Instances of shared types which are read from the same JSON as
+ * a recently read one are replaced by that instance. Shared instances are used by many models at once, so only
+ * types which cannot be modified, with final fields only, may be shared; no type is shared by default, since the
+ * generated model beans have setters. Tables of a module are used by every mapper it is registered with.
+ */
+public class CanonicalizingModule extends SimpleModule {
+    public static final int DEFAULT_STRING_CAPACITY = 16384;
+    public static final int DEFAULT_OBJECT_CAPACITY = 1024;
+    public static final int MAX_INTERNED_LENGTH = 256;
+
+    private final InternTable<String, String> strings;
+    private final Map<Class<?>, InternTable<HashCode, Object>> sharedTypes = new HashMap<>();
+    private final JsonNodeFactory nodeFactory;
+
+    public CanonicalizingModule() {
+        this(DEFAULT_STRING_CAPACITY, DEFAULT_OBJECT_CAPACITY, Collections.emptyList());
+    }
+
+    /**
+     * @param stringCapacity maximum number of interned strings
+     * @param objectCapacity maximum number of shared instances of each shared type
+     * @param shared         types which instances may be shared, which should have final fields only
+     * @throws IllegalArgumentException if a shared type has a field which is not final
+     */
+    public CanonicalizingModule(int stringCapacity, int objectCapacity, Collection<Class<?>> shared) {
+        super(CanonicalizingModule.class.getName());
+        this.strings = new InternTable<>(stringCapacity);
+        for (Class<?> type : shared) {
+            checkUnmodifiable(type);
+            sharedTypes.put(type, new InternTable<>(objectCapacity));
+        }
+        this.nodeFactory = new InterningNodeFactory(this);
+        addDeserializer(String.class, new InterningStringDeserializer(this));
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                          JsonDeserializer<?> deserializer) {
+                InternTable<HashCode, Object> instances = sharedTypes.get(beanDesc.getBeanClass());
+                return instances == null ? deserializer : new SharingDeserializer(deserializer, instances);
+            }
+        });
+    }
+
+    @Override
+    public Object getTypeId() {
+        // Every instance has own tables, so registering another one on the same mapper should not be ignored
+        return this;
+    }
+
+    /**
+     * Returns node factory interning text values, to be set on the mapper this module is registered with.
+     *
+     * @return node factory
+     */
+    public JsonNodeFactory getNodeFactory() {
+        return nodeFactory;
+    }
+
+    /**
+     * Returns canonical instance of a string.
+     *
+     * @param value string
+     * @return equal string, possibly a previously seen instance
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_INTERNED_LENGTH) {
+            return value;
+        }
+        String canonical = strings.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        strings.put(value, value);
+        return value;
+    }
+
+    private static void checkUnmodifiable(Class<?> type) {
+        for (Class<?> declaring = type; declaring != null; declaring = declaring.getSuperclass()) {
+            for (Field field : declaring.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+                    throw new IllegalArgumentException("Instances of " + type.getName() + " cannot be shared, " +
+                            "field " + field.getName() + " is not final");
+                }
+            }
+        }
+    }
+
+    private static final class InterningStringDeserializer extends StdScalarDeserializer<String> {
+        private final transient CanonicalizingModule module;
+
+        private InterningStringDeserializer(CanonicalizingModule module) {
+            super(String.class);
+            this.module = module;
+        }
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                return module.intern(parser.getText());
+            }
+            // Coercions of other tokens are left to the default deserializer
+            return module.intern(StringDeserializer.instance.deserialize(parser, context));
+        }
+    }
+
+    private static final class InterningNodeFactory extends JsonNodeFactory {
+        private final transient CanonicalizingModule module;
+
+        private InterningNodeFactory(CanonicalizingModule module) {
+            super(false);
+            this.module = module;
+        }
+
+        @Override
+        public TextNode textNode(String text) {
+            return super.textNode(module.intern(text));
+        }
+    }
+
+    /**
+     * Reads objects of a shared type through a token buffer, hashing their tokens on the way. The 128 bit hash is
+     * the structural key of the shared instance, so tables do not keep the JSON of their instances.
+     */
+    private static final class SharingDeserializer extends DelegatingDeserializer {
+        private final InternTable<HashCode, Object> instances;
+
+        private SharingDeserializer(JsonDeserializer<?> delegatee, InternTable<HashCode, Object> instances) {
+            super(delegatee);
+            this.instances = instances;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new SharingDeserializer(newDelegatee, instances);
+        }
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.START_OBJECT)) {
+                return _delegatee.deserialize(parser, context);
+            }
+            TokenBuffer buffer = new TokenBuffer(parser, context);
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            int depth = 0;
+            do {
+                JsonToken token = parser.currentToken();
+                hasher.putInt(token.id());
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    depth--;
+                } else if (token.isScalarValue() || token == JsonToken.FIELD_NAME) {
+                    String text = parser.getText();
+                    hasher.putInt(text.length()).putUnencodedChars(text);
+                }
+                buffer.copyCurrentEvent(parser);
+            } while (depth > 0 && parser.nextToken() != null);
+
+            HashCode key = hasher.hash();
+            Object shared = instances.get(key);
+            if (shared != null) {
+                return shared;
+            }
+            try (JsonParser bufferParser = buffer.asParser(parser.getCodec())) {
+                bufferParser.nextToken();
+                Object value = _delegatee.deserialize(bufferParser, context);
+                if (value != null) {
+                    instances.put(key, value);
+                }
+                return value;
+            }
+        }
+    }
+}
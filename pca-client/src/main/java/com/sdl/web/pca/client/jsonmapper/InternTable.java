@@ -0,0 +1,68 @@
+package com.sdl.web.pca.client.jsonmapper;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free table of canonical values.
+ * <p>
+ * Every key hashes to a single slot and a newer entry simply replaces the one in its slot, so the table never
+ * grows beyond its capacity and never blocks. Losing an entry only means that a later equal value is not shared.
+ *
+ * @param <K> key type with structural equality
+ * @param <V> canonical value type
+ */
+final class InternTable<K, V> {
+    private final AtomicReferenceArray<Entry<K, V>> slots;
+    private final int mask;
+
+    /**
+     * @param capacity maximum number of entries, rounded up to a power of two
+     */
+    InternTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns canonical value stored for key.
+     *
+     * @param key key
+     * @return value or null if the key is not in the table
+     */
+    V get(K key) {
+        int hash = spread(key.hashCode());
+        Entry<K, V> entry = slots.get(hash & mask);
+        return entry != null && entry.hash == hash && entry.key.equals(key) ? entry.value : null;
+    }
+
+    /**
+     * Stores canonical value for key, evicting the entry sharing its slot.
+     *
+     * @param key   key
+     * @param value canonical value
+     */
+    void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        slots.set(hash & mask, new Entry<>(hash, key, value));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry<K, V> {
+        private final int hash;
+        private final K key;
+        private final V value;
+
+        private Entry(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.sdl.web.pca.client.mapping;
+
+import com.sdl.web.pca.client.contentmodel.generated.PublicationMapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of publication mappings by origin and path segments, which finds the mapping with the longest
+ * path matching a URL.
+ */
+final class MappingTrie {
+    static final MappingTrie EMPTY = new MappingTrie(Collections.emptyMap());
+
+    private final Map<String, Node> origins;
+
+    private MappingTrie(Map<String, Node> origins) {
+        this.origins = origins;
+    }
+
+    static MappingTrie build(Collection<PublicationMapping> mappings) {
+        Map<String, Node> origins = new HashMap<>();
+        for (PublicationMapping mapping : mappings) {
+            Node node = origins.computeIfAbsent(origin(mapping.getProtocol(), mapping.getDomain(),
+                    mapping.getPort()), key -> new Node());
+            for (String segment : segments(mapping.getPath())) {
+                node = node.child(segment);
+            }
+            node.mapping = mapping;
+        }
+        for (Node node : origins.values()) {
+            node.compact();
+        }
+        return new MappingTrie(origins);
+    }
+
+    /**
+     * Returns mapping with the longest path which is a prefix of the URL path, in whole segments.
+     *
+     * @param url absolute URL
+     * @return mapping or null if no mapping matches
+     */
+    PublicationMapping match(String url) {
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd <= 0) {
+            return null;
+        }
+        int authorityStart = schemeEnd + 3;
+        int pathStart = authorityStart;
+        while (pathStart < url.length() && "/?#".indexOf(url.charAt(pathStart)) < 0) {
+            pathStart++;
+        }
+        String authority = url.substring(authorityStart, pathStart);
+        int portStart = authority.lastIndexOf(':');
+        if (portStart < authority.lastIndexOf(']')) {
+            portStart = -1;
+        }
+        String host = portStart < 0 ? authority : authority.substring(0, portStart);
+        String port = portStart < 0 ? null : authority.substring(portStart + 1);
+        Node node = origins.get(origin(url.substring(0, schemeEnd), host, port));
+        if (node == null) {
+            return null;
+        }
+        PublicationMapping best = node.mapping;
+        int pathEnd = pathStart;
+        while (pathEnd < url.length() && url.charAt(pathEnd) != '?' && url.charAt(pathEnd) != '#') {
+            pathEnd++;
+        }
+        int start = pathStart;
+        while (start < pathEnd) {
+            int end = url.indexOf('/', start);
+            if (end < 0 || end > pathEnd) {
+                end = pathEnd;
+            }
+            if (end > start) {
+                node = node.children.get(url.substring(start, end));
+                if (node == null) {
+                    break;
+                }
+                if (node.mapping != null) {
+                    best = node.mapping;
+                }
+            }
+            start = end + 1;
+        }
+        return best;
+    }
+
+    int size() {
+        int size = 0;
+        for (Node node : origins.values()) {
+            size += node.size();
+        }
+        return size;
+    }
+
+    static String origin(String protocol, String host, String port) {
+        String scheme = protocol == null ? "http" : protocol.toLowerCase();
+        String effectivePort = port == null || port.isEmpty() ? defaultPort(scheme) : port;
+        return scheme + "://" + (host == null ? "" : host.toLowerCase()) + ":" + effectivePort;
+    }
+
+    private static String defaultPort(String scheme) {
+        return "https".equals(scheme) ? "443" : "80";
+    }
+
+    private static List<String> segments(String path) {
+        if (path == null) {
+            return Collections.emptyList();
+        }
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static final class Node {
+        private Map<String, Node> children = Collections.emptyMap();
+        private PublicationMapping mapping;
+
+        private Node child(String segment) {
+            if (children.isEmpty()) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private void compact() {
+            // Most nodes have a single child, which does not need a hash table
+            if (children.size() == 1) {
+                Map.Entry<String, Node> child = children.entrySet().iterator().next();
+                children = Collections.singletonMap(child.getKey(), child.getValue());
+            }
+            for (Node child : children.values()) {
+                child.compact();
+            }
+        }
+
+        private int size() {
+            int size = mapping == null ? 0 : 1;
+            for (Node child : children.values()) {
+                size += child.size();
+            }
+            return size;
+        }
+    }
+}
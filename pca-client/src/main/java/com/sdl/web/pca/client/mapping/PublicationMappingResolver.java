@@ -0,0 +1,188 @@
+package com.sdl.web.pca.client.mapping;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.concurrent.FanOut;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationMapping;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.scheduling.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps URLs of a namespace to publications locally, instead of calling {@link ApiClient#getPublicationMapping}
+ * for every incoming request.
+ * <p>
+ * The content service does not list publication mappings, so they are loaded by resolving base URLs of all sites
+ * once, see {@link #load}. Mappings are indexed in a trie by origin and path segments, and a URL is mapped to the
+ * mapping with the longest matching path. URLs no loaded mapping matches are resolved by the content service and
+ * the mapping found is added to the index. Loaded mappings can be refreshed in the background.
+ * <p>
+ * A URL is mapped locally as soon as any mapping of its origin matches it, so base URLs of all sites sharing an
+ * origin should be loaded up front, otherwise a URL of a site with a longer path may be mapped to the site with
+ * a shorter path until the former is loaded.
+ */
+public class PublicationMappingResolver implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PublicationMappingResolver.class);
+
+    private final ApiClient client;
+    private final ContentNamespace ns;
+    private final FanOut fanOut;
+    private final Map<String, PublicationMapping> mappings = new LinkedHashMap<>();
+
+    private volatile MappingTrie trie = MappingTrie.EMPTY;
+    private ScheduledExecutorService refresher;
+
+    public PublicationMappingResolver(ApiClient client, ContentNamespace ns) {
+        this(client, ns, new FanOut());
+    }
+
+    /**
+     * @param client client to load mappings with
+     * @param ns     namespace
+     * @param fanOut runs requests of bulk loads
+     */
+    public PublicationMappingResolver(ApiClient client, ContentNamespace ns, FanOut fanOut) {
+        this.client = client;
+        this.ns = ns;
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Loads mappings of site URLs in parallel and adds them to the index.
+     *
+     * @param siteUrls base URLs of sites
+     * @return number of mappings in the index
+     * @throws ApiClientException if a mapping cannot be loaded, in which case the index is not changed
+     */
+    public int load(Collection<String> siteUrls) throws ApiClientException {
+        List<PublicationMapping> loaded = fanOut.map(siteUrls, url -> client.getPublicationMapping(ns, url));
+        return index(loaded, Collections.emptyMap());
+    }
+
+    /**
+     * Loads all mappings in the index again, replacing them once all of them are loaded. Mappings added while the
+     * refresh runs are kept.
+     *
+     * @return number of mappings in the index
+     * @throws ApiClientException if a mapping cannot be loaded, in which case the index is not changed
+     */
+    public int refresh() throws ApiClientException {
+        Map<String, PublicationMapping> snapshot;
+        synchronized (mappings) {
+            snapshot = new LinkedHashMap<>(mappings);
+        }
+        List<PublicationMapping> loaded = fanOut.map(new ArrayList<>(snapshot.keySet()),
+                url -> client.getPublicationMapping(ns, url));
+        return index(loaded, snapshot);
+    }
+
+    /**
+     * Refreshes mappings periodically on a background thread with {@link RequestPriority#BACKGROUND} priority, until
+     * the resolver is closed. Failed refreshes are logged and the index is kept.
+     *
+     * @param period time between refreshes
+     * @param unit   unit of period
+     */
+    public synchronized void startRefresh(long period, TimeUnit unit) {
+        if (refresher != null) {
+            throw new IllegalStateException("Refresh is already started");
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("pca-publication-mapping-refresh-%d")
+                .setDaemon(true)
+                .build());
+        refresher.scheduleWithFixedDelay(RequestPriority.BACKGROUND.wrap(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to refresh publication mappings of namespace {}", ns, e);
+            }
+        }), period, period, unit);
+    }
+
+    /**
+     * Maps URL to a publication, asking the content service only when no loaded mapping matches.
+     *
+     * @param url absolute URL
+     * @return mapping or null if the content service does not map the URL either
+     * @throws ApiClientException in case of exception
+     */
+    public PublicationMapping resolve(String url) throws ApiClientException {
+        PublicationMapping mapping = trie.match(url);
+        if (mapping != null) {
+            return mapping;
+        }
+        mapping = client.getPublicationMapping(ns, url);
+        if (mapping != null) {
+            index(Collections.singletonList(mapping), Collections.emptyMap());
+        }
+        return mapping;
+    }
+
+    /**
+     * Maps URL to a publication using loaded mappings only.
+     *
+     * @param url absolute URL
+     * @return mapping or null if no loaded mapping matches
+     */
+    public PublicationMapping resolveLocally(String url) {
+        return trie.match(url);
+    }
+
+    /**
+     * Returns number of loaded mappings.
+     *
+     * @return number of mappings in the index
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Stops background refresh.
+     */
+    @Override
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    /**
+     * Adds loaded mappings to the index, replacing the mappings they were loaded again for. Mappings added since
+     * the replaced ones were read, by {@link #resolve} for example, are kept.
+     */
+    private int index(List<PublicationMapping> loaded, Map<String, PublicationMapping> replaced) {
+        synchronized (mappings) {
+            for (Map.Entry<String, PublicationMapping> entry : replaced.entrySet()) {
+                mappings.remove(entry.getKey(), entry.getValue());
+            }
+            for (PublicationMapping mapping : loaded) {
+                if (mapping != null) {
+                    mappings.put(baseUrl(mapping), mapping);
+                }
+            }
+            trie = MappingTrie.build(mappings.values());
+            return mappings.size();
+        }
+    }
+
+    private static String baseUrl(PublicationMapping mapping) {
+        String port = mapping.getPort() == null || mapping.getPort().isEmpty() ? "" : ":" + mapping.getPort();
+        String path = mapping.getPath() == null ? "/" : mapping.getPath();
+        return mapping.getProtocol() + "://" + mapping.getDomain() + port + (path.startsWith("/") ? "" : "/") + path;
+    }
+}
@@ -9,7 +9,46 @@ import com.sdl.web.pca.client.contentmodel.enums.TcdlLinkRendering;
 import com.sdl.web.pca.client.contentmodel.generated.ClaimValue;
 import com.sdl.web.pca.client.contentmodel.generated.ClaimValueType;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ClaimHelper {
+    private static final Map<Enum<?>, ClaimValue> SHARED_CLAIMS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns claim for an enum setting, creating it once per value. The claim is shared by all callers and
+     * all clients, so it must be treated as read only; use {@link #copyClaim(ClaimValue)} to get one to modify.
+     *
+     * @param setting one of ContentType, DataModelType, PageInclusion, DcpType, TcdlLinkRendering or
+     *                ModelServiceLinkRendering values
+     * @return shared claim
+     */
+    public static ClaimValue sharedClaim(Enum<?> setting) {
+        ClaimValue claim = SHARED_CLAIMS.get(setting);
+        return claim != null ? claim : SHARED_CLAIMS.computeIfAbsent(setting, ClaimHelper::createClaim);
+    }
+
+    private static ClaimValue createClaim(Enum<?> setting) {
+        if (setting instanceof ContentType) {
+            return createClaim((ContentType) setting);
+        }
+        if (setting instanceof DataModelType) {
+            return createClaim((DataModelType) setting);
+        }
+        if (setting instanceof PageInclusion) {
+            return createClaim((PageInclusion) setting);
+        }
+        if (setting instanceof DcpType) {
+            return createClaim((DcpType) setting);
+        }
+        if (setting instanceof TcdlLinkRendering) {
+            return createClaim((TcdlLinkRendering) setting);
+        }
+        if (setting instanceof ModelServiceLinkRendering) {
+            return createClaim((ModelServiceLinkRendering) setting);
+        }
+        throw new IllegalArgumentException("No claim for " + setting.getClass().getName());
+    }
 
     public static ClaimValue createClaim(ModelServiceLinkRendering linkRendering) {
         return createClaimInternal(ModelServiceClaimUris.MODEL_SERVICE_LINK_RENDERING,
@@ -59,6 +98,16 @@ public class ClaimHelper {
                 ClaimValueType.STRING);
     }
 
+    /**
+     * Returns a copy of a claim, which can be modified without affecting the original one.
+     *
+     * @param claim claim
+     * @return new claim with the same type, URI and value
+     */
+    public static ClaimValue copyClaim(ClaimValue claim) {
+        return createClaimInternal(claim.getUri(), claim.getValue(), claim.getType());
+    }
+
     private static ClaimValue createClaimInternal(String uri, String value, ClaimValueType type) {
         ClaimValue claim = new ClaimValue();
         claim.setType(type);
@@ -0,0 +1,158 @@
+package com.sdl.web.pca.client.paging;
+
+import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.scheduling.RequestPriority;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Iterates over all edges of a cursor based connection, page by page.
+ * <p>
+ * While a page is being consumed, up to {@code prefetchDepth} following pages are requested in the background.
+ * Every page is requested with the cursor of the last edge of the page before it, and iteration stops at the
+ * first empty page. Closing the iterator cancels prefetches that did not start yet. Pages are requested with the
+ * {@link RequestPriority} of the thread which created the iterator.
+ *
+ * @param <E> type of connection edge
+ */
+public class PagedIterator<E> implements Iterator<E>, AutoCloseable {
+    private final PageLoader<E> loader;
+    private final Function<E, String> cursorOf;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final Executor executor;
+
+    private final Deque<CompletableFuture<List<E>>> pending = new ArrayDeque<>();
+    private Iterator<E> current = Collections.emptyIterator();
+    private List<E> lastPage = Collections.emptyList();
+    private boolean finished;
+
+    /**
+     * Creates iterator and immediately requests the first page.
+     *
+     * @param loader        loads single page for given pagination
+     * @param cursorOf      extracts cursor from an edge
+     * @param pageSize      number of edges to request per page
+     * @param prefetchDepth number of pages to request ahead of the page being consumed
+     * @param executor      executor to load pages on
+     */
+    public PagedIterator(PageLoader<E> loader, Function<E, String> cursorOf, int pageSize, int prefetchDepth,
+                         Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size should be greater than 0, got " + pageSize);
+        }
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("Prefetch depth should not be negative, got " + prefetchDepth);
+        }
+        this.loader = loader;
+        this.cursorOf = cursorOf;
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        RequestPriority priority = RequestPriority.current();
+        this.executor = task -> executor.execute(priority.wrap(task));
+        pending.add(CompletableFuture.supplyAsync(() -> load(null), this.executor));
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            List<E> page = takeNextPage();
+            if (page.isEmpty()) {
+                close();
+                return false;
+            }
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops iteration and cancels page requests that did not start yet.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        current = Collections.emptyIterator();
+        for (CompletableFuture<List<E>> page : pending) {
+            page.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private List<E> takeNextPage() {
+        CompletableFuture<List<E>> next = pending.poll();
+        if (next == null) {
+            // No prefetching, load following page on demand
+            next = CompletableFuture.completedFuture(lastPage).thenApplyAsync(this::loadAfter, executor);
+        }
+        // Chain requests for following pages before waiting, so they run while this page is consumed
+        CompletableFuture<List<E>> last = pending.isEmpty() ? next : pending.peekLast();
+        while (pending.size() < prefetchDepth) {
+            last = last.thenApplyAsync(this::loadAfter, executor);
+            pending.add(last);
+        }
+        try {
+            lastPage = next.join();
+            return lastPage;
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ApiClientException("Unable to load page", e.getCause());
+        }
+    }
+
+    private List<E> loadAfter(List<E> previous) {
+        if (previous.isEmpty()) {
+            return previous;
+        }
+        return load(cursorOf.apply(previous.get(previous.size() - 1)));
+    }
+
+    private List<E> load(String after) {
+        Pagination pagination = new Pagination();
+        pagination.setFirst(pageSize);
+        pagination.setAfter(after);
+        List<E> page = loader.load(pagination);
+        return page == null ? Collections.emptyList() : page;
+    }
+
+    /**
+     * Loads a single page of edges.
+     *
+     * @param <E> type of connection edge
+     */
+    @FunctionalInterface
+    public interface PageLoader<E> {
+
+        /**
+         * Loads edges of a page.
+         *
+         * @param pagination pagination of the page
+         * @return edges of the page, empty or null if there are no more edges
+         */
+        List<E> load(Pagination pagination);
+    }
+}
@@ -0,0 +1,252 @@
+package com.sdl.web.pca.client.paging;
+
+import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.scheduling.RequestPriority;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publishes all edges of a cursor based connection to subscribers with backpressure.
+ * <p>
+ * Every subscription loads pages independently, starting from the first one. A page is only requested when all
+ * edges of the previous page have been emitted and the subscriber still has outstanding demand, so at most one
+ * page per subscription is held in memory regardless of the size of the result. Publishing completes at the first
+ * empty page. Pages are requested with the {@link RequestPriority} of the thread which created the publisher.
+ * <p>
+ * {@link Subscriber} and {@link Subscription} have the same methods and follow the same rules as their
+ * counterparts in Reactive Streams and {@code java.util.concurrent.Flow}, which are not available on Java 8, so
+ * adapting them takes a method reference per method.
+ *
+ * @param <E> type of connection edge
+ */
+public class PagedPublisher<E> {
+    private final PagedIterator.PageLoader<E> loader;
+    private final Function<E, String> cursorOf;
+    private final int pageSize;
+    private final Executor executor;
+
+    /**
+     * @param loader   loads single page for given pagination
+     * @param cursorOf extracts cursor from an edge
+     * @param pageSize number of edges to request per page
+     * @param executor executor to load pages on
+     */
+    public PagedPublisher(PagedIterator.PageLoader<E> loader, Function<E, String> cursorOf, int pageSize,
+                          Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size should be greater than 0, got " + pageSize);
+        }
+        this.loader = loader;
+        this.cursorOf = cursorOf;
+        this.pageSize = pageSize;
+        RequestPriority priority = RequestPriority.current();
+        this.executor = task -> executor.execute(priority.wrap(task));
+    }
+
+    /**
+     * Subscribes to edges. Nothing is loaded until the subscriber requests edges.
+     *
+     * @param subscriber subscriber
+     */
+    public void subscribe(Subscriber<? super E> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber should not be null");
+        subscriber.onSubscribe(new PageSubscription<>(this, subscriber));
+    }
+
+    private List<E> load(String after) {
+        Pagination pagination = new Pagination();
+        pagination.setFirst(pageSize);
+        pagination.setAfter(after);
+        List<E> page = loader.load(pagination);
+        return page == null ? Collections.emptyList() : page;
+    }
+
+    /**
+     * Receives edges of a subscription.
+     *
+     * @param <T> type of edge
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Called once before any other method.
+         *
+         * @param subscription subscription to request edges with
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called for every edge, never more times than requested.
+         *
+         * @param item edge
+         */
+        void onNext(T item);
+
+        /**
+         * Called when a page cannot be loaded or the subscription is misused. No other method is called afterwards.
+         *
+         * @param throwable failure
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called when all edges have been emitted. No other method is called afterwards.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Demand of a subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Requests more edges. Demand is accumulated, {@link Long#MAX_VALUE} means unbounded.
+         *
+         * @param n number of edges, should be positive
+         */
+        void request(long n);
+
+        /**
+         * Stops emitting edges. Pages which are being loaded are still loaded, but dropped.
+         */
+        void cancel();
+    }
+
+    /**
+     * Emits edges from a single drain loop, which is entered by whichever thread requests edges or completes a page
+     * load. Other threads only record their work and let the thread in the loop pick it up.
+     */
+    private static final class PageSubscription<E> implements Subscription {
+        private final PagedPublisher<E> publisher;
+        private final Subscriber<? super E> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile List<E> loaded;
+        private volatile Throwable error;
+        private volatile CompletableFuture<Void> pendingLoad;
+
+        // Accessed from the drain loop only
+        private List<E> page = Collections.emptyList();
+        private int index;
+        private boolean loading;
+        private boolean started;
+
+        private PageSubscription(PagedPublisher<E> publisher, Subscriber<? super E> subscriber) {
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Number of requested edges should be positive, got " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE
+                        : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            CompletableFuture<Void> load = pendingLoad;
+            if (load != null) {
+                load.cancel(false);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!emit()) {
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emits as many edges as demanded and available.
+         *
+         * @return false if the subscription is terminated
+         */
+        private boolean emit() {
+            while (!cancelled) {
+                Throwable failure = error;
+                if (failure != null) {
+                    terminate();
+                    subscriber.onError(failure);
+                    return false;
+                }
+                if (loading) {
+                    List<E> result = loaded;
+                    if (result == null) {
+                        return true;
+                    }
+                    loading = false;
+                    loaded = null;
+                    if (result.isEmpty()) {
+                        terminate();
+                        subscriber.onComplete();
+                        return false;
+                    }
+                    page = result;
+                    index = 0;
+                }
+                long demand = requested.get();
+                if (demand == 0) {
+                    return true;
+                }
+                if (index < page.size()) {
+                    if (demand != Long.MAX_VALUE) {
+                        requested.decrementAndGet();
+                    }
+                    subscriber.onNext(page.get(index++));
+                } else {
+                    loadNextPage();
+                }
+            }
+            page = Collections.emptyList();
+            return false;
+        }
+
+        private void loadNextPage() {
+            String after = started ? publisher.cursorOf.apply(page.get(page.size() - 1)) : null;
+            started = true;
+            loading = true;
+            // Release edges of the emitted page while the next one is loaded
+            page = Collections.emptyList();
+            index = 0;
+            pendingLoad = CompletableFuture.supplyAsync(() -> publisher.load(after), publisher.executor)
+                    .handle((result, failure) -> {
+                        if (failure != null) {
+                            error = failure instanceof CompletionException && failure.getCause() != null
+                                    ? failure.getCause() : failure;
+                        } else {
+                            loaded = result;
+                        }
+                        drain();
+                        return null;
+                    });
+        }
+
+        private void terminate() {
+            cancelled = true;
+            page = Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.sdl.web.pca.client.paging;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentationConnection;
+import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentationEdge;
+import com.sdl.web.pca.client.contentmodel.generated.InputComponentPresentationFilter;
+import com.sdl.web.pca.client.contentmodel.generated.InputItemFilter;
+import com.sdl.web.pca.client.contentmodel.generated.InputPublicationFilter;
+import com.sdl.web.pca.client.contentmodel.generated.InputSortParam;
+import com.sdl.web.pca.client.contentmodel.generated.ItemConnection;
+import com.sdl.web.pca.client.contentmodel.generated.ItemEdge;
+import com.sdl.web.pca.client.contentmodel.generated.PageConnection;
+import com.sdl.web.pca.client.contentmodel.generated.PageEdge;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationConnection;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationEdge;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over all edges of connection queries of {@link ApiClient}, following edge cursors automatically.
+ * <p>
+ * Iterators returned by this class request the next pages in the background while the current page is being
+ * consumed. Close iterators and streams which are not consumed to the end, so prefetched pages are not requested.
+ */
+public class Paginator {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_PREFETCH_DEPTH = 1;
+
+    private static final Executor DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("pca-paginator-%d")
+            .setDaemon(true)
+            .build());
+
+    private final ApiClient client;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final Executor executor;
+
+    public Paginator(ApiClient client) {
+        this(client, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_DEPTH);
+    }
+
+    public Paginator(ApiClient client, int pageSize, int prefetchDepth) {
+        this(client, pageSize, prefetchDepth, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param client        client to execute queries with
+     * @param pageSize      number of edges requested per page
+     * @param prefetchDepth number of pages requested ahead of the page being consumed, 0 disables prefetching
+     * @param executor      executor to request pages on
+     */
+    public Paginator(ApiClient client, int pageSize, int prefetchDepth, Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size should be greater than 0, got " + pageSize);
+        }
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("Prefetch depth should not be negative, got " + prefetchDepth);
+        }
+        this.client = client;
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        this.executor = executor;
+    }
+
+    /**
+     * Iterates over all results of an item query.
+     *
+     * @see ApiClient#executeItemQuery
+     */
+    public PagedIterator<ItemEdge> items(InputItemFilter filter, InputSortParam sort, String customMetaFilter,
+                                         ContentIncludeMode contentIncludeMode, boolean includeContainerItems,
+                                         ContextData contextData) {
+        return edges(pagination -> {
+            ItemConnection connection = client.executeItemQuery(filter, sort, pagination, customMetaFilter,
+                    contentIncludeMode, includeContainerItems, contextData);
+            return connection == null ? null : connection.getEdges();
+        }, ItemEdge::getCursor);
+    }
+
+    /**
+     * Iterates over all publications matching given filter.
+     *
+     * @see ApiClient#getPublications
+     */
+    public PagedIterator<PublicationEdge> publications(ContentNamespace ns, InputPublicationFilter filter,
+                                                       String customMetaFilter, ContextData contextData) {
+        return edges(pagination -> {
+            PublicationConnection connection = client.getPublications(ns, pagination, filter, customMetaFilter,
+                    contextData);
+            return connection == null ? null : connection.getEdges();
+        }, PublicationEdge::getCursor);
+    }
+
+    /**
+     * Iterates over all component presentations of a publication matching given filter.
+     *
+     * @see ApiClient#getComponentPresentations
+     */
+    public PagedIterator<ComponentPresentationEdge> componentPresentations(ContentNamespace ns, int publicationId,
+                                                                           InputComponentPresentationFilter filter,
+                                                                           InputSortParam sort,
+                                                                           String customMetaFilter,
+                                                                           ContentIncludeMode contentIncludeMode,
+                                                                           ContextData contextData) {
+        return edges(pagination -> {
+            ComponentPresentationConnection connection = client.getComponentPresentations(ns, publicationId, filter,
+                    sort, pagination, customMetaFilter, contentIncludeMode, contextData);
+            return connection == null ? null : connection.getEdges();
+        }, ComponentPresentationEdge::getCursor);
+    }
+
+    /**
+     * Iterates over all pages with given URL.
+     *
+     * @see ApiClient#getPages
+     */
+    public PagedIterator<PageEdge> pages(ContentNamespace ns, String url, String customMetaFilter,
+                                         ContentIncludeMode contentIncludeMode, ContextData contextData) {
+        return edges(pagination -> {
+            PageConnection connection = client.getPages(ns, pagination, url, customMetaFilter, contentIncludeMode,
+                    contextData);
+            return connection == null ? null : connection.getEdges();
+        }, PageEdge::getCursor);
+    }
+
+    /**
+     * Iterates over edges of an arbitrary connection using page size, prefetch depth and executor of this paginator.
+     *
+     * @param loader   loads single page for given pagination
+     * @param cursorOf extracts cursor from an edge
+     * @param <E>      type of connection edge
+     * @return iterator over all edges
+     */
+    public <E> PagedIterator<E> edges(PagedIterator.PageLoader<E> loader, Function<E, String> cursorOf) {
+        return new PagedIterator<>(loader, cursorOf, pageSize, prefetchDepth, executor);
+    }
+
+    /**
+     * Publishes all results of an item query with backpressure, loading pages only as subscribers demand edges.
+     *
+     * @see ApiClient#executeItemQuery
+     */
+    public PagedPublisher<ItemEdge> itemPublisher(InputItemFilter filter, InputSortParam sort,
+                                                  String customMetaFilter, ContentIncludeMode contentIncludeMode,
+                                                  boolean includeContainerItems, ContextData contextData) {
+        return publisher(pagination -> {
+            ItemConnection connection = client.executeItemQuery(filter, sort, pagination, customMetaFilter,
+                    contentIncludeMode, includeContainerItems, contextData);
+            return connection == null ? null : connection.getEdges();
+        }, ItemEdge::getCursor);
+    }
+
+    /**
+     * Publishes all publications matching given filter with backpressure, loading pages only as subscribers demand
+     * edges.
+     *
+     * @see ApiClient#getPublications
+     */
+    public PagedPublisher<PublicationEdge> publicationPublisher(ContentNamespace ns, InputPublicationFilter filter,
+                                                                String customMetaFilter, ContextData contextData) {
+        return publisher(pagination -> {
+            PublicationConnection connection = client.getPublications(ns, pagination, filter, customMetaFilter,
+                    contextData);
+            return connection == null ? null : connection.getEdges();
+        }, PublicationEdge::getCursor);
+    }
+
+    /**
+     * Publishes edges of an arbitrary connection using page size and executor of this paginator. Prefetch depth
+     * does not apply, since pages are loaded on demand of subscribers.
+     *
+     * @param loader   loads single page for given pagination
+     * @param cursorOf extracts cursor from an edge
+     * @param <E>      type of connection edge
+     * @return publisher of all edges
+     */
+    public <E> PagedPublisher<E> publisher(PagedIterator.PageLoader<E> loader, Function<E, String> cursorOf) {
+        return new PagedPublisher<>(loader, cursorOf, pageSize, executor);
+    }
+
+    /**
+     * Wraps paged iterator into a sequential stream. Closing the stream closes the iterator.
+     *
+     * @param iterator iterator to wrap
+     * @param <E>      type of connection edge
+     * @return stream of edges
+     */
+    public static <E> Stream<E> stream(PagedIterator<E> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+}
@@ -0,0 +1,536 @@
+package com.sdl.web.pca.client.query;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minified queries and fragments generated by QueryCompiler of the tests. Do not edit.
+ */
+final class CompiledQueries {
+    static final Map<String, String> QUERIES = new HashMap<>();
+    static final Map<String, String> FRAGMENTS = new HashMap<>();
+
+    static {
+        QUERIES.put("BinaryComponentByCmUri",
+                "query binaryComponent($namespaceId:Int!,$publicationId:Int!,$cmUri:String,$contextData:[InputClaimValue!]){\n" +
+                "binaryComponent(namespaceId:$namespaceId,publicationId:$publicationId,cmUri:$cmUri,contextData:$contextData){\n" +
+                "...ItemFields\n" +
+                "...BinaryComponentFields\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("BinaryComponentById",
+                "query binaryComponent($namespaceId:Int!,$publicationId:Int!,$binaryId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "binaryComponent(namespaceId:$namespaceId,publicationId:$publicationId,binaryId:$binaryId,contextData:$contextData){\n" +
+                "...ItemFields\n" +
+                "...BinaryComponentFields\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("BinaryComponentByUrl",
+                "query binaryComponent($namespaceId:Int!,$publicationId:Int!,$url:String,$contextData:[InputClaimValue!]){\n" +
+                "binaryComponent(namespaceId:$namespaceId,publicationId:$publicationId,url:$url,contextData:$contextData){\n" +
+                "...ItemFields\n" +
+                "...BinaryComponentFields\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ComponentPresentation",
+                "query componentPresentation($namespaceId:Int!,$publicationId:Int!,$componentId:Int!,$templateId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "componentPresentation(namespaceId:$namespaceId,publicationId:$publicationId,componentId:$componentId,templateId:$templateId,contextData:$contextData){\n" +
+                "...ComponentPresentationFields\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ComponentPresentations",
+                "query componentPresentations($namespaceId:Int!,$publicationId:Int!,$first:Int,$after:String,$filter:InputComponentPresentationFilter!,$sort:InputSortParam,$contextData:[InputClaimValue!]){\n" +
+                "componentPresentations(namespaceId:$namespaceId,publicationId:$publicationId,first:$first,after:$after,filter:$filter,sort:$sort,contextData:$contextData){\n" +
+                "edges{\n" +
+                "cursor\n" +
+                "node{\n" +
+                "...ComponentPresentationFields\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("EntityModelById",
+                "query componentPresentation($namespaceId:Int!,$publicationId:Int!,$componentId:Int!,$templateId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "componentPresentation(namespaceId:$namespaceId,publicationId:$publicationId,componentId:$componentId,templateId:$templateId,contextData:$contextData){\n" +
+                "itemId\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("IntrospectionQuery",
+                "query IntrospectionQuery{\n" +
+                "__schema{\n" +
+                "queryType{\n" +
+                "name\n" +
+                "},\n" +
+                "mutationType{\n" +
+                "name\n" +
+                "},\n" +
+                "subscriptionType{\n" +
+                "name\n" +
+                "},\n" +
+                "types{\n" +
+                "...FullType\n" +
+                "},\n" +
+                "directives{\n" +
+                "name,\n" +
+                "description,\n" +
+                "args{\n" +
+                "...InputValue\n" +
+                "},\n" +
+                "onOperation,\n" +
+                "onFragment,\n" +
+                "onField\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "fragment FullType on __Type{\n" +
+                "kind,\n" +
+                "name,\n" +
+                "description,\n" +
+                "fields(includeDeprecated:true){\n" +
+                "name,\n" +
+                "description,\n" +
+                "args{\n" +
+                "...InputValue\n" +
+                "},\n" +
+                "type{\n" +
+                "...TypeRef\n" +
+                "},\n" +
+                "isDeprecated,\n" +
+                "deprecationReason\n" +
+                "},\n" +
+                "inputFields{\n" +
+                "...InputValue\n" +
+                "},\n" +
+                "interfaces{\n" +
+                "...TypeRef\n" +
+                "},\n" +
+                "enumValues(includeDeprecated:true){\n" +
+                "name,\n" +
+                "description,\n" +
+                "isDeprecated,\n" +
+                "deprecationReason\n" +
+                "},\n" +
+                "possibleTypes{\n" +
+                "...TypeRef\n" +
+                "}\n" +
+                "}\n" +
+                "fragment InputValue on __InputValue{\n" +
+                "name,\n" +
+                "description,\n" +
+                "type{\n" +
+                "...TypeRef\n" +
+                "},\n" +
+                "defaultValue\n" +
+                "}\n" +
+                "fragment TypeRef on __Type{\n" +
+                "kind,\n" +
+                "name,\n" +
+                "ofType{\n" +
+                "kind,\n" +
+                "name,\n" +
+                "ofType{\n" +
+                "kind,\n" +
+                "name,\n" +
+                "ofType{\n" +
+                "kind,\n" +
+                "name\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ItemQuery",
+                "query items($first:Int,$after:String,$inputItemFilter:InputItemFilter!,$inputSortParam:InputSortParam,$contextData:[InputClaimValue!]){\n" +
+                "items(first:$first,after:$after,filter:$inputItemFilter,sort:$inputSortParam,contextData:$contextData){\n" +
+                "edges{\n" +
+                "cursor\n" +
+                "node{\n" +
+                "...ItemFields\n" +
+                "@fragmentList\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PageByCmUri",
+                "query page($namespaceId:Int!,$publicationId:Int!,$cmUri:String,$contextData:[InputClaimValue!]){\n" +
+                "page(namespaceId:$namespaceId,publicationId:$publicationId,cmUri:$cmUri,contextData:$contextData){\n" +
+                "...PageItemFields\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PageById",
+                "query page($namespaceId:Int!,$publicationId:Int!,$pageId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "page(namespaceId:$namespaceId,publicationId:$publicationId,pageId:$pageId,contextData:$contextData){\n" +
+                "...PageItemFields\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PageByUrl",
+                "query page($namespaceId:Int!,$publicationId:Int!,$url:String,$contextData:[InputClaimValue!]){\n" +
+                "page(namespaceId:$namespaceId,publicationId:$publicationId,url:$url,contextData:$contextData){\n" +
+                "...PageItemFields\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PageModelById",
+                "query page($pageId:Int!,$namespaceId:Int!,$publicationId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "page(pageId:$pageId,namespaceId:$namespaceId,publicationId:$publicationId,contextData:$contextData){\n" +
+                "itemId\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PageModelByUrl",
+                "query page($namespaceId:Int!,$publicationId:Int!,$url:String,$contextData:[InputClaimValue!]){\n" +
+                "page(namespaceId:$namespaceId,publicationId:$publicationId,url:$url,contextData:$contextData){\n" +
+                "itemId\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PagesByUrl",
+                "query pages($namespaceId:Int!,$first:Int,$after:String,$url:String!,$contextData:[InputClaimValue!]){\n" +
+                "pages(namespaceId:$namespaceId,first:$first,after:$after,url:$url,contextData:$contextData){\n" +
+                "edges{\n" +
+                "cursor\n" +
+                "node{\n" +
+                "...PageItemFields\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("Publication",
+                "query publication($namespaceId:Int!,$publicationId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "publication(namespaceId:$namespaceId,publicationId:$publicationId,contextData:$contextData){\n" +
+                "...ItemFields\n" +
+                "...PublicationFields\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("PublicationMapping",
+                "query publicationMapping($namespaceId:Int!,$siteUrl:String!){\n" +
+                "publicationMapping(namespaceId:$namespaceId,siteUrl:$siteUrl){\n" +
+                "...PublicationMappingFields\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("Publications",
+                "query publications($namespaceId:Int!,$first:Int,$after:String,$filter:InputPublicationFilter,$contextData:[InputClaimValue!]){\n" +
+                "publications(namespaceId:$namespaceId,first:$first,after:$after,filter:$filter,contextData:$contextData){\n" +
+                "edges{\n" +
+                "cursor\n" +
+                "node{\n" +
+                "...ItemFields\n" +
+                "...PublicationFields\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ResolveBinaryLink",
+                "query binaryLink($namespaceId:Int!,$publicationId:Int!,$binaryId:Int!,$variantId:String,$renderRelativeLink:Boolean){\n" +
+                "binaryLink(namespaceId:$namespaceId,publicationId:$publicationId,binaryId:$binaryId,variantId:$variantId,renderRelativeLink:$renderRelativeLink){\n" +
+                "url\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ResolveComponentLink",
+                "query componentLink($namespaceId:Int!,$publicationId:Int!,$sourcePageId:Int,$targetComponentId:Int!,$excludeComponentTemplateId:Int,$renderRelativeLink:Boolean){\n" +
+                "componentLink(namespaceId:$namespaceId,publicationId:$publicationId,sourcePageId:$sourcePageId,targetComponentId:$targetComponentId,excludeComponentTemplateId:$excludeComponentTemplateId,renderRelativeLink:$renderRelativeLink){\n" +
+                "url\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ResolveDynamicComponentLink",
+                "query dynamicComponentLink($namespaceId:Int!,$publicationId:Int!,$targetPageId:Int!,$targetComponentId:Int!,$targetTemplateId:Int!,$renderRelativeLink:Boolean){\n" +
+                "dynamicComponentLink(namespaceId:$namespaceId,publicationId:$publicationId,targetPageId:$targetPageId,targetComponentId:$targetComponentId,targetTemplateId:$targetTemplateId,renderRelativeLink:$renderRelativeLink){\n" +
+                "url\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("ResolvePageLink",
+                "query pageLink($namespaceId:Int!,$publicationId:Int!,$pageId:Int!,$renderRelativeLink:Boolean){\n" +
+                "pageLink(namespaceId:$namespaceId,publicationId:$publicationId,pageId:$pageId,renderRelativeLink:$renderRelativeLink){\n" +
+                "url\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("Sitemap",
+                "query sitemap($namespaceId:Int!,$publicationId:Int!,$contextData:[InputClaimValue!]){\n" +
+                "sitemap(namespaceId:$namespaceId,publicationId:$publicationId,contextData:$contextData){\n" +
+                "...TaxonomyItemFields\n" +
+                "...RecurseItems\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("SitemapSubtree",
+                "query sitemapSubtree($namespaceId:Int!,$publicationId:Int!,$taxonomyNodeId:String,$ancestor:Ancestor,$contextData:[InputClaimValue!]){\n" +
+                "sitemapSubtree(namespaceId:$namespaceId,publicationId:$publicationId,taxonomyNodeId:$taxonomyNodeId,ancestor:$ancestor,contextData:$contextData){\n" +
+                "...TaxonomyItemFields\n" +
+                "...RecurseItems\n" +
+                "}\n" +
+                "}");
+        QUERIES.put("SitemapSubtreeNoRecurse",
+                "query sitemapSubtree($namespaceId:Int!,$publicationId:Int!,$taxonomyNodeId:String,$ancestor:Ancestor,$contextData:[InputClaimValue!]){\n" +
+                "sitemapSubtree(namespaceId:$namespaceId,publicationId:$publicationId,taxonomyNodeId:$taxonomyNodeId,ancestor:$ancestor,contextData:$contextData){\n" +
+                "...TaxonomyItemFields\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("BinaryComponentFields",
+                "fragment BinaryComponentFields on BinaryComponent{\n" +
+                "schemaId\n" +
+                "multiMedia\n" +
+                "variants@variantsArgs{\n" +
+                "edges{\n" +
+                "node{\n" +
+                "binaryId\n" +
+                "path\n" +
+                "url\n" +
+                "downloadUrl\n" +
+                "description\n" +
+                "variantId\n" +
+                "type\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("CategoryFields",
+                "fragment CategoryFields on Keyword{\n" +
+                "depth\n" +
+                "hasChildren\n" +
+                "description\n" +
+                "key\n" +
+                "navigable\n" +
+                "abstract\n" +
+                "totalRelatedItems\n" +
+                "usedForIdentification\n" +
+                "}");
+        FRAGMENTS.put("ComponentFields",
+                "fragment ComponentFields on Component{\n" +
+                "id\n" +
+                "itemId\n" +
+                "itemType\n" +
+                "namespaceId\n" +
+                "owningPublicationId\n" +
+                "publicationId\n" +
+                "title\n" +
+                "lastPublishDate\n" +
+                "creationDate\n" +
+                "initialPublishDate\n" +
+                "updatedDate\n" +
+                "schemaId\n" +
+                "multiMedia\n" +
+                "...CustomMetaFields\n" +
+                "}");
+        FRAGMENTS.put("ComponentPresentationFields",
+                "fragment ComponentPresentationFields on ComponentPresentation{\n" +
+                "...ItemFields\n" +
+                "component{\n" +
+                "...ComponentFields\n" +
+                "}\n" +
+                "componentTemplate{\n" +
+                "...TemplateFields\n" +
+                "}\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "includeJsonContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "content\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("ComponentTemplateFields",
+                "fragment ComponentTemplateFields on Component{\n" +
+                "...ItemFields\n" +
+                "}");
+        FRAGMENTS.put("CustomMetaFields",
+                "fragment CustomMetaFields on Item{\n" +
+                "customMetas@customMetaArgs{\n" +
+                "edges{\n" +
+                "node{\n" +
+                "id\n" +
+                "itemId\n" +
+                "key\n" +
+                "namespaceId\n" +
+                "publicationId\n" +
+                "value\n" +
+                "valueType\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("CustomMetaFieldsFilter",
+                "fragment CustomMetaFields on Item{\n" +
+                "customMetas(filter:@customMetaFilter){\n" +
+                "edges{\n" +
+                "node{\n" +
+                "id\n" +
+                "itemId\n" +
+                "key\n" +
+                "namespaceId\n" +
+                "publicationId\n" +
+                "value\n" +
+                "valueType\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("ItemFields",
+                "fragment ItemFields on Item{\n" +
+                "id\n" +
+                "itemId\n" +
+                "itemType\n" +
+                "namespaceId\n" +
+                "owningPublicationId\n" +
+                "publicationId\n" +
+                "title\n" +
+                "lastPublishDate\n" +
+                "creationDate\n" +
+                "initialPublishDate\n" +
+                "updatedDate\n" +
+                "...CustomMetaFields\n" +
+                "}");
+        FRAGMENTS.put("KeywordFields",
+                "fragment KeywordFields on Keyword{\n" +
+                "depth\n" +
+                "hasChildren\n" +
+                "description\n" +
+                "key\n" +
+                "navigable\n" +
+                "abstract\n" +
+                "totalRelatedItems\n" +
+                "usedForIdentification\n" +
+                "}");
+        FRAGMENTS.put("PageFields",
+                "fragment PageFields on Page{\n" +
+                "url\n" +
+                "...CustomMetaFields\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "data\n" +
+                "}\n" +
+                "}\n" +
+                "includeJsonContent?{\n" +
+                "rawContent@renderContentArgs{\n" +
+                "content\n" +
+                "}\n" +
+                "}\n" +
+                "includeContainerItems?{\n" +
+                "containerItems(types:[COMPONENT_PRESENTATION]){\n" +
+                "...on ComponentPresentation{\n" +
+                "...ComponentPresentationFields\n" +
+                "}\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("PageItemFields",
+                "fragment PageItemFields on Page{\n" +
+                "url\n" +
+                "itemId\n" +
+                "title\n" +
+                "itemType\n" +
+                "lastPublishDate\n" +
+                "publicationId\n" +
+                "creationDate\n" +
+                "initialPublishDate\n" +
+                "updatedDate\n" +
+                "namespaceId\n" +
+                "pageTemplate{\n" +
+                "itemId\n" +
+                "title\n" +
+                "}\n" +
+                "...CustomMetaFields\n" +
+                "}");
+        FRAGMENTS.put("PageTemplateFields",
+                "fragment PageTemplateFields on Template{\n" +
+                "...ItemFields\n" +
+                "}");
+        FRAGMENTS.put("PublicationFields",
+                "fragment PublicationFields on Publication{\n" +
+                "publicationUrl\n" +
+                "publicationPath\n" +
+                "multimediaPath\n" +
+                "multimediaUrl\n" +
+                "}");
+        FRAGMENTS.put("PublicationMappingFields",
+                "fragment PublicationMappingFields on PublicationMapping{\n" +
+                "publicationId\n" +
+                "protocol\n" +
+                "domain\n" +
+                "port\n" +
+                "path\n" +
+                "pathScanDepth\n" +
+                "}");
+        FRAGMENTS.put("RecurseItems",
+                "rfragment RecurseItems on TaxonomySitemapItem{\n" +
+                "items{\n" +
+                "...on TaxonomySitemapItem{\n" +
+                "...TaxonomyItemFields\n" +
+                "...RecurseItems\n" +
+                "}\n" +
+                "...on PageSitemapItem{\n" +
+                "...TaxonomyPageFields\n" +
+                "}\n" +
+                "}\n" +
+                "}");
+        FRAGMENTS.put("StructureGroupFields",
+                "fragment StructureGroupFields on StructureGroup{\n" +
+                "directory\n" +
+                "}");
+        FRAGMENTS.put("TaxonomyItemFields",
+                "fragment TaxonomyItemFields on TaxonomySitemapItem{\n" +
+                "id\n" +
+                "title\n" +
+                "originalTitle\n" +
+                "url\n" +
+                "type\n" +
+                "visible\n" +
+                "description\n" +
+                "key\n" +
+                "abstract\n" +
+                "hasChildNodes\n" +
+                "classifiedItemsCount\n" +
+                "}");
+        FRAGMENTS.put("TaxonomyPageFields",
+                "fragment TaxonomyPageFields on PageSitemapItem{\n" +
+                "id\n" +
+                "title\n" +
+                "originalTitle\n" +
+                "url\n" +
+                "type\n" +
+                "publishedDate\n" +
+                "visible\n" +
+                "}");
+        FRAGMENTS.put("TemplateFields",
+                "fragment TemplateFields on Template{\n" +
+                "...ItemFields\n" +
+                "outputFormat\n" +
+                "priority\n" +
+                "}");
+    }
+
+    private CompiledQueries() {
+    }
+}
@@ -0,0 +1,82 @@
+package com.sdl.web.pca.client.query;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sdl.web.pca.client.contentmodel.generated.ClaimValue;
+import com.sdl.web.pca.client.request.EncodedJson;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list of context data claims, which writes claims encoded in advance verbatim and serializes only
+ * the other ones.
+ */
+@JsonSerialize(using = EncodedClaimList.Serializer.class)
+final class EncodedClaimList extends AbstractList<ClaimValue> implements RandomAccess {
+    private final ClaimValue[] claims;
+    private final EncodedJson[] encoded;
+
+    /**
+     * @param claims        claims keyed by URI
+     * @param encodedClaims encoded claims keyed by URI, used for the very same claim instances only
+     */
+    EncodedClaimList(Map<String, ClaimValue> claims, Map<String, EncodedJson> encodedClaims) {
+        this.claims = new ClaimValue[claims.size()];
+        this.encoded = new EncodedJson[claims.size()];
+        int i = 0;
+        for (ClaimValue claim : claims.values()) {
+            EncodedJson encodedClaim = encodedClaims.get(claim.getUri());
+            this.claims[i] = claim;
+            this.encoded[i] = encodedClaim != null && encodedClaim.getValue() == claim ? encodedClaim : null;
+            i++;
+        }
+    }
+
+    /**
+     * Encodes claims to JSON.
+     *
+     * @param claims claims keyed by URI
+     * @return unmodifiable encoded claims keyed by URI
+     */
+    static Map<String, EncodedJson> encode(Map<String, ClaimValue> claims) {
+        Map<String, EncodedJson> result = new LinkedHashMap<>();
+        for (Map.Entry<String, ClaimValue> entry : claims.entrySet()) {
+            result.put(entry.getKey(), EncodedJson.of(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public ClaimValue get(int index) {
+        return claims[index];
+    }
+
+    @Override
+    public int size() {
+        return claims.length;
+    }
+
+    static final class Serializer extends StdSerializer<EncodedClaimList> {
+        Serializer() {
+            super(EncodedClaimList.class);
+        }
+
+        @Override
+        public void serialize(EncodedClaimList value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartArray(value, value.claims.length);
+            for (int i = 0; i < value.claims.length; i++) {
+                Object claim = value.encoded[i] != null ? value.encoded[i] : value.claims[i];
+                provider.defaultSerializeValue(claim, gen);
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.sdl.web.pca.client.query;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.sdl.web.pca.client.contentmodel.ContextData;
 import com.sdl.web.pca.client.contentmodel.Pagination;
 import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
@@ -8,19 +12,21 @@ import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
 import com.sdl.web.pca.client.contentmodel.generated.ClaimValue;
 import com.sdl.web.pca.client.contentmodel.generated.InputComponentPresentationFilter;
 import com.sdl.web.pca.client.contentmodel.generated.InputSortParam;
+import com.sdl.web.pca.client.request.EncodedJson;
 import com.sdl.web.pca.client.request.GraphQLRequest;
 import com.sdl.web.pca.client.util.CmUri;
 import com.sdl.web.pca.client.util.QueryUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import static java.util.regex.Pattern.DOTALL;
 import static java.util.regex.Pattern.MULTILINE;
@@ -31,6 +37,24 @@ import static java.util.regex.Pattern.MULTILINE;
 public class PCARequestBuilder {
     private static final Pattern FRAGMENT_NAMES_FROM_BODY = Pattern.compile("^\\s*\\.{3}(?<fragmentName>\\w*)\\s*$",
             DOTALL | MULTILINE);
+    private static final int MAX_CACHED_QUERIES = 1024;
+
+    /**
+     * Encoded queries by everything they are built from, so requests for the same query neither build nor escape
+     * it again.
+     */
+    private static final Cache<QueryKey, EncodedJson> QUERIES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_QUERIES)
+            .build();
+
+    /**
+     * Encoded claims of every base claims map in use. Keys are weak and compared by identity, so claims are
+     * encoded once per map and forgotten with it.
+     */
+    private static final LoadingCache<Map<String, ClaimValue>, Map<String, EncodedJson>> BASE_CLAIMS =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(CacheLoader.from(EncodedClaimList::encode));
 
     private String query;
     private String queryName;
@@ -40,6 +64,7 @@ public class PCARequestBuilder {
     private int descendantLevel = 0;
     private Map<String, Object> variables = new HashMap<>();
     private String operationName;
+    private Map<String, ClaimValue> baseClaimValues = Collections.emptyMap();
     private Map<String, ClaimValue> claimValues = new HashMap<>();
     private int timeout;
     private QueryHolder queryHolder = QueryHolder.getInstance();
@@ -176,14 +201,28 @@ public class PCARequestBuilder {
             if (newData == null) {
                 continue;
             }
-            this.claimValues.putAll(newData.getClaimValues()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toMap(ClaimValue::getUri, x -> x, (x, y) -> y)));
+            for (ClaimValue claim : newData.getClaimValues()) {
+                if (claim != null) {
+                    this.claimValues.put(claim.getUri(), claim);
+                }
+            }
         }
         return this;
     }
 
+    /**
+     * Sets claims to add to context data of request before any other claims, which replace base claims with the same
+     * URI. The map is not copied, so neither the map nor its claims should be modified afterwards. Claims of the map
+     * are encoded to JSON once and written verbatim to every request using the same map.
+     *
+     * @param claims claims keyed by claim URI
+     * @return builder
+     */
+    public PCARequestBuilder withBaseClaims(Map<String, ClaimValue> claims) {
+        this.baseClaimValues = claims;
+        return this;
+    }
+
     /**
      * Adds claim value to context data of request.
      *
@@ -285,6 +324,25 @@ public class PCARequestBuilder {
      * @return request to use with GraphQL
      */
     public GraphQLRequest build() {
+        QueryKey key = new QueryKey(queryName, recurseFragmentName, descendantLevel, injectFragments,
+                includeRegions, contentIncludeMode, variantArgs, customMetaFilter);
+        EncodedJson encodedQuery = QUERIES.asMap().computeIfAbsent(key, k -> EncodedJson.of(buildQuery()));
+
+        Map<String, ClaimValue> contextData;
+        if (claimValues.isEmpty()) {
+            contextData = baseClaimValues;
+        } else if (baseClaimValues.isEmpty()) {
+            contextData = claimValues;
+        } else {
+            contextData = new LinkedHashMap<>(baseClaimValues);
+            contextData.putAll(claimValues);
+        }
+        Map<String, EncodedJson> encodedClaims = BASE_CLAIMS.getUnchecked(baseClaimValues);
+        this.variables.put("contextData", new EncodedClaimList(contextData, encodedClaims));
+        return new GraphQLRequest(encodedQuery, variables, operationName, timeout);
+    }
+
+    private String buildQuery() {
 
         //load query
         query = queryHolder.getQuery(queryName);
@@ -307,11 +365,7 @@ public class PCARequestBuilder {
                         || this.contentIncludeMode == ContentIncludeMode.INCLUDE_DATA_AND_RENDER);
         query = QueryUtils.injectVariantsArgs(query, variantArgs);
         query = QueryUtils.injectCustomMetaFilter(query, customMetaFilter);
-
-        ContextData contextData = new ContextData();
-        contextData.addClaimValues(claimValues.values());
-        this.variables.put("contextData", contextData.getClaimValues());
-        return new GraphQLRequest(query, variables, operationName, timeout);
+        return query;
     }
 
     private String expandRecursiveFragment(String recurseFragmentName, int descendantLevel) {
@@ -366,4 +420,54 @@ public class PCARequestBuilder {
         return result;
     }
 
+    /**
+     * Everything a query text is built from.
+     */
+    private static final class QueryKey {
+        private final String queryName;
+        private final String recurseFragmentName;
+        private final int descendantLevel;
+        private final Set<String> injectFragments;
+        private final Map<String, Boolean> includeRegions;
+        private final ContentIncludeMode contentIncludeMode;
+        private final String variantArgs;
+        private final String customMetaFilter;
+        private final int hash;
+
+        private QueryKey(String queryName, String recurseFragmentName, int descendantLevel,
+                         Set<String> injectFragments, Map<String, Boolean> includeRegions,
+                         ContentIncludeMode contentIncludeMode, String variantArgs, String customMetaFilter) {
+            this.queryName = queryName;
+            this.recurseFragmentName = recurseFragmentName;
+            this.descendantLevel = descendantLevel;
+            this.injectFragments = new HashSet<>(injectFragments);
+            this.includeRegions = new HashMap<>(includeRegions);
+            this.contentIncludeMode = contentIncludeMode;
+            this.variantArgs = variantArgs;
+            this.customMetaFilter = customMetaFilter;
+            this.hash = Objects.hash(queryName, recurseFragmentName, descendantLevel, this.injectFragments,
+                    this.includeRegions, contentIncludeMode, variantArgs, customMetaFilter);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            QueryKey that = (QueryKey) o;
+            return hash == that.hash &&
+                    descendantLevel == that.descendantLevel &&
+                    Objects.equals(queryName, that.queryName) &&
+                    Objects.equals(recurseFragmentName, that.recurseFragmentName) &&
+                    injectFragments.equals(that.injectFragments) &&
+                    includeRegions.equals(that.includeRegions) &&
+                    contentIncludeMode == that.contentIncludeMode &&
+                    Objects.equals(variantArgs, that.variantArgs) &&
+                    Objects.equals(customMetaFilter, that.customMetaFilter);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
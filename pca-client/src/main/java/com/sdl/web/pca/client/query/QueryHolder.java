@@ -4,6 +4,7 @@ import com.sdl.web.pca.client.exception.ApiClientException;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -11,31 +12,56 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Holds queries and fragments.
+ * <p>
+ * Templates of this library are compiled into {@link CompiledQueries} and served from there without reading
+ * resources. Templates the library does not know are read from {@code queries} resources on first use.
+ * <p>
+ * Applications which replace templates of this library by putting their own ones first on the classpath should set
+ * system property {@value #CLASSPATH_OVERRIDES_PROPERTY} to {@code true}. Then every template is read from its
+ * resource on first use, and the compiled one is only used when there is no resource.
  */
 public class QueryHolder {
+    public static final String CLASSPATH_OVERRIDES_PROPERTY = "pca.queries.classpathOverrides";
+
     private ConcurrentMap<String, String> queries = new ConcurrentHashMap<>();
     private ConcurrentMap<String, String> fragments = new ConcurrentHashMap<>();
+    private final boolean classpathOverrides;
 
     public String getQuery(String queryName) {
-        return queries.computeIfAbsent(queryName,
-                s -> loadQueryFromResourcefile("queries/" + s));
+        return queries.computeIfAbsent(queryName, s -> loadTemplate(getClass().getClassLoader(), "queries/" + s,
+                CompiledQueries.QUERIES.get(s), classpathOverrides));
     }
 
     public String getFragment(String fragmentName) {
-        return fragments.computeIfAbsent(fragmentName,
-                s -> loadQueryFromResourcefile("queries/fragments/" + s));
+        return fragments.computeIfAbsent(fragmentName, s -> loadTemplate(getClass().getClassLoader(),
+                "queries/fragments/" + s, CompiledQueries.FRAGMENTS.get(s), classpathOverrides));
     }
 
-    private String loadQueryFromResourcefile(String fileName) throws ApiClientException {
+    static String loadTemplate(ClassLoader classLoader, String fileName, String compiled, boolean classpathOverrides)
+            throws ApiClientException {
+        if (compiled != null && !classpathOverrides) {
+            return compiled;
+        }
         String path = fileName + ".graphql";
-        try {
-            return IOUtils.toString(this.getClass().getClassLoader().getResourceAsStream(path), UTF_8);
+        try (InputStream stream = classLoader.getResourceAsStream(path)) {
+            if (stream == null) {
+                if (compiled != null) {
+                    return compiled;
+                }
+                throw new ApiClientException("Unable to find resource " + path);
+            }
+            return IOUtils.toString(stream, UTF_8);
         } catch (IOException e) {
             throw new ApiClientException("Unable to read resource " + path, e);
         }
     }
 
     private QueryHolder() {
+        this(Boolean.getBoolean(CLASSPATH_OVERRIDES_PROPERTY));
+    }
+
+    QueryHolder(boolean classpathOverrides) {
+        this.classpathOverrides = classpathOverrides;
     }
 
     private static class QueryHolderInstance {
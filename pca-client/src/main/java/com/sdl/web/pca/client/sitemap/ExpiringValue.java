@@ -0,0 +1,93 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Value loaded on first access and reloaded once its time to live is over.
+ * <p>
+ * Loaded values are published through an atomic reference without locking. When several threads need a missing
+ * or expired value at once, only one of them loads it and the others wait for its result. Failed loads are not
+ * kept, the next access tries again.
+ *
+ * @param <T> type of value
+ */
+final class ExpiringValue<T> {
+    private final AtomicReference<Loaded<T>> current = new AtomicReference<>();
+    private final Ticker ticker;
+    private final long ttlNanos;
+
+    ExpiringValue(Ticker ticker, long ttl, TimeUnit unit) {
+        this.ticker = ticker;
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    T get(Supplier<T> loader) {
+        while (true) {
+            Loaded<T> loaded = current.get();
+            long now = ticker.read();
+            if (loaded != null && !loaded.isStale(now)) {
+                return join(loaded.value);
+            }
+            Loaded<T> next = new Loaded<>(new CompletableFuture<>(), now + ttlNanos);
+            if (current.compareAndSet(loaded, next)) {
+                try {
+                    next.value.complete(loader.get());
+                } catch (Throwable e) {
+                    // Errors have to release waiting threads too, or they would wait forever
+                    next.value.completeExceptionally(e);
+                    current.compareAndSet(next, null);
+                }
+                return join(next.value);
+            }
+        }
+    }
+
+    /**
+     * Returns the value if it is loaded and not expired, null otherwise.
+     */
+    T getIfPresent() {
+        Loaded<T> loaded = current.get();
+        if (loaded == null || loaded.isStale(ticker.read()) || !loaded.value.isDone()) {
+            return null;
+        }
+        return join(loaded.value);
+    }
+
+    void invalidate() {
+        current.set(null);
+    }
+
+    private static <T> T join(CompletableFuture<T> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw Sitemaps.unwrap(e);
+        }
+    }
+
+    private static final class Loaded<T> {
+        private final CompletableFuture<T> value;
+        private final long expiresAt;
+
+        private Loaded(CompletableFuture<T> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isStale(long now) {
+            if (!value.isDone()) {
+                return false;
+            }
+            return value.isCompletedExceptionally() || now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.google.common.base.Ticker;
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import com.sdl.web.pca.client.exception.ApiClientException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Navigation tree of a publication which loads children of a node on first access.
+ * <p>
+ * Only the root level is requested up front. Children of a taxonomy node are requested with
+ * {@link ApiClient#getSitemapSubtree} when they are accessed for the first time and kept for the configured
+ * time to live, so rendering navigation for a page costs requests proportional to the depth of the page rather
+ * than to the size of the sitemap. The tree is safe to share between threads.
+ */
+public class NavigationTree {
+    private final ApiClient client;
+    private final ContentNamespace ns;
+    private final int publicationId;
+    private final ContextData contextData;
+    private final Ticker ticker;
+    private final long ttl;
+    private final TimeUnit ttlUnit;
+
+    private final ExpiringValue<Node> root;
+
+    /**
+     * @param client        client to execute queries with
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param contextData   context data passed to every query
+     * @param ttl           time to keep loaded nodes for
+     * @param ttlUnit       unit of time to live
+     */
+    public NavigationTree(ApiClient client, ContentNamespace ns, int publicationId, ContextData contextData,
+                          long ttl, TimeUnit ttlUnit) {
+        this(client, ns, publicationId, contextData, ttl, ttlUnit, Ticker.systemTicker());
+    }
+
+    NavigationTree(ApiClient client, ContentNamespace ns, int publicationId, ContextData contextData,
+                   long ttl, TimeUnit ttlUnit, Ticker ticker) {
+        this.client = client;
+        this.ns = ns;
+        this.publicationId = publicationId;
+        this.contextData = contextData;
+        this.ticker = ticker;
+        this.ttl = ttl;
+        this.ttlUnit = ttlUnit;
+        this.root = new ExpiringValue<>(ticker, ttl, ttlUnit);
+    }
+
+    /**
+     * Returns root node of the tree, requesting it together with its children when missing or expired.
+     *
+     * @return root node
+     * @throws ApiClientException in case of exception
+     */
+    public Node getRoot() throws ApiClientException {
+        return root.get(() -> {
+            TaxonomySitemapItem item = client.getSitemap(ns, publicationId, 1, contextData);
+            if (item == null) {
+                throw new ApiClientException("Sitemap of publication " + publicationId + " is not found");
+            }
+            return newNode(null, item);
+        });
+    }
+
+    /**
+     * Drops all loaded nodes, so they are requested again on next access.
+     */
+    public void invalidate() {
+        root.invalidate();
+    }
+
+    /**
+     * Node of a navigation tree wrapping a sitemap item.
+     */
+    public final class Node {
+        private final Node parent;
+        private final SitemapItem item;
+        private final ExpiringValue<List<Node>> children;
+
+        private Node(Node parent, SitemapItem item) {
+            this.parent = parent;
+            this.item = item;
+            this.children = new ExpiringValue<>(ticker, ttl, ttlUnit);
+        }
+
+        /**
+         * Returns sitemap item of this node, as returned by the client. Items of a taxonomy item are not kept up to
+         * date, use {@link #getChildren()}. The item may be shared with other callers, so it should not be modified.
+         *
+         * @return sitemap item
+         */
+        public SitemapItem getItem() {
+            return item;
+        }
+
+        /**
+         * Returns parent node, or null for the root.
+         *
+         * @return parent node
+         */
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * Returns child nodes, requesting them when missing or expired.
+         *
+         * @return child nodes
+         * @throws ApiClientException in case of exception
+         */
+        public List<Node> getChildren() throws ApiClientException {
+            List<Node> loaded = children.getIfPresent();
+            if (loaded != null) {
+                return loaded;
+            }
+            if (!(item instanceof TaxonomySitemapItem) || !((TaxonomySitemapItem) item).getHasChildNodes()) {
+                return Collections.emptyList();
+            }
+            return children.get(() -> wrap(Sitemaps.loadChildren(client, ns, publicationId, item.getId(),
+                    contextData)));
+        }
+
+        /**
+         * Returns child node with given id, requesting children when missing or expired.
+         *
+         * @param id sitemap item id
+         * @return child node or null when there is no such child
+         * @throws ApiClientException in case of exception
+         */
+        public Node getChild(String id) throws ApiClientException {
+            for (Node child : getChildren()) {
+                if (id.equals(child.item.getId())) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns nodes sharing parent with this node, including this node.
+         *
+         * @return sibling nodes
+         * @throws ApiClientException in case of exception
+         */
+        public List<Node> getSiblings() throws ApiClientException {
+            return parent == null ? Collections.singletonList(this) : parent.getChildren();
+        }
+
+        /**
+         * Checks if children of this node are loaded and not expired, without requesting them.
+         *
+         * @return true if children are available
+         */
+        public boolean isExpanded() {
+            return children.getIfPresent() != null;
+        }
+
+        private List<Node> wrap(List<SitemapItem> items) {
+            if (items == null || items.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Node> result = new ArrayList<>(items.size());
+            for (SitemapItem child : items) {
+                result.add(newNode(this, child));
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
+
+    private Node newNode(Node parent, SitemapItem item) {
+        Node node = new Node(parent, item);
+        if (item instanceof TaxonomySitemapItem) {
+            // Descendants which came with the response are wrapped in nodes, the item is left as it is
+            List<SitemapItem> loaded = ((TaxonomySitemapItem) item).getItems();
+            if (loaded != null && !loaded.isEmpty()) {
+                node.children.get(() -> node.wrap(loaded));
+            }
+        }
+        return node;
+    }
+}
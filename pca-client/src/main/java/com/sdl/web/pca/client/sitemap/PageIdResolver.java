@@ -0,0 +1,22 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+
+/**
+ * Maps page URLs to page ids without asking the content service, so pages requested by URL can be requested by
+ * id instead.
+ */
+@FunctionalInterface
+public interface PageIdResolver {
+    int UNKNOWN = -1;
+
+    /**
+     * Returns id of the page with given URL.
+     *
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param url           page URL
+     * @return page id or {@link #UNKNOWN} if the URL is not known
+     */
+    int getPageId(ContentNamespace ns, int publicationId, String url);
+}
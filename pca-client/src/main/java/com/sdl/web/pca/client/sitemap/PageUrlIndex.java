@@ -0,0 +1,269 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.PageSitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import com.sdl.web.pca.client.exception.ApiClientException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index of page URLs of a publication built from its sitemap, see {@link com.sdl.web.pca.client.DefaultApiClient#setPageIdResolver}.
+ * <p>
+ * By default a page is found only by the URL it is published at, which is its sitemap URL with the {@code .html}
+ * extension, so the index finds the same pages as the content service does. With URL normalization enabled,
+ * {@code /about}, {@code /about/}, {@code /about/index} and {@code /about/index.html} all find the index page of
+ * {@code /about}, and query and fragment are ignored; URLs leading to different pages after normalization are
+ * left out of the index, so they are still resolved by the content service. Only pages included in the sitemap
+ * are indexed.
+ * <p>
+ * After a change of the taxonomy, {@link #update} loads only the subtree of a changed node again. Sitemaps are
+ * loaded without holding the lock of the index, only the loaded levels are merged under it. Lookups are never
+ * blocked by loads and see either the old or the new index.
+ */
+public class PageUrlIndex implements PageIdResolver {
+    private static final int AMBIGUOUS = -2;
+
+    private final SitemapCrawler crawler;
+    private final ContentNamespace ns;
+    private final int publicationId;
+    private final ContextData contextData;
+    private final boolean normalizeUrls;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Level> levels = new HashMap<>();
+
+    private volatile PageUrlTable table = PageUrlTable.EMPTY;
+
+    public PageUrlIndex(ApiClient client, ContentNamespace ns, int publicationId, ContextData contextData) {
+        this(new SitemapCrawler(client), ns, publicationId, contextData);
+    }
+
+    /**
+     * @param crawler       crawler to load sitemap with
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param contextData   context data passed to every query
+     */
+    public PageUrlIndex(SitemapCrawler crawler, ContentNamespace ns, int publicationId, ContextData contextData) {
+        this(crawler, ns, publicationId, contextData, false);
+    }
+
+    /**
+     * @param crawler       crawler to load sitemap with
+     * @param ns            namespace
+     * @param publicationId publication id
+     * @param contextData   context data passed to every query
+     * @param normalizeUrls whether to find pages by normalized URLs, see {@link #normalize}
+     */
+    public PageUrlIndex(SitemapCrawler crawler, ContentNamespace ns, int publicationId, ContextData contextData,
+                        boolean normalizeUrls) {
+        this.crawler = crawler;
+        this.ns = ns;
+        this.publicationId = publicationId;
+        this.contextData = contextData;
+        this.normalizeUrls = normalizeUrls;
+    }
+
+    /**
+     * Loads the whole sitemap and replaces the index.
+     *
+     * @return number of indexed URLs
+     * @throws ApiClientException in case of exception, in which case the index is not changed
+     */
+    public int build() throws ApiClientException {
+        TaxonomySitemapItem root = crawler.crawl(ns, publicationId, -1, contextData);
+        if (root == null) {
+            throw new ApiClientException("Sitemap of publication " + publicationId + " is not found");
+        }
+        Map<String, Level> loaded = new HashMap<>();
+        addLevel(loaded, root.getId(), root.getItems());
+        lock.lock();
+        try {
+            levels.clear();
+            levels.putAll(loaded);
+            return publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads subtree of a taxonomy node and replaces pages of the subtree in the index. The whole sitemap is
+     * loaded when the index is empty or does not contain the node yet.
+     *
+     * @param taxonomyNodeId id of a changed taxonomy node
+     * @return number of indexed URLs
+     * @throws ApiClientException in case of exception, in which case the index is not changed
+     */
+    public int update(String taxonomyNodeId) throws ApiClientException {
+        boolean indexed;
+        lock.lock();
+        try {
+            indexed = levels.containsKey(taxonomyNodeId);
+        } finally {
+            lock.unlock();
+        }
+        if (!indexed) {
+            return build();
+        }
+        List<SitemapItem> children = crawler.crawlSubtree(ns, publicationId, taxonomyNodeId, -1, contextData);
+        Map<String, Level> loaded = new HashMap<>();
+        addLevel(loaded, taxonomyNodeId, children);
+        lock.lock();
+        try {
+            removeLevel(taxonomyNodeId);
+            levels.putAll(loaded);
+            return publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getPageId(ContentNamespace ns, int publicationId, String url) {
+        if (ns != this.ns || publicationId != this.publicationId) {
+            return UNKNOWN;
+        }
+        return getPageId(url);
+    }
+
+    /**
+     * Returns id of the page of this publication with given URL.
+     *
+     * @param url page URL, may be null
+     * @return page id or {@link #UNKNOWN} if the URL is null or not in the sitemap
+     */
+    public int getPageId(String url) {
+        // A missing URL is not normalized, so it is not taken for the root page
+        int pageId = table.get(normalizeUrls && url != null ? normalize(url) : url);
+        return pageId == AMBIGUOUS ? UNKNOWN : pageId;
+    }
+
+    /**
+     * Returns number of indexed URLs.
+     *
+     * @return number of URLs, including those leading to different pages
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Normalizes page URL by removing query, fragment, {@code .html} extension, {@code index} page name and
+     * trailing slash.
+     *
+     * @param url page URL
+     * @return normalized URL
+     */
+    public static String normalize(String url) {
+        if (url == null) {
+            return "";
+        }
+        int end = url.length();
+        for (int i = 0; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+            }
+        }
+        String path = url.substring(0, end);
+        if (path.endsWith(".html")) {
+            path = path.substring(0, path.length() - ".html".length());
+        }
+        if (path.equals("index") || path.endsWith("/index")) {
+            path = path.substring(0, path.length() - "index".length());
+        }
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    /**
+     * Returns URL a page with given sitemap URL is published at, adding the {@code .html} extension sitemaps leave
+     * out.
+     *
+     * @param sitemapUrl URL of a page in the sitemap
+     * @return page URL
+     */
+    static String publishedUrl(String sitemapUrl) {
+        int name = sitemapUrl.lastIndexOf('/') + 1;
+        return sitemapUrl.indexOf('.', name) >= 0 ? sitemapUrl : sitemapUrl + ".html";
+    }
+
+    private void addLevel(Map<String, Level> target, String taxonomyNodeId, List<SitemapItem> items) {
+        Level level = new Level();
+        if (items != null) {
+            for (SitemapItem item : items) {
+                if (item instanceof TaxonomySitemapItem) {
+                    level.children.add(item.getId());
+                    addLevel(target, item.getId(), ((TaxonomySitemapItem) item).getItems());
+                } else if (item instanceof PageSitemapItem) {
+                    int pageId = pageIdOf(item.getId());
+                    String url = ((PageSitemapItem) item).getUrl();
+                    if (pageId >= 0 && url != null) {
+                        level.urls.add(normalizeUrls ? normalize(url) : publishedUrl(url));
+                        level.pageIds.add(pageId);
+                    }
+                }
+            }
+        }
+        target.put(taxonomyNodeId, level);
+    }
+
+    private void removeLevel(String taxonomyNodeId) {
+        Level level = levels.remove(taxonomyNodeId);
+        if (level != null) {
+            for (String child : level.children) {
+                removeLevel(child);
+            }
+        }
+    }
+
+    private int publish() {
+        Map<String, Integer> pageIds = new HashMap<>();
+        for (Level level : levels.values()) {
+            for (int i = 0; i < level.urls.size(); i++) {
+                // A page classified under several keywords is listed several times with the same id
+                pageIds.merge(level.urls.get(i), level.pageIds.get(i),
+                        (existing, added) -> existing.equals(added) ? existing : AMBIGUOUS);
+            }
+        }
+        table = PageUrlTable.of(pageIds);
+        return pageIds.size();
+    }
+
+    /**
+     * Extracts page id from sitemap item id, such as {@code t2680-p644} or {@code p644}.
+     */
+    static int pageIdOf(String sitemapItemId) {
+        if (sitemapItemId == null) {
+            return UNKNOWN;
+        }
+        int start = sitemapItemId.lastIndexOf('p') + 1;
+        if (start == 0 || start > 1 && sitemapItemId.charAt(start - 2) != '-' || start == sitemapItemId.length()) {
+            return UNKNOWN;
+        }
+        try {
+            return Integer.parseInt(sitemapItemId.substring(start));
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Pages and child taxonomy nodes directly under a taxonomy node.
+     */
+    private static final class Level {
+        private final List<String> children = new ArrayList<>();
+        private final List<String> urls = new ArrayList<>();
+        private final List<Integer> pageIds = new ArrayList<>();
+    }
+}
@@ -0,0 +1,59 @@
+package com.sdl.web.pca.client.sitemap;
+
+import java.util.Map;
+
+/**
+ * Immutable open addressing hash table from URL to page id, holding keys and ids in two parallel arrays instead of
+ * an entry object per URL.
+ */
+final class PageUrlTable {
+    static final PageUrlTable EMPTY = new PageUrlTable(new String[1], new int[1], 0);
+
+    private final String[] keys;
+    private final int[] pageIds;
+    private final int size;
+
+    private PageUrlTable(String[] keys, int[] pageIds, int size) {
+        this.keys = keys;
+        this.pageIds = pageIds;
+        this.size = size;
+    }
+
+    static PageUrlTable of(Map<String, Integer> pageIds) {
+        // Table is kept at most half full, so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(1, pageIds.size()) * 2 - 1) << 1;
+        String[] keys = new String[capacity];
+        int[] ids = new int[capacity];
+        for (Map.Entry<String, Integer> entry : pageIds.entrySet()) {
+            int slot = slot(entry.getKey(), capacity);
+            while (keys[slot] != null) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            keys[slot] = entry.getKey();
+            ids[slot] = entry.getValue();
+        }
+        return new PageUrlTable(keys, ids, pageIds.size());
+    }
+
+    int get(String key) {
+        if (key == null) {
+            return PageIdResolver.UNKNOWN;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, keys.length); keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                return pageIds[slot];
+            }
+        }
+        return PageIdResolver.UNKNOWN;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int slot(String key, int capacity) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+}
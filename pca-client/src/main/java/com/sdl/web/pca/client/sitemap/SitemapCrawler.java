@@ -0,0 +1,131 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.concurrent.BoundedExecutor;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import com.sdl.web.pca.client.exception.ApiClientException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads a sitemap level by level with {@link ApiClient#getSitemapSubtree}, requesting children of sibling
+ * nodes in parallel.
+ * <p>
+ * Compared to {@link ApiClient#getSitemap} with many descendant levels, no single query or response grows with
+ * the size of the taxonomy and the service computes independent subtrees concurrently. The number of requests
+ * in flight is bounded by the configured concurrency.
+ */
+public class SitemapCrawler {
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final Executor DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("pca-sitemap-crawler-%d")
+            .setDaemon(true)
+            .build());
+
+    private final ApiClient client;
+    private final Executor executor;
+
+    public SitemapCrawler(ApiClient client) {
+        this(client, DEFAULT_CONCURRENCY);
+    }
+
+    public SitemapCrawler(ApiClient client, int concurrency) {
+        this(client, DEFAULT_EXECUTOR, concurrency);
+    }
+
+    /**
+     * @param client      client to execute queries with
+     * @param executor    executor to execute queries on
+     * @param concurrency maximum number of queries executed at once
+     */
+    public SitemapCrawler(ApiClient client, Executor executor, int concurrency) {
+        this.client = client;
+        this.executor = new BoundedExecutor(executor, concurrency);
+    }
+
+    /**
+     * Loads sitemap of a publication down to given number of levels.
+     *
+     * @param ns               namespace
+     * @param publicationId    publication id
+     * @param descendantLevels number of levels to load below the root, negative to load the whole sitemap
+     * @param contextData      context data
+     * @return root of the sitemap with loaded descendants
+     * @throws ApiClientException in case of exception
+     */
+    public TaxonomySitemapItem crawl(ContentNamespace ns, int publicationId, int descendantLevels,
+                                     ContextData contextData) throws ApiClientException {
+        TaxonomySitemapItem root = client.getSitemap(ns, publicationId, 1, contextData);
+        if (root == null || descendantLevels == 1) {
+            return root;
+        }
+        try {
+            expandChildren(root, ns, publicationId, 1, descendantLevels, contextData).join();
+        } catch (CompletionException e) {
+            throw Sitemaps.unwrap(e);
+        }
+        return root;
+    }
+
+    /**
+     * Loads descendants of a taxonomy node down to given number of levels.
+     *
+     * @param ns               namespace
+     * @param publicationId    publication id
+     * @param taxonomyNodeId   taxonomy node id
+     * @param descendantLevels number of levels to load below the node, negative to load all of them
+     * @param contextData      context data
+     * @return children of the node with loaded descendants
+     * @throws ApiClientException in case of exception
+     */
+    public List<SitemapItem> crawlSubtree(ContentNamespace ns, int publicationId, String taxonomyNodeId,
+                                          int descendantLevels, ContextData contextData) throws ApiClientException {
+        List<SitemapItem> children = Sitemaps.loadChildren(client, ns, publicationId, taxonomyNodeId, contextData);
+        try {
+            expandAll(children, ns, publicationId, 1, descendantLevels, contextData).join();
+        } catch (CompletionException e) {
+            throw Sitemaps.unwrap(e);
+        }
+        return children;
+    }
+
+    private CompletableFuture<Void> expandChildren(TaxonomySitemapItem node, ContentNamespace ns, int publicationId,
+                                                   int level, int descendantLevels, ContextData contextData) {
+        if (node.getItems() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return expandAll(node.getItems(), ns, publicationId, level, descendantLevels, contextData);
+    }
+
+    private CompletableFuture<Void> expandAll(List<SitemapItem> items, ContentNamespace ns, int publicationId,
+                                              int level, int descendantLevels, ContextData contextData) {
+        if (descendantLevels >= 0 && level >= descendantLevels) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(items.stream()
+                .filter(Sitemaps::hasUnloadedChildren)
+                .map(item -> expand((TaxonomySitemapItem) item, ns, publicationId, level + 1, descendantLevels,
+                        contextData))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Void> expand(TaxonomySitemapItem node, ContentNamespace ns, int publicationId,
+                                           int level, int descendantLevels, ContextData contextData) {
+        return CompletableFuture
+                .supplyAsync(() -> Sitemaps.loadChildren(client, ns, publicationId, node.getId(), contextData),
+                        executor)
+                .thenCompose(children -> {
+                    node.setItems(children);
+                    return expandAll(children, ns, publicationId, level, descendantLevels, contextData);
+                });
+    }
+}
@@ -0,0 +1,63 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.Ancestor;
+import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers shared by sitemap loaders.
+ */
+final class Sitemaps {
+
+    private Sitemaps() {
+    }
+
+    /**
+     * Loads direct children of a taxonomy node.
+     * <p>
+     * Subtree is requested with one descendant level, since a query without descendant levels selects no items
+     * and could not return child pages. If the response holds the requested node, its items are the children,
+     * otherwise response items are the children themselves.
+     */
+    static List<SitemapItem> loadChildren(ApiClient client, ContentNamespace ns, int publicationId,
+                                          String taxonomyNodeId, ContextData contextData) {
+        TaxonomySitemapItem[] subtree = client.getSitemapSubtree(ns, publicationId, taxonomyNodeId, 1,
+                Ancestor.NONE, contextData);
+        if (subtree == null) {
+            return Collections.emptyList();
+        }
+        for (TaxonomySitemapItem item : subtree) {
+            if (item != null && taxonomyNodeId.equals(item.getId())) {
+                return item.getItems() == null ? Collections.emptyList() : item.getItems();
+            }
+        }
+        return new ArrayList<>(Arrays.asList(subtree));
+    }
+
+    /**
+     * Checks if children of given item still need to be loaded.
+     */
+    static boolean hasUnloadedChildren(SitemapItem item) {
+        if (!(item instanceof TaxonomySitemapItem)) {
+            return false;
+        }
+        TaxonomySitemapItem taxonomy = (TaxonomySitemapItem) item;
+        return taxonomy.getHasChildNodes() && (taxonomy.getItems() == null || taxonomy.getItems().isEmpty());
+    }
+
+    /**
+     * Unwraps exception thrown by a completed future.
+     */
+    static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+}
@@ -1,37 +1,45 @@
 package com.sdl.web.pca.client.util;
 
-import com.google.common.base.Objects;
-import com.google.common.base.Strings;
-import org.slf4j.Logger;
-
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.sdl.web.pca.client.util.ItemTypes.IDNULL;
-import static com.sdl.web.pca.client.util.ItemTypes.getById;
-import static java.lang.Integer.valueOf;
-import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * This class represents a CMURI object.
  * <p>
  * This object is a helper object used to parse and create Content Manager (TCM or ISH) URIs.
+ * URIs are parsed without regular expressions or intermediate strings, and the string form is kept once built,
+ * so it can be used repeatedly as a request variable or key. String forms of version-less URIs are shared between
+ * instances through a bounded table, so the URIs of hot items are not built again for every parsed or unpacked
+ * instance. A version-less URI can also be packed into a single {@code long} with {@link #toLong()}, for use as a
+ * key of primitive collections.
  */
 public class CmUri {
-    private static final Logger LOG = getLogger(CmUri.class);
     private static final String SEPARATOR = "-";
     private static final String URI_SEPARATOR = ":";
-    private static final Pattern CM_URI_PATTERN = Pattern
-            .compile("^(?<namespace>[a-zA-Z]+):(?<pubId>\\d+)-(?<itemId>\\d+)(?:-(?<itemType>\\d+))?(?:-v(?<version>\\d+))?$");
+    private static final ItemTypes[] ITEM_TYPES = ItemTypes.values();
+
+    // Packed layout from the highest bit: namespace id (2 bits), item type ordinal (5), publication (26), item (31)
+    private static final int ITEM_ID_BITS = 31;
+    private static final int PUBLICATION_ID_BITS = 26;
+    private static final int ITEM_TYPE_BITS = 5;
+    private static final long ITEM_ID_MASK = (1L << ITEM_ID_BITS) - 1;
+    private static final long PUBLICATION_ID_MASK = (1L << PUBLICATION_ID_BITS) - 1;
+    private static final long ITEM_TYPE_MASK = (1L << ITEM_TYPE_BITS) - 1;
+
+    /**
+     * Highest publication id a URI may have to be packed into a long.
+     */
+    public static final int MAX_PACKED_PUBLICATION_ID = (int) PUBLICATION_ID_MASK;
 
     private Namespace namespace;
     private int pubId;
     private int itemId;
     private int itemType;
-    private Optional<Integer> version = Optional.empty();
+    private int version = IDNULL.getValue();
+    // String form, built on first use unless the parsed string already was canonical
+    private String string;
 
     /**
      * Create a new URI from a string.
@@ -42,28 +50,103 @@ public class CmUri {
         this.load(uri);
     }
 
+    private CmUri(Namespace namespace, int pubId, int itemId, int itemType) {
+        this.namespace = namespace;
+        this.pubId = pubId;
+        this.itemId = itemId;
+        this.itemType = itemType;
+    }
+
+    /**
+     * Restores a URI packed with {@link #toLong()}.
+     *
+     * @param packed packed URI
+     * @return URI without version
+     */
+    public static CmUri fromLong(long packed) {
+        int namespaceId = (int) (packed >>> (ITEM_TYPE_BITS + PUBLICATION_ID_BITS + ITEM_ID_BITS));
+        int typeOrdinal = (int) ((packed >>> (PUBLICATION_ID_BITS + ITEM_ID_BITS)) & ITEM_TYPE_MASK);
+        if (typeOrdinal >= ITEM_TYPES.length) {
+            throw new IllegalArgumentException("Unable to unpack CMURI: " + packed);
+        }
+        return new CmUri(Namespace.valueById(namespaceId), (int) ((packed >>> ITEM_ID_BITS) & PUBLICATION_ID_MASK),
+                (int) (packed & ITEM_ID_MASK), ITEM_TYPES[typeOrdinal].getValue());
+    }
+
     private void load(String uriString) {
-        Matcher matcher = CM_URI_PATTERN.matcher(uriString);
-        if (!matcher.find()) {
+        int length = uriString.length();
+        int colon = uriString.indexOf(':');
+        if (colon <= 0) {
             throw new IllegalArgumentException("Unable to parse CMURI: " + uriString);
         }
+        this.namespace = Namespace.valueByName(uriString, colon);
 
-        this.namespace = Namespace.valueByName(matcher.group("namespace"));
-        this.pubId = valueOf(matcher.group("pubId"));
-        this.itemId = valueOf(matcher.group("itemId"));
-        String itemTypeStr = matcher.group("itemType");
-        if (Strings.isNullOrEmpty(itemTypeStr)) {
-            itemType = ItemTypes.COMPONENT.getValue();
-        } else {
+        int position = colon + 1;
+        int end = endOfNumber(uriString, position);
+        this.pubId = parseNumber(uriString, position, end);
+        boolean canonical = isCanonicalNumber(uriString, position, end);
+        position = expect(uriString, end, '-');
+        end = endOfNumber(uriString, position);
+        this.itemId = parseNumber(uriString, position, end);
+        canonical &= isCanonicalNumber(uriString, position, end);
+
+        boolean typePresent = false;
+        if (end < length && uriString.charAt(end) == '-' && end + 1 < length && uriString.charAt(end + 1) != 'v') {
+            position = end + 1;
+            end = endOfNumber(uriString, position);
             // assign itemType with validation
-            itemType = getById(valueOf(itemTypeStr)).getValue();
+            this.itemType = ItemTypes.getById(parseNumber(uriString, position, end)).getValue();
+            canonical &= isCanonicalNumber(uriString, position, end);
+            typePresent = true;
+        } else {
+            this.itemType = ItemTypes.COMPONENT.getValue();
+        }
+
+        if (end < length) {
+            position = expect(uriString, expect(uriString, end, '-'), 'v');
+            end = endOfNumber(uriString, position);
+            this.version = parseNumber(uriString, position, end);
+            canonical &= isCanonicalNumber(uriString, position, end);
+        }
+        if (end != length) {
+            throw new IllegalArgumentException("Unable to parse CMURI: " + uriString);
         }
+        if (canonical && typePresent) {
+            this.string = isShareable() ? StringTable.intern(toLong(), uriString) : uriString;
+        }
+    }
 
-        String versionStr = matcher.group("version");
-        if (!Strings.isNullOrEmpty(versionStr)) {
-            version = Optional.of(valueOf(versionStr));
+    private static int endOfNumber(String uriString, int position) {
+        int end = position;
+        while (end < uriString.length() && uriString.charAt(end) >= '0' && uriString.charAt(end) <= '9') {
+            end++;
         }
+        return end;
+    }
 
+    private static int parseNumber(String uriString, int start, int end) {
+        if (start == end) {
+            throw new IllegalArgumentException("Unable to parse CMURI: " + uriString);
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (uriString.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Unable to parse CMURI, number is too large: " + uriString);
+            }
+        }
+        return (int) value;
+    }
+
+    private static boolean isCanonicalNumber(String uriString, int start, int end) {
+        return end - start == 1 || uriString.charAt(start) != '0';
+    }
+
+    private static int expect(String uriString, int position, char expected) {
+        if (position >= uriString.length() || uriString.charAt(position) != expected) {
+            throw new IllegalArgumentException("Unable to parse CMURI: " + uriString);
+        }
+        return position + 1;
     }
 
     /**
@@ -72,11 +155,50 @@ public class CmUri {
      * @return A string representation of this <code>CMURI</code>.
      */
     public String toString() {
-        String versionStr = version.isPresent()
-                ? "-v" + getVersion()
-                : "";
-        return this.namespace.getName() + URI_SEPARATOR + this.pubId + SEPARATOR + this.itemId + SEPARATOR
-                + this.itemType + versionStr;
+        String result = string;
+        if (result == null && isShareable()) {
+            long packed = toLong();
+            result = StringTable.get(packed);
+            if (result == null) {
+                result = StringTable.intern(packed, build());
+            }
+            string = result;
+        } else if (result == null) {
+            result = build();
+            string = result;
+        }
+        return result;
+    }
+
+    private String build() {
+        StringBuilder builder = new StringBuilder(32)
+                .append(this.namespace.getName()).append(URI_SEPARATOR).append(this.pubId)
+                .append(SEPARATOR).append(this.itemId).append(SEPARATOR).append(this.itemType);
+        if (version != IDNULL.getValue()) {
+            builder.append("-v").append(version);
+        }
+        return builder.toString();
+    }
+
+    private boolean isShareable() {
+        return version == IDNULL.getValue() && pubId <= MAX_PACKED_PUBLICATION_ID;
+    }
+
+    /**
+     * Packs namespace, publication id, item id and item type of this URI into a long. The version is not packed.
+     *
+     * @return packed URI
+     * @throws IllegalStateException if publication id is greater than {@link #MAX_PACKED_PUBLICATION_ID}
+     */
+    public long toLong() {
+        if (pubId > MAX_PACKED_PUBLICATION_ID) {
+            throw new IllegalStateException("Publication id of " + this + " is too large to be packed");
+        }
+        long typeOrdinal = ItemTypes.getById(itemType).ordinal();
+        return ((long) namespace.getId() << (ITEM_TYPE_BITS + PUBLICATION_ID_BITS + ITEM_ID_BITS))
+                | (typeOrdinal << (PUBLICATION_ID_BITS + ITEM_ID_BITS))
+                | ((long) pubId << ITEM_ID_BITS)
+                | itemId;
     }
 
     public String getNamespace() {
@@ -120,7 +242,7 @@ public class CmUri {
      * @return The version.
      */
     public int getVersion() {
-        return version.orElse(IDNULL.getValue());
+        return version;
     }
 
     @Override
@@ -132,12 +254,55 @@ public class CmUri {
                 itemId == cmUri.itemId &&
                 itemType == cmUri.itemType &&
                 namespace == cmUri.namespace &&
-                Objects.equal(version, cmUri.version);
+                version == cmUri.version;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(namespace, pubId, itemId, itemType, version);
+        int result = namespace.hashCode();
+        result = 31 * result + pubId;
+        result = 31 * result + itemId;
+        result = 31 * result + itemType;
+        return 31 * result + version;
+    }
+
+    /**
+     * Direct-mapped table of string forms keyed by packed URI. A colliding URI replaces the previous entry, so the
+     * table never holds more than {@code SIZE} strings. Entries are immutable, so racing writers only cost a miss.
+     */
+    private static final class StringTable {
+        private static final int SIZE = 4096;
+        private static final Entry[] ENTRIES = new Entry[SIZE];
+
+        private static String get(long packed) {
+            Entry entry = ENTRIES[slot(packed)];
+            return entry != null && entry.packed == packed ? entry.string : null;
+        }
+
+        private static String intern(long packed, String string) {
+            int slot = slot(packed);
+            Entry entry = ENTRIES[slot];
+            if (entry != null && entry.packed == packed) {
+                return entry.string;
+            }
+            ENTRIES[slot] = new Entry(packed, string);
+            return string;
+        }
+
+        private static int slot(long packed) {
+            long mixed = packed * 0x9E3779B97F4A7C15L;
+            return (int) (mixed >>> 52) & (SIZE - 1);
+        }
+
+        private static final class Entry {
+            private final long packed;
+            private final String string;
+
+            private Entry(long packed, String string) {
+                this.packed = packed;
+                this.string = string;
+            }
+        }
     }
 
     /**
@@ -148,6 +313,7 @@ public class CmUri {
         DOCS("ish", 2);
 
         private static final Map<String, Namespace> namespaceByName = new HashMap<>();
+        private static final Namespace[] VALUES = values();
 
         static {
             for (Namespace namespace : Namespace.values()) {
@@ -178,5 +344,23 @@ public class CmUri {
             }
             return result;
         }
+
+        public static Namespace valueById(int id) {
+            for (Namespace namespace : VALUES) {
+                if (namespace.id == id) {
+                    return namespace;
+                }
+            }
+            throw new IllegalArgumentException("Unable to resolve namespace with id " + id);
+        }
+
+        static Namespace valueByName(String uri, int length) {
+            for (Namespace namespace : VALUES) {
+                if (namespace.name.length() == length && uri.startsWith(namespace.name)) {
+                    return namespace;
+                }
+            }
+            throw new IllegalArgumentException("Unable to resolve namespace '" + uri.substring(0, length) + "'");
+        }
     }
 }
\ No newline at end of file
@@ -1,8 +1,5 @@
 package com.sdl.web.pca.client.util;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public enum ItemTypes {
     NULL(0),
     IDNULL(-1),
@@ -24,13 +21,7 @@ public enum ItemTypes {
 
     private int value;
 
-    private static final Map<Integer, ItemTypes> itemTypeById = new HashMap<>();
-
-    static {
-        for (ItemTypes itemType : ItemTypes.values()) {
-            itemTypeById.put(itemType.value, itemType);
-        }
-    }
+    private static final ItemTypes[] VALUES = values();
 
     ItemTypes(int value) {
         this.value = value;
@@ -41,10 +32,12 @@ public enum ItemTypes {
     }
 
     public static ItemTypes getById(int id) {
-        ItemTypes result = itemTypeById.get(id);
-        if (result == null) {
-            throw new IllegalArgumentException("Unable to resolve item type for Id " + id);
+        // Linear scan of the few types avoids boxing the id for a map lookup
+        for (ItemTypes itemType : VALUES) {
+            if (itemType.value == id) {
+                return itemType;
+            }
         }
-        return result;
+        throw new IllegalArgumentException("Unable to resolve item type for Id " + id);
     }
 }
\ No newline at end of file
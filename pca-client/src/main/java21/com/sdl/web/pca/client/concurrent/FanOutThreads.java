@@ -0,0 +1,28 @@
+package com.sdl.web.pca.client.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Threads running {@link FanOut} calls on Java 21 and later, which are virtual threads, one per call.
+ * <p>
+ * A blocked virtual thread releases its carrier unless it blocks while holding a monitor. The request path of
+ * the client only uses {@code java.util.concurrent} locks, and so does Apache HttpClient, so calls do not pin
+ * carriers while waiting for the network.
+ */
+final class FanOutThreads {
+    static final boolean VIRTUAL = true;
+
+    /**
+     * Virtual threads are cheap, but every call in flight opens its own connection to the service, so calls are
+     * bounded in line with what a connection pool would allow.
+     */
+    static final int DEFAULT_CONCURRENCY = 64;
+
+    static final Executor EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("pca-fan-out-", 0)
+            .factory());
+
+    private FanOutThreads() {
+    }
+}
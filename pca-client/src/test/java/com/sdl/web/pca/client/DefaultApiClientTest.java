@@ -1,8 +1,13 @@
 package com.sdl.web.pca.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.web.pca.client.cache.DiskResponseCache;
+import com.sdl.web.pca.client.cache.NegativeCache;
 import com.sdl.web.pca.client.contentmodel.ContextData;
 import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.contentmodel.RawJson;
+import com.sdl.web.pca.client.contentmodel.RawJsonMap;
 import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
 import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
 import com.sdl.web.pca.client.contentmodel.enums.ContentType;
@@ -11,6 +16,7 @@ import com.sdl.web.pca.client.contentmodel.enums.DcpType;
 import com.sdl.web.pca.client.contentmodel.enums.PageInclusion;
 import com.sdl.web.pca.client.contentmodel.generated.Ancestor;
 import com.sdl.web.pca.client.contentmodel.generated.BinaryComponent;
+import com.sdl.web.pca.client.contentmodel.generated.ClaimValue;
 import com.sdl.web.pca.client.contentmodel.generated.Component;
 import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentation;
 import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentationConnection;
@@ -25,25 +31,45 @@ import com.sdl.web.pca.client.contentmodel.generated.Publication;
 import com.sdl.web.pca.client.contentmodel.generated.PublicationConnection;
 import com.sdl.web.pca.client.contentmodel.generated.PublicationMapping;
 import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import com.sdl.web.pca.client.modelserviceplugin.ClaimHelper;
+import com.sdl.web.pca.client.modelserviceplugin.ModelServiceClaimUris;
 import com.sdl.web.pca.client.request.GraphQLRequest;
+import com.sdl.web.pca.client.response.GraphQLResponse;
 import com.sdl.web.pca.client.util.CmUri;
 import com.sdl.web.pca.client.util.ItemTypes;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.sdl.web.pca.client.TestUtils.assertEqualsIgnoreSpaces;
 import static com.sdl.web.pca.client.TestUtils.loadFromResource;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -55,6 +81,9 @@ public class DefaultApiClientTest {
     @InjectMocks
     private DefaultApiClient publicContentApi = new DefaultApiClient(graphQlClient);
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 
 
     @Ignore("To be fixed")
@@ -85,6 +114,95 @@ public class DefaultApiClientTest {
         assertEquals("/index.html", result.getUrl());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void requestCarriesSettingsClaims() throws Exception {
+        when(graphQlClient.execute(any(GraphQLRequest.class)))
+                .thenReturn(loadFromResource("getPageById"));
+        publicContentApi.setDefaultModelType(DataModelType.DD4T);
+        ContextData contextData = new ContextData();
+        contextData.addClaimValue(ClaimHelper.createClaim(ContentType.RAW));
+
+        publicContentApi.getPage(ContentNamespace.Sites, 8, 640, "", ContentIncludeMode.INCLUDE_DATA, contextData);
+
+        ArgumentCaptor<GraphQLRequest> request = ArgumentCaptor.forClass(GraphQLRequest.class);
+        verify(graphQlClient).execute(request.capture());
+        Map<String, String> claims = new HashMap<>();
+        for (ClaimValue claim : (List<ClaimValue>) request.getValue().getVariables().get("contextData")) {
+            claims.put(claim.getUri(), claim.getValue());
+        }
+        assertEquals(4, claims.size());
+        assertEquals("DD4T", claims.get(ModelServiceClaimUris.MODEL_TYPE));
+        assertEquals("RAW", claims.get(ModelServiceClaimUris.CONTENT_TYPE));
+        assertSame(publicContentApi.getSettings().claims(), publicContentApi.getSettings().claims());
+        // Encoded base claims and serialized per-call claims end up in one array
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(request.getValue()));
+        JsonNode jsonClaims = json.get("variables").get("contextData");
+        assertEquals(4, jsonClaims.size());
+        assertEquals(request.getValue().getQuery(), json.get("query").textValue());
+        for (JsonNode claim : jsonClaims) {
+            assertEquals(claims.get(claim.get("uri").textValue()), claim.get("value").textValue());
+        }
+    }
+
+    @Test
+    public void getClaimsReturnsCopies() {
+        publicContentApi.setDefaultModelType(DataModelType.DD4T);
+
+        publicContentApi.getSettings().getClaims().get(ModelServiceClaimUris.MODEL_TYPE).setValue("R2");
+
+        assertEquals("DD4T", publicContentApi.getSettings().getClaims().get(ModelServiceClaimUris.MODEL_TYPE).getValue());
+        assertEquals("DD4T", ClaimHelper.sharedClaim(DataModelType.DD4T).getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void requestCarriesClaimsAddedToGlobalContextData() throws Exception {
+        when(graphQlClient.execute(any(GraphQLRequest.class)))
+                .thenReturn(loadFromResource("getPageById"));
+        assertNotSame(publicContentApi.getGlobalContextData(),
+                new DefaultApiClient(graphQlClient).getGlobalContextData());
+        assertSame(publicContentApi.getGlobalContextData(), publicContentApi.getGlobalContextData());
+        Map<String, ClaimValue> before = publicContentApi.getSettings().getClaims();
+
+        ClaimValue claim = new ClaimValue();
+        claim.setUri("taf:claim:custom");
+        claim.setValue("first");
+        publicContentApi.getGlobalContextData().addClaimValue(claim);
+        assertEquals("first", publicContentApi.getSettings().getClaims().get("taf:claim:custom").getValue());
+        claim.setValue("second");
+        publicContentApi.getPage(ContentNamespace.Sites, 8, 640, "", ContentIncludeMode.INCLUDE_DATA, null);
+
+        ArgumentCaptor<GraphQLRequest> request = ArgumentCaptor.forClass(GraphQLRequest.class);
+        verify(graphQlClient).execute(request.capture());
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(request.getValue()));
+        Map<String, String> claims = new HashMap<>();
+        for (JsonNode sent : json.get("variables").get("contextData")) {
+            claims.put(sent.get("uri").textValue(), sent.get("value").textValue());
+        }
+        assertEquals("second", claims.get("taf:claim:custom"));
+        assertEquals(before.size() + 1, claims.size());
+    }
+
+    @Test
+    public void getPageRawContentData() throws Exception {
+        when(graphQlClient.execute(any(GraphQLRequest.class)))
+                .thenReturn(loadFromResource("getPageById"));
+
+        Page result = publicContentApi.getPage(ContentNamespace.Sites, 8, 640,
+                "", ContentIncludeMode.INCLUDE_DATA, new ContextData());
+
+        // Generated model is bound through a mixin, so data is kept as a slice of the response until accessed
+        assertTrue(result.getRawContent().getData() instanceof RawJsonMap);
+        RawJson data = RawJson.of(result.getRawContent().getData());
+        assertEquals('{', (char) data.asByteBuffer().get(0));
+        assertEquals("Home", data.asJsonNode().get("Title").asText());
+        assertEquals("Home", result.getRawContent().getData().get("Title"));
+        assertEquals(data.asJsonNode(), new ObjectMapper().readTree(data.toByteArray()));
+    }
+
     @Test
     public void getPageByUrl() throws Exception {
         when(graphQlClient.execute(any(GraphQLRequest.class)))
@@ -99,6 +217,58 @@ public class DefaultApiClientTest {
         assertEquals("/index.html", result.getUrl());
     }
 
+    @Test
+    public void remembersMissingPages() throws Exception {
+        when(graphQlClient.execute(any(GraphQLRequest.class))).thenReturn("{\"data\":{\"page\":null}}");
+        publicContentApi.setNegativeCache(new NegativeCache(1, TimeUnit.MINUTES));
+
+        assertNull(publicContentApi.getPage(ContentNamespace.Sites, 8, "/wp-login.php", "",
+                ContentIncludeMode.INCLUDE_DATA, null));
+        assertNull(publicContentApi.getPage(ContentNamespace.Sites, 8, "/wp-login.php", "",
+                ContentIncludeMode.INCLUDE_DATA, null));
+        assertTrue(publicContentApi.getPageModelData(ContentNamespace.Sites, 8, "/wp-login.php", ContentType.MODEL,
+                DataModelType.R2, PageInclusion.INCLUDE, ContentIncludeMode.INCLUDE_DATA, null).isMissingNode());
+
+        verify(graphQlClient, times(1)).execute(any(GraphQLRequest.class));
+        assertEquals(2, publicContentApi.getNegativeCache().getHits());
+    }
+
+    @Test
+    public void remembersOnlyPagesWhichDoNotExist() throws Exception {
+        when(graphQlClient.executeForBytes(any(GraphQLRequest.class)))
+                .thenReturn("{\"data\":{\"page\":{\"rawContent\":null}}}".getBytes(UTF_8));
+        when(graphQlClient.execute(any(GraphQLRequest.class)))
+                .thenReturn("{\"data\":{\"page\":null},\"errors\":[{\"message\":\"Timeout\"}]}");
+        publicContentApi.setNegativeCache(new NegativeCache(1, TimeUnit.MINUTES));
+
+        // Page without model data exists
+        assertNull(publicContentApi.getRawPageModelData(ContentNamespace.Sites, 8, "/index.html", ContentType.MODEL,
+                DataModelType.R2, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE, null));
+        // A failed query tells nothing about the page
+        assertNull(publicContentApi.getPage(ContentNamespace.Sites, 8, "/index.html", "",
+                ContentIncludeMode.INCLUDE_DATA, null));
+        assertNull(publicContentApi.getPage(ContentNamespace.Sites, 8, "/index.html", "",
+                ContentIncludeMode.INCLUDE_DATA, null));
+
+        verify(graphQlClient, times(2)).execute(any(GraphQLRequest.class));
+        assertEquals(0, publicContentApi.getNegativeCache().getHits());
+    }
+
+    @Test
+    public void requestsIndexedPagesById() throws Exception {
+        when(graphQlClient.execute(any(GraphQLRequest.class))).thenReturn(loadFromResource("getPageById"));
+        publicContentApi.setPageIdResolver((ns, publicationId, url) -> "/index.html".equals(url) ? 640 : -1);
+
+        Page result = publicContentApi.getPage(ContentNamespace.Sites, 8, "/index.html",
+                "", ContentIncludeMode.INCLUDE_DATA, null);
+
+        assertEquals(640, result.getItemId());
+        ArgumentCaptor<GraphQLRequest> request = ArgumentCaptor.forClass(GraphQLRequest.class);
+        verify(graphQlClient).execute(request.capture());
+        assertEquals(640, request.getValue().getVariables().get("pageId"));
+        assertNull(request.getValue().getVariables().get("url"));
+    }
+
     @Test
     public void getPageByCmUri() throws Exception {
         when(graphQlClient.execute(any(GraphQLRequest.class)))
@@ -151,6 +321,116 @@ public class DefaultApiClientTest {
         assertEqualsIgnoreSpaces(expected, result.toString());
     }
 
+    @Test
+    public void getCanonicalizedPageModelData() throws Exception {
+        String expected = loadFromResource("getPageModelDataByIdExpected");
+        when(graphQlClient.execute(any(GraphQLRequest.class)))
+                .thenReturn(loadFromResource("getPageModelDataById"));
+        publicContentApi.setCanonicalizing(true);
+
+        JsonNode first = publicContentApi.getPageModelData(ContentNamespace.Sites, 1082, 640,
+                ContentType.MODEL, DataModelType.DD4T, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE, new ContextData());
+        JsonNode second = publicContentApi.getPageModelData(ContentNamespace.Sites, 1082, 640,
+                ContentType.MODEL, DataModelType.DD4T, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE, new ContextData());
+
+        assertEqualsIgnoreSpaces(expected, first.toString());
+        assertSame(first.get("Title").textValue(), second.get("Title").textValue());
+    }
+
+    @Test
+    public void getPageModelDataFromResponseCache() throws Exception {
+        String expected = loadFromResource("getPageModelDataByIdExpected");
+        when(graphQlClient.executeConditional(any(GraphQLRequest.class), anyString(), anyString()))
+                .thenReturn(GraphQLResponse.of(loadFromResource("getPageModelDataById").getBytes(UTF_8)));
+
+        try (DiskResponseCache cache = new DiskResponseCache(temporaryFolder.getRoot().toPath())) {
+            publicContentApi.setResponseCache(cache, 1, TimeUnit.MINUTES);
+            for (int i = 0; i < 3; i++) {
+                JsonNode result = publicContentApi.getPageModelData(ContentNamespace.Sites, 1082, 640,
+                        ContentType.MODEL, DataModelType.DD4T, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE,
+                        new ContextData());
+                assertEqualsIgnoreSpaces(expected, result.toString());
+            }
+        }
+
+        // Responses survive reopening of the cache
+        try (DiskResponseCache cache = new DiskResponseCache(temporaryFolder.getRoot().toPath())) {
+            publicContentApi.setResponseCache(cache, 1, TimeUnit.MINUTES);
+            RawJson result = publicContentApi.getRawPageModelData(ContentNamespace.Sites, 1082, 640,
+                    ContentType.MODEL, DataModelType.DD4T, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE,
+                    new ContextData());
+            assertEqualsIgnoreSpaces(expected, result.asJsonNode().toString());
+        }
+        verify(graphQlClient, times(1)).executeConditional(any(GraphQLRequest.class), anyString(), anyString());
+    }
+
+    @Test
+    public void revalidateExpiredPageModelData() throws Exception {
+        String expected = loadFromResource("getPageModelDataByIdExpected");
+        byte[] body = loadFromResource("getPageModelDataById").getBytes(UTF_8);
+        when(graphQlClient.executeConditional(any(GraphQLRequest.class), anyString(), anyString()))
+                .thenReturn(new GraphQLResponse(body, "\"v1\"", null, 0))
+                .thenReturn(new GraphQLResponse(null, null, null, 60));
+
+        try (DiskResponseCache cache = new DiskResponseCache(temporaryFolder.getRoot().toPath())) {
+            publicContentApi.setResponseCache(cache, 1, TimeUnit.MINUTES);
+            for (int i = 0; i < 3; i++) {
+                JsonNode result = publicContentApi.getPageModelData(ContentNamespace.Sites, 1082, 640,
+                        ContentType.MODEL, DataModelType.DD4T, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE,
+                        new ContextData());
+                assertEqualsIgnoreSpaces(expected, result.toString());
+            }
+        }
+        // max-age=0 forces revalidation of the second call, the not modified answer keeps it for a minute
+        verify(graphQlClient).executeConditional(any(GraphQLRequest.class), isNull(String.class),
+                isNull(String.class));
+        verify(graphQlClient).executeConditional(any(GraphQLRequest.class), eq("\"v1\""), isNull(String.class));
+    }
+
+    @Test
+    public void doNotStorePageModelDataMarkedNoStore() throws Exception {
+        byte[] body = loadFromResource("getPageModelDataById").getBytes(UTF_8);
+        when(graphQlClient.executeConditional(any(GraphQLRequest.class), anyString(), anyString()))
+                .thenReturn(new GraphQLResponse(body, "\"v1\"", null, GraphQLResponse.NO_STORE));
+
+        try (DiskResponseCache cache = new DiskResponseCache(temporaryFolder.getRoot().toPath())) {
+            publicContentApi.setResponseCache(cache, 1, TimeUnit.MINUTES);
+            for (int i = 0; i < 3; i++) {
+                getPageModelData640();
+            }
+            assertEquals(0, cache.size());
+        }
+        // Validators of a response which is not stored are never sent back
+        verify(graphQlClient, times(3)).executeConditional(any(GraphQLRequest.class), isNull(String.class),
+                isNull(String.class));
+    }
+
+    @Test
+    public void invalidateCachedPageModelData() throws Exception {
+        when(graphQlClient.executeConditional(any(GraphQLRequest.class), anyString(), anyString()))
+                .thenReturn(GraphQLResponse.of(loadFromResource("getPageModelDataById").getBytes(UTF_8)));
+
+        try (DiskResponseCache cache = new DiskResponseCache(temporaryFolder.getRoot().toPath())) {
+            publicContentApi.setResponseCache(cache, 1, TimeUnit.MINUTES);
+            getPageModelData640();
+            assertEquals(0, publicContentApi.invalidate(new CmUri("tcm:1082-9999")));
+            assertEquals(0, publicContentApi.invalidatePublication(ContentNamespace.Sites, 7));
+
+            // Component found in the page model
+            assertEquals(1, publicContentApi.invalidate(new CmUri("tcm:1082-1467-16-v3")));
+            getPageModelData640();
+            assertEquals(1, publicContentApi.invalidate(new CmUri("tcm:1082-640-64")));
+            getPageModelData640();
+            assertEquals(1, publicContentApi.invalidatePublication(ContentNamespace.Sites, 1082));
+        }
+        verify(graphQlClient, times(3)).executeConditional(any(GraphQLRequest.class), anyString(), anyString());
+    }
+
+    private void getPageModelData640() {
+        publicContentApi.getPageModelData(ContentNamespace.Sites, 1082, 640, ContentType.MODEL, DataModelType.DD4T,
+                PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE, new ContextData());
+    }
+
     @Test
     public void getEntityModelData() throws Exception {
         String expected = loadFromResource("getEntityModelDataExpected");
@@ -163,6 +443,44 @@ public class DefaultApiClientTest {
         assertEqualsIgnoreSpaces(expected, result.toString());
     }
 
+    @Test
+    public void getRawPageModelData() throws Exception {
+        String expected = loadFromResource("getPageModelDataByIdExpected");
+        when(graphQlClient.executeForBytes(any(GraphQLRequest.class)))
+                .thenReturn(loadFromResource("getPageModelDataById").getBytes(UTF_8));
+
+        RawJson result = publicContentApi.getRawPageModelData(ContentNamespace.Sites, 1082, 640,
+                ContentType.MODEL, DataModelType.DD4T, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE, new ContextData());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.writeTo(out);
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(expected), mapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    public void getRawEntityModelData() throws Exception {
+        String expected = loadFromResource("getEntityModelDataExpected");
+        when(graphQlClient.executeForBytes(any(GraphQLRequest.class)))
+                .thenReturn(loadFromResource("getEntityModelData").getBytes(UTF_8));
+
+        RawJson result = publicContentApi.getRawEntityModelData(ContentNamespace.Sites, 8, 1458, 9195,
+                ContentType.MODEL, DataModelType.R2, DcpType.DEFAULT, ContentIncludeMode.EXCLUDE, new ContextData());
+
+        assertEquals(new ObjectMapper().readTree(expected), result.asJsonNode());
+    }
+
+    @Test
+    public void getRawPageModelDataMissing() throws Exception {
+        when(graphQlClient.executeForBytes(any(GraphQLRequest.class)))
+                .thenReturn("{\"data\":{\"page\":null}}".getBytes(UTF_8));
+
+        RawJson result = publicContentApi.getRawPageModelData(ContentNamespace.Sites, 1082, "/missing.html",
+                ContentType.MODEL, DataModelType.R2, PageInclusion.INCLUDE, ContentIncludeMode.EXCLUDE, new ContextData());
+
+        assertNull(result);
+    }
+
     @Test
     public void getSitemap() throws Exception {
         when(graphQlClient.execute(any(GraphQLRequest.class)))
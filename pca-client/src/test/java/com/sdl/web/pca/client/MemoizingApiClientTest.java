@@ -0,0 +1,154 @@
+package com.sdl.web.pca.client;
+
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.enums.ContentType;
+import com.sdl.web.pca.client.contentmodel.enums.DataModelType;
+import com.sdl.web.pca.client.contentmodel.generated.Publication;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.modelserviceplugin.ClaimHelper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MemoizingApiClientTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    @Test
+    public void executesEqualCallsOnce() {
+        Publication publication = new Publication();
+        when(apiClient.getPublication(ContentNamespace.Sites, 1, null, null)).thenReturn(publication);
+
+        try (MemoizingApiClient render = new MemoizingApiClient(apiClient)) {
+            assertSame(publication, render.getPublication(ContentNamespace.Sites, 1, null, null));
+            assertSame(publication, render.getPublication(ContentNamespace.Sites, 1, null, null));
+            assertNull(render.resolveComponentLink(ContentNamespace.Sites, 1, 2, null, null, true));
+            assertNull(render.resolveComponentLink(ContentNamespace.Sites, 1, 2, null, null, true));
+            render.resolveComponentLink(ContentNamespace.Sites, 1, 3, null, null, true);
+
+            assertEquals(2, render.getHits());
+        }
+        verify(apiClient, times(1)).getPublication(ContentNamespace.Sites, 1, null, null);
+        verify(apiClient, times(1)).resolveComponentLink(ContentNamespace.Sites, 1, 2, null, null, true);
+        verify(apiClient, times(1)).resolveComponentLink(ContentNamespace.Sites, 1, 3, null, null, true);
+    }
+
+    @Test
+    public void forgetsFailuresAndResultsAfterClose() {
+        when(apiClient.getPublication(ContentNamespace.Sites, 1, null, null))
+                .thenThrow(new ApiClientException("Service unavailable"))
+                .thenReturn(new Publication());
+
+        MemoizingApiClient render = new MemoizingApiClient(apiClient);
+        try {
+            render.getPublication(ContentNamespace.Sites, 1, null, null);
+        } catch (ApiClientException e) {
+            assertEquals("Service unavailable", e.getMessage());
+        }
+        render.getPublication(ContentNamespace.Sites, 1, null, null);
+        render.getPublication(ContentNamespace.Sites, 1, null, null);
+        render.close();
+        render.getPublication(ContentNamespace.Sites, 1, null, null);
+
+        verify(apiClient, times(3)).getPublication(ContentNamespace.Sites, 1, null, null);
+    }
+
+    @Test
+    public void matchesContextDataByClaims() {
+        when(apiClient.getPublication(any(ContentNamespace.class), anyInt(), anyString(), any(ContextData.class)))
+                .thenReturn(new Publication());
+        ContextData contextData = new ContextData();
+        contextData.addClaimValue(ClaimHelper.createClaim(ContentType.RAW));
+        ContextData equalContextData = new ContextData();
+        equalContextData.addClaimValue(ClaimHelper.createClaim(ContentType.RAW));
+
+        try (MemoizingApiClient render = new MemoizingApiClient(apiClient)) {
+            render.getPublication(ContentNamespace.Sites, 1, null, contextData);
+            render.getPublication(ContentNamespace.Sites, 1, null, equalContextData);
+            assertEquals(1, render.getHits());
+
+            contextData.addClaimValue(ClaimHelper.createClaim(DataModelType.DD4T));
+            render.getPublication(ContentNamespace.Sites, 1, null, contextData);
+            assertEquals(1, render.getHits());
+        }
+        verify(apiClient, times(2)).getPublication(eq(ContentNamespace.Sites), eq(1), anyString(),
+                any(ContextData.class));
+    }
+
+    @Test
+    public void doesNotRememberPagedQueries() {
+        Pagination pagination = new Pagination();
+        pagination.setFirst(10);
+
+        try (MemoizingApiClient render = new MemoizingApiClient(apiClient)) {
+            render.getPublications(ContentNamespace.Sites, pagination, null, null, null);
+            pagination.setAfter("9");
+            render.getPublications(ContentNamespace.Sites, pagination, null, null, null);
+        }
+        verify(apiClient, times(2)).getPublications(ContentNamespace.Sites, pagination, null, null, null);
+    }
+
+    @Test
+    public void releasesWaitingCallersWhenCallFailsWithError() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        when(apiClient.getPublication(ContentNamespace.Sites, 1, null, null)).thenAnswer(invocation -> {
+            started.countDown();
+            fail.await();
+            throw new AssertionError("Failure");
+        });
+
+        try (MemoizingApiClient render = new MemoizingApiClient(apiClient)) {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<?> first = executor.submit(() -> render.getPublication(ContentNamespace.Sites, 1, null, null));
+                started.await();
+                Future<?> second = executor.submit(() -> render.getPublication(ContentNamespace.Sites, 1, null,
+                        null));
+                while (render.getHits() == 0) {
+                    Thread.sleep(1);
+                }
+                fail.countDown();
+                assertFailsWithError(first);
+                assertFailsWithError(second);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void assertFailsWithError(Future<?> future) throws InterruptedException, TimeoutException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Call should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sdl.web.pca.client.cache;
+
+import com.sdl.web.pca.client.request.GraphQLRequest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+public class CacheTagsTest {
+
+    @Test
+    public void skipsNumbersOutOfIntRange() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("namespaceId", 1);
+        variables.put("publicationId", 5);
+        String response = "{\"data\":{\"page\":{\"lastPublishDate\":1700000000000,\"itemId\":640," +
+                "\"componentPresentations\":[{\"size\":12345678901234567890,\"itemId\":756,\"itemType\":16}]}}}";
+
+        Set<String> tags = CacheTags.of(new GraphQLRequest("query", variables), response.getBytes(UTF_8));
+
+        assertEquals(new HashSet<>(Arrays.asList("tcm:0-5-1", "tcm:5-640-64", "tcm:5-756-16")), tags);
+    }
+}
@@ -0,0 +1,107 @@
+package com.sdl.web.pca.client.cache;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentIncludeMode;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.enums.ContentType;
+import com.sdl.web.pca.client.contentmodel.enums.DataModelType;
+import com.sdl.web.pca.client.contentmodel.enums.DcpType;
+import com.sdl.web.pca.client.contentmodel.enums.PageInclusion;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheWarmerTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    @Test
+    public void loadsAllEntriesAndReportsFailures() throws IOException {
+        WarmUpManifest manifest = WarmUpManifest.read(new BufferedReader(new StringReader(
+                "# top pages\n" +
+                "page Sites 5 /index.html\n" +
+                "page 1 5 /missing.html\n" +
+                "\n" +
+                "entity Sites 5 1458 9195\n" +
+                "mapping Docs http://localhost:8882/\n")));
+        when(apiClient.getPageModelData(eq(ContentNamespace.Sites), eq(5), eq("/missing.html"),
+                any(ContentType.class), any(DataModelType.class), any(PageInclusion.class),
+                any(ContentIncludeMode.class), any(ContextData.class)))
+                .thenThrow(new ApiClientException("Not found"));
+
+        AtomicInteger progress = new AtomicInteger();
+        AtomicInteger reportedTotal = new AtomicInteger();
+        CacheWarmer warmer = new CacheWarmer(apiClient, 2, 0);
+        warmer.setModelType(DataModelType.DD4T);
+        WarmUpResult result = warmer.warmUp(manifest, new WarmUpListener() {
+            @Override
+            public void onLoaded(WarmUpManifest.Entry entry, int completed, int total) {
+                progress.incrementAndGet();
+                reportedTotal.set(total);
+            }
+        });
+
+        assertEquals(4, result.getTotal());
+        assertEquals(3, result.getLoaded());
+        assertEquals(3, progress.get());
+        assertEquals(4, reportedTotal.get());
+        WarmUpManifest.Entry failed = result.getFailures().keySet().iterator().next();
+        assertEquals("page Sites 5 /missing.html", failed.toString());
+
+        verify(apiClient).getPageModelData(ContentNamespace.Sites, 5, "/index.html", null, DataModelType.DD4T,
+                PageInclusion.INCLUDE, ContentIncludeMode.INCLUDE_DATA_AND_RENDER, null);
+        verify(apiClient).getEntityModelData(ContentNamespace.Sites, 5, 1458, 9195, null, DataModelType.DD4T,
+                DcpType.DEFAULT, ContentIncludeMode.INCLUDE_DATA_AND_RENDER, null);
+        verify(apiClient).getPublicationMapping(ContentNamespace.Docs, "http://localhost:8882/");
+    }
+
+    @Test
+    public void countsEntryOnceWhenListenerFails() throws IOException {
+        WarmUpManifest manifest = WarmUpManifest.read(new BufferedReader(new StringReader(
+                "entity Sites 5 1458 9195\n" +
+                "entity Sites 5 1459 9195\n")));
+
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger lastCompleted = new AtomicInteger();
+        CacheWarmer warmer = new CacheWarmer(apiClient, 1, 0);
+        WarmUpResult result = warmer.warmUp(manifest, new WarmUpListener() {
+            @Override
+            public void onLoaded(WarmUpManifest.Entry entry, int completed, int total) {
+                lastCompleted.set(completed);
+                throw new IllegalStateException("Listener failure");
+            }
+
+            @Override
+            public void onFailed(WarmUpManifest.Entry entry, Exception error, int completed, int total) {
+                failed.incrementAndGet();
+            }
+        });
+
+        assertEquals(2, result.getLoaded());
+        assertEquals(0, result.getFailures().size());
+        assertEquals(0, failed.get());
+        assertEquals(2, lastCompleted.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMalformedManifest() throws IOException {
+        WarmUpManifest.read(new BufferedReader(new StringReader("entity Sites 5 1458\n")));
+    }
+}
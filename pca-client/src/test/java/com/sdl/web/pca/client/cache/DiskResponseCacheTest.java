@@ -0,0 +1,199 @@
+package com.sdl.web.pca.client.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DiskResponseCacheTest {
+    private static final long FUTURE = Long.MAX_VALUE;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void keepsResponsesAcrossRestarts() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put("a", response("first", FUTURE));
+            cache.put("b", response("second", 1234));
+            cache.put("a", response("replaced", FUTURE));
+            cache.put("c", response("removed", FUTURE));
+            cache.invalidate("c");
+            assertEquals("replaced", body(cache.get("a")));
+        }
+
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals(2, cache.size());
+            assertEquals("replaced", body(cache.get("a")));
+            assertEquals("second", body(cache.get("b")));
+            assertEquals(1234, cache.get("b").getExpiresAt());
+            assertTrue(cache.get("b").isExpired(System.currentTimeMillis()));
+            assertNull(cache.get("c"));
+        }
+    }
+
+    @Test
+    public void keepsTagsAndValidatorsAcrossRestarts() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put("a", new CachedResponse("a".getBytes(UTF_8), FUTURE,
+                    new HashSet<>(Arrays.asList("tcm:0-5-1", "tcm:5-640-64"))));
+            cache.put("b", new CachedResponse("b".getBytes(UTF_8), FUTURE, Collections.singleton("tcm:0-5-1")));
+            cache.put("c", new CachedResponse("c".getBytes(UTF_8), FUTURE, Collections.singleton("tcm:0-6-1"),
+                    "\"v1\"", null));
+        }
+
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals(Collections.singleton("tcm:0-6-1"), cache.get("c").getTags());
+            assertEquals("\"v1\"", cache.get("c").getEtag());
+            assertNull(cache.get("c").getLastModified());
+            assertEquals(1, cache.invalidateTag("tcm:5-640-64"));
+            assertNull(cache.get("a"));
+            assertEquals(1, cache.invalidateTag("tcm:0-5-1"));
+            assertEquals(0, cache.invalidateTag("tcm:0-5-1"));
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    public void cutsOffTornRecord() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put("a", response("kept", FUTURE));
+            cache.put("b", response("torn", FUTURE));
+        }
+        Path segment = directory.resolve(DiskResponseCache.SEGMENT_FILE);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals("kept", body(cache.get("a")));
+            assertNull(cache.get("b"));
+            cache.put("c", response("appended", FUTURE));
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals(2, cache.size());
+            assertEquals("appended", body(cache.get("c")));
+        }
+    }
+
+    @Test
+    public void compactsReplacedAndExpiredRecords() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path segment = directory.resolve(DiskResponseCache.SEGMENT_FILE);
+        String large = new String(new char[64 * 1024]).replace('\0', 'x');
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put("expired", response("old", 1));
+            for (int i = 0; i < 40; i++) {
+                cache.put("a", response(large + i, FUTURE));
+            }
+            assertEquals(large + 39, body(cache.get("a")));
+
+            cache.compact();
+            assertTrue(segment.toFile().length() < 2L * large.length());
+            assertEquals(1, cache.size());
+            assertNull(cache.get("expired"));
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals(large + 39, body(cache.get("a")));
+        }
+    }
+
+    @Test
+    public void keepsRecordsAppendedDuringBackgroundCompaction() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path segment = directory.resolve(DiskResponseCache.SEGMENT_FILE);
+        String large = new String(new char[64 * 1024]).replace('\0', 'x');
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            for (int i = 0; i < 200; i++) {
+                cache.put("a", response(large + i, FUTURE));
+                cache.put("key" + i, response("value" + i, FUTURE));
+            }
+            assertEquals(large + 199, body(cache.get("a")));
+            long deadline = System.currentTimeMillis() + 10000;
+            while (segment.toFile().length() > 40L * large.length() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(segment.toFile().length() < 40L * large.length());
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals(201, cache.size());
+            assertEquals(large + 199, body(cache.get("a")));
+            for (int i = 0; i < 200; i++) {
+                assertEquals("value" + i, body(cache.get("key" + i)));
+            }
+        }
+    }
+
+    @Test
+    public void clearsResponses() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put("a", response("value", FUTURE));
+            cache.clear();
+            assertNull(cache.get("a"));
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void refusesDirectoryUsedByAnotherCache() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put("a", response("value", FUTURE));
+            try {
+                new DiskResponseCache(directory).close();
+                fail("Directory should be locked by the open cache");
+            } catch (IOException expected) {
+                // Segment of the open cache is left alone
+            }
+            assertEquals("value", body(cache.get("a")));
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            assertEquals("value", body(cache.get("a")));
+        }
+    }
+
+    @Test
+    public void skipsResponsesTooLongToStore() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        String tooLong = new String(new char[70000]).replace('\0', 'x');
+        try (DiskResponseCache cache = new DiskResponseCache(directory)) {
+            cache.put(tooLong, response("key", FUTURE));
+            cache.put("tag", new CachedResponse("tag".getBytes(UTF_8), FUTURE, Collections.singleton(tooLong)));
+            cache.put("etag", new CachedResponse("etag".getBytes(UTF_8), FUTURE, Collections.emptySet(),
+                    tooLong, null));
+            cache.put("a", response("value", FUTURE));
+
+            assertEquals(1, cache.size());
+            assertNull(cache.get(tooLong));
+            assertNull(cache.get("tag"));
+            assertNull(cache.get("etag"));
+        }
+    }
+
+    private static CachedResponse response(String body, long expiresAt) {
+        return new CachedResponse(body.getBytes(UTF_8), expiresAt);
+    }
+
+    private static String body(CachedResponse response) {
+        return new String(response.getBody(), UTF_8);
+    }
+}
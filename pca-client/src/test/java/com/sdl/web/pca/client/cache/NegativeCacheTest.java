@@ -0,0 +1,82 @@
+package com.sdl.web.pca.client.cache;
+
+import com.google.common.base.Ticker;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NegativeCacheTest {
+    private final AtomicLong time = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+
+    @Test
+    public void forgetsMissesAfterTimeToLive() {
+        NegativeCache cache = new NegativeCache(10, TimeUnit.SECONDS, 100, 0, 0.01, ticker);
+        String key = NegativeCache.pageKey(ContentNamespace.Sites, 8, "/wp-login.php");
+        cache.putMissing(key);
+
+        assertTrue(cache.isMissing(key));
+        assertFalse(cache.isMissing(NegativeCache.binaryKey(ContentNamespace.Sites, 8, "/wp-login.php")));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertFalse(cache.isMissing(key));
+    }
+
+    @Test
+    public void keepsPushedOutMissesInFilters() {
+        NegativeCache cache = new NegativeCache(10, TimeUnit.SECONDS, 10, 10_000, 0.0001, ticker);
+        for (int i = 0; i < 1000; i++) {
+            cache.putMissing(NegativeCache.pageKey(ContentNamespace.Sites, 8, "/probe-" + i));
+        }
+        String first = NegativeCache.pageKey(ContentNamespace.Sites, 8, "/probe-0");
+
+        assertTrue(cache.isMissing(first));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        // The filter is replaced, but misses in it are kept for another time to live
+        assertTrue(cache.isMissing(first));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertFalse(cache.isMissing(first));
+    }
+
+    @Test
+    public void replacesFullFilterEarly() {
+        NegativeCache cache = new NegativeCache(10, TimeUnit.SECONDS, 10, 100, 0.01, ticker);
+        for (int i = 0; i < 100_000; i++) {
+            cache.putMissing(NegativeCache.pageKey(ContentNamespace.Sites, 8, "/probe-" + i));
+        }
+
+        // A filter holding all probes would report nearly every URL missing
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (cache.isMissing(NegativeCache.pageKey(ContentNamespace.Sites, 8, "/page-" + i + ".html"))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positives: " + falsePositives, falsePositives < 50);
+        assertTrue(cache.isMissing(NegativeCache.pageKey(ContentNamespace.Sites, 8, "/probe-99999")));
+    }
+
+    @Test
+    public void forgetsMissesOfPublication() {
+        NegativeCache cache = new NegativeCache(10, TimeUnit.SECONDS, 100, 0, 0.01, ticker);
+        String key = NegativeCache.pageKey(ContentNamespace.Sites, 8, "/new-page.html");
+        String other = NegativeCache.pageKey(ContentNamespace.Sites, 5, "/new-page.html");
+        cache.putMissing(key);
+        cache.putMissing(other);
+
+        cache.invalidatePublication(ContentNamespace.Sites, 8);
+
+        assertFalse(cache.isMissing(key));
+        assertTrue(cache.isMissing(other));
+    }
+}
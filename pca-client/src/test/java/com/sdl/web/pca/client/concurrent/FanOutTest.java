@@ -0,0 +1,52 @@
+package com.sdl.web.pca.client.concurrent;
+
+import com.sdl.web.pca.client.exception.ApiClientException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FanOutTest {
+
+    @Test
+    public void mapsInParallelKeepingOrder() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Integer> results = new FanOut(2).map(Arrays.asList(3, 1, 2, 5, 4), input -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return input * 10;
+        });
+
+        assertEquals(Arrays.asList(30, 10, 20, 50, 40), results);
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void rethrowsFailureAfterAllCalls() {
+        AtomicInteger completed = new AtomicInteger();
+        try {
+            new FanOut().map(Arrays.asList(1, 2, 3), input -> {
+                if (input == 2) {
+                    throw new ApiClientException("failed " + input);
+                }
+                return completed.incrementAndGet();
+            });
+            fail("Failure is expected");
+        } catch (ApiClientException e) {
+            assertEquals("failed 2", e.getMessage());
+            assertEquals(2, completed.get());
+        }
+    }
+}
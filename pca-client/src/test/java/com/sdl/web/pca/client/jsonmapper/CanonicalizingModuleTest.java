@@ -0,0 +1,86 @@
+package com.sdl.web.pca.client.jsonmapper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sdl.web.pca.client.contentmodel.generated.ComponentPresentation;
+import com.sdl.web.pca.client.contentmodel.generated.Template;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CanonicalizingModuleTest {
+    private static final String PRESENTATIONS = "[" +
+            "{\"title\":\"Article\",\"creationDate\":\"2018-04-16T12:00:00.000Z\"," +
+            "\"componentTemplate\":{\"itemId\":9195,\"title\":\"Article\"}}," +
+            "{\"title\":\"Article\",\"creationDate\":\"2018-04-16T12:00:00.000Z\"," +
+            "\"componentTemplate\":{\"itemId\":9195,\"title\":\"Article\"}}," +
+            "{\"title\":\"Teaser\",\"componentTemplate\":{\"itemId\":9196,\"title\":\"Teaser\"}}]";
+
+    private ObjectMapper mapper;
+
+    @Before
+    public void setup() {
+        CanonicalizingModule module = new CanonicalizingModule();
+        mapper = new ObjectMapper().registerModule(module).setNodeFactory(module.getNodeFactory());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Test
+    public void sharesRepeatedStringsButNotModifiableBeans() throws IOException {
+        ComponentPresentation[] presentations = mapper.readValue(PRESENTATIONS, ComponentPresentation[].class);
+
+        assertSame(presentations[0].getTitle(), presentations[1].getTitle());
+        assertSame(presentations[0].getTitle(), presentations[0].getComponentTemplate().getTitle());
+        assertSame(presentations[0].getCreationDate(), presentations[1].getCreationDate());
+        assertNotSame(presentations[0].getComponentTemplate(), presentations[1].getComponentTemplate());
+        assertEquals(9196, presentations[2].getComponentTemplate().getItemId());
+    }
+
+    @Test
+    public void sharesStructurallyEqualUnmodifiableObjects() throws IOException {
+        CanonicalizingModule module = new CanonicalizingModule(16, 16,
+                Collections.<Class<?>>singletonList(TemplateRef.class));
+        ObjectMapper sharingMapper = new ObjectMapper().registerModule(module);
+
+        TemplateRef[] refs = sharingMapper.readValue("[{\"itemId\":9195,\"title\":\"Article\"}," +
+                "{\"itemId\":9195,\"title\":\"Article\"},{\"itemId\":9195,\"title\":\"Teaser\"}]",
+                TemplateRef[].class);
+
+        assertSame(refs[0], refs[1]);
+        assertNotSame(refs[0], refs[2]);
+        assertEquals(9195, refs[2].itemId);
+        assertEquals("Teaser", refs[2].title);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesToShareModifiableType() {
+        new CanonicalizingModule(16, 16, Collections.<Class<?>>singletonList(Template.class));
+    }
+
+    static final class TemplateRef {
+        private final int itemId;
+        private final String title;
+
+        @JsonCreator
+        TemplateRef(@JsonProperty("itemId") int itemId, @JsonProperty("title") String title) {
+            this.itemId = itemId;
+            this.title = title;
+        }
+    }
+
+    @Test
+    public void internsTreeText() throws IOException {
+        JsonNode tree = mapper.readTree(PRESENTATIONS);
+
+        assertSame(tree.get(0).get("title").textValue(), tree.get(1).get("title").textValue());
+    }
+}
@@ -0,0 +1,103 @@
+package com.sdl.web.pca.client.mapping;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.concurrent.FanOut;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationMapping;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PublicationMappingResolverTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    private final PublicationMapping english = mapping(5, "http", "example.com", "", "/");
+    private final PublicationMapping french = mapping(6, "http", "example.com", "", "/fr");
+    private final PublicationMapping staging = mapping(7, "https", "staging.example.com", "8443", "/");
+
+    private PublicationMappingResolver resolver;
+
+    @Before
+    public void setUp() {
+        when(apiClient.getPublicationMapping(ContentNamespace.Sites, "http://example.com/")).thenReturn(english);
+        when(apiClient.getPublicationMapping(ContentNamespace.Sites, "http://example.com/fr")).thenReturn(french);
+        when(apiClient.getPublicationMapping(ContentNamespace.Sites, "https://staging.example.com:8443/"))
+                .thenReturn(staging);
+        resolver = new PublicationMappingResolver(apiClient, ContentNamespace.Sites, new FanOut(2));
+    }
+
+    @Test
+    public void resolvesLongestPathLocally() {
+        assertEquals(2, resolver.load(Arrays.asList("http://example.com/", "http://example.com/fr")));
+
+        assertSame(french, resolver.resolve("http://EXAMPLE.com:80/fr/about/index.html?q=1"));
+        assertSame(french, resolver.resolve("http://example.com/fr"));
+        assertSame(english, resolver.resolve("http://example.com/fresh/index.html"));
+        assertSame(english, resolver.resolve("http://example.com"));
+        assertNull(resolver.resolveLocally("https://example.com/fr/"));
+        verify(apiClient, times(2)).getPublicationMapping(eq(ContentNamespace.Sites), anyString());
+    }
+
+    @Test
+    public void addsMappingsResolvedByService() {
+        when(apiClient.getPublicationMapping(ContentNamespace.Sites, "https://staging.example.com:8443/news"))
+                .thenReturn(staging);
+
+        assertSame(staging, resolver.resolve("https://staging.example.com:8443/news"));
+        assertSame(staging, resolver.resolve("https://staging.example.com:8443/about"));
+        assertNull(resolver.resolve("http://unknown.example.com/"));
+
+        verify(apiClient, times(2)).getPublicationMapping(eq(ContentNamespace.Sites), anyString());
+        assertEquals(1, resolver.size());
+    }
+
+    @Test
+    public void refreshReplacesMappings() {
+        resolver.load(Arrays.asList("http://example.com/", "http://example.com/fr"));
+        when(apiClient.getPublicationMapping(ContentNamespace.Sites, "http://example.com/fr")).thenReturn(null);
+
+        assertEquals(1, resolver.refresh());
+        assertSame(english, resolver.resolveLocally("http://example.com/fr/about"));
+    }
+
+    @Test
+    public void refreshKeepsMappingsResolvedMeanwhile() {
+        resolver.load(Arrays.asList("http://example.com/", "http://example.com/fr"));
+        when(apiClient.getPublicationMapping(ContentNamespace.Sites, "http://example.com/fr")).thenAnswer(
+                invocation -> {
+                    // Resolved by a request while the refresh is running
+                    resolver.resolve("https://staging.example.com:8443/");
+                    return french;
+                });
+
+        assertEquals(3, resolver.refresh());
+        assertSame(staging, resolver.resolveLocally("https://staging.example.com:8443/news"));
+    }
+
+    private static PublicationMapping mapping(int publicationId, String protocol, String domain, String port,
+                                              String path) {
+        PublicationMapping mapping = new PublicationMapping();
+        mapping.setPublicationId(publicationId);
+        mapping.setProtocol(protocol);
+        mapping.setDomain(domain);
+        mapping.setPort(port);
+        mapping.setPath(path);
+        return mapping;
+    }
+}
@@ -0,0 +1,176 @@
+package com.sdl.web.pca.client.paging;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.Pagination;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.InputPublicationFilter;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationConnection;
+import com.sdl.web.pca.client.contentmodel.generated.PublicationEdge;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import com.sdl.web.pca.client.scheduling.RequestPriority;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PaginatorTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    private final List<RequestPriority> priorities = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void followsCursorsUntilEmptyPage() {
+        List<Pagination> requested = stubPublications(5);
+
+        Paginator paginator = new Paginator(apiClient, 2, 1, Runnable::run);
+        try (Stream<PublicationEdge> edges = Paginator.stream(paginator.publications(ContentNamespace.Sites,
+                null, null, null))) {
+            assertEquals("0,1,2,3,4", edges.map(PublicationEdge::getCursor).collect(Collectors.joining(",")));
+        }
+
+        assertEquals(4, requested.size());
+        assertEquals(null, requested.get(0).getAfter());
+        assertEquals("1", requested.get(1).getAfter());
+        assertEquals("3", requested.get(2).getAfter());
+        assertEquals("4", requested.get(3).getAfter());
+        assertEquals(2, requested.get(3).getFirst());
+    }
+
+    @Test
+    public void loadsOnDemandWithoutPrefetch() {
+        List<Pagination> requested = stubPublications(6);
+
+        PagedIterator<PublicationEdge> edges = new Paginator(apiClient, 3, 0, Runnable::run)
+                .publications(ContentNamespace.Sites, null, null, null);
+        edges.next();
+        assertEquals(1, requested.size());
+
+        edges.close();
+        assertFalse(edges.hasNext());
+        assertEquals(1, requested.size());
+    }
+
+    @Test(expected = ApiClientException.class)
+    public void propagatesLoadFailure() {
+        when(apiClient.getPublications(eq(ContentNamespace.Sites), any(Pagination.class),
+                any(InputPublicationFilter.class), anyString(), any(ContextData.class)))
+                .thenThrow(new ApiClientException("Failure"));
+
+        new Paginator(apiClient, 3, 2, Runnable::run)
+                .publications(ContentNamespace.Sites, null, null, null)
+                .hasNext();
+    }
+
+    @Test
+    public void publishesPagesOnDemand() {
+        List<Pagination> requested = stubPublications(5);
+        List<String> received = new ArrayList<>();
+        List<PagedPublisher.Subscription> subscription = new ArrayList<>();
+        List<Object> terminal = new ArrayList<>();
+
+        new Paginator(apiClient, 2, 1, Runnable::run)
+                .publicationPublisher(ContentNamespace.Sites, null, null, null)
+                .subscribe(new PagedPublisher.Subscriber<PublicationEdge>() {
+                    @Override
+                    public void onSubscribe(PagedPublisher.Subscription s) {
+                        subscription.add(s);
+                    }
+
+                    @Override
+                    public void onNext(PublicationEdge item) {
+                        received.add(item.getCursor());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        terminal.add(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        terminal.add("complete");
+                    }
+                });
+        assertEquals(0, requested.size());
+
+        subscription.get(0).request(2);
+        assertEquals(Arrays.asList("0", "1"), received);
+        assertEquals(1, requested.size());
+
+        subscription.get(0).request(1);
+        assertEquals(Arrays.asList("0", "1", "2"), received);
+        assertEquals(2, requested.size());
+        assertEquals("1", requested.get(1).getAfter());
+
+        subscription.get(0).request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4"), received);
+        assertEquals(Collections.singletonList("complete"), terminal);
+        assertEquals(4, requested.size());
+
+        subscription.get(0).request(0);
+        assertEquals(1, terminal.size());
+    }
+
+    @Test
+    public void loadsPagesWithPriorityOfCreator() throws Exception {
+        stubPublications(5);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Paginator paginator = new Paginator(apiClient, 2, 1, executor);
+            PagedIterator<PublicationEdge> edges;
+            try (RequestPriority.Scope ignored = RequestPriority.BACKGROUND.enter()) {
+                edges = paginator.publications(ContentNamespace.Sites, null, null, null);
+            }
+            while (edges.hasNext()) {
+                edges.next();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(Collections.nCopies(4, RequestPriority.BACKGROUND), priorities);
+    }
+
+    private List<Pagination> stubPublications(int total) {
+        List<Pagination> requested = new CopyOnWriteArrayList<>();
+        when(apiClient.getPublications(eq(ContentNamespace.Sites), any(Pagination.class),
+                any(InputPublicationFilter.class), anyString(), any(ContextData.class)))
+                .thenAnswer(invocation -> {
+                    Pagination pagination = (Pagination) invocation.getArguments()[1];
+                    requested.add(pagination);
+                    priorities.add(RequestPriority.current());
+                    int from = pagination.getAfter() == null ? 0 : Integer.parseInt(pagination.getAfter()) + 1;
+                    List<PublicationEdge> edges = new ArrayList<>();
+                    for (int i = from; i < Math.min(total, from + pagination.getFirst()); i++) {
+                        PublicationEdge edge = new PublicationEdge();
+                        edge.setCursor(String.valueOf(i));
+                        edges.add(edge);
+                    }
+                    PublicationConnection connection = new PublicationConnection();
+                    connection.setEdges(edges.isEmpty() ? Collections.emptyList() : edges);
+                    return connection;
+                });
+        return requested;
+    }
+}
@@ -0,0 +1,212 @@
+package com.sdl.web.pca.client.query;
+
+import com.sdl.web.pca.client.exception.ApiClientException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compiles {@code .graphql} templates into {@link CompiledQueries}, so queries are neither read from resources nor
+ * sent with their indentation at runtime.
+ * <p>
+ * Templates are minified line by line: indentation, comments, blank lines and whitespace which does not separate
+ * names are removed. Line breaks are kept, since fragment spreads are looked up per line when a query is built.
+ * Every fragment spread of every template should refer to an existing fragment.
+ * <p>
+ * This is build tooling and is not shipped with the library. Run after changing templates, from the repository
+ * root, once the tests are compiled:
+ * <pre>
+ * java -cp pca-client/target/test-classes:pca-client/target/classes com.sdl.web.pca.client.query.QueryCompiler \
+ *     pca-model/src/main/resources/queries pca-client/src/main/java/com/sdl/web/pca/client/query/CompiledQueries.java
+ * </pre>
+ */
+public final class QueryCompiler {
+    private static final String EXTENSION = ".graphql";
+    private static final Pattern FRAGMENT_SPREAD = Pattern.compile("\\.{3}\\s*(?<fragmentName>\\w+)");
+    private static final Pattern FRAGMENT_DEFINITION = Pattern.compile("(?<![\\w.])r?fragment\\s+(?<fragmentName>\\w+)");
+
+    private QueryCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: QueryCompiler <queries directory> <output file>");
+            System.exit(1);
+        }
+        Files.write(Paths.get(args[1]), generate(Paths.get(args[0])).getBytes(UTF_8));
+    }
+
+    /**
+     * Generates source of {@link CompiledQueries} from templates of a directory, with fragments in its
+     * {@code fragments} subdirectory.
+     *
+     * @param queriesDirectory directory with templates
+     * @return Java source
+     * @throws IOException        if templates cannot be read
+     * @throws ApiClientException if a template refers to a fragment which is missing or defined under another name
+     */
+    public static String generate(Path queriesDirectory) throws IOException {
+        Map<String, String> queries = readTemplates(queriesDirectory);
+        Map<String, String> fragments = readTemplates(queriesDirectory.resolve("fragments"));
+        validateSpreads(queries, fragments);
+        validateSpreads(fragments, fragments);
+
+        StringBuilder source = new StringBuilder()
+                .append("package com.sdl.web.pca.client.query;\n\n")
+                .append("import java.util.HashMap;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * Minified queries and fragments generated by QueryCompiler of the tests. Do not edit.\n")
+                .append(" */\n")
+                .append("final class CompiledQueries {\n")
+                .append("    static final Map<String, String> QUERIES = new HashMap<>();\n")
+                .append("    static final Map<String, String> FRAGMENTS = new HashMap<>();\n\n")
+                .append("    static {\n");
+        appendTemplates(source, "QUERIES", queries);
+        appendTemplates(source, "FRAGMENTS", fragments);
+        return source
+                .append("    }\n\n")
+                .append("    private CompiledQueries() {\n")
+                .append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    /**
+     * Minifies template keeping its lines.
+     *
+     * @param template template text
+     * @return minified template
+     */
+    public static String minify(String template) {
+        StringBuilder result = new StringBuilder(template.length());
+        for (String line : template.split("\r?\n|\r")) {
+            int start = result.length();
+            if (start > 0) {
+                result.append('\n');
+            }
+            int lineStart = result.length();
+            minifyLine(line, result);
+            if (result.length() == lineStart) {
+                // Drop blank line together with its separator
+                result.setLength(start);
+            }
+        }
+        return result.toString();
+    }
+
+    private static void minifyLine(String line, StringBuilder out) {
+        int lineStart = out.length();
+        boolean space = false;
+        boolean inString = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inString) {
+                out.append(c);
+                if (c == '\\' && i + 1 < line.length()) {
+                    out.append(line.charAt(++i));
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            if (c == '#') {
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            // Whitespace only matters between two names, like in "fragment Name on Type"
+            if (space && out.length() > lineStart && isNameChar(out.charAt(out.length() - 1)) && isNameChar(c)) {
+                out.append(' ');
+            }
+            space = false;
+            inString = c == '"';
+            out.append(c);
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static Map<String, String> readTemplates(Path directory) throws IOException {
+        Map<String, String> templates = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - EXTENSION.length());
+                templates.put(name, minify(new String(Files.readAllBytes(file), UTF_8)));
+            }
+        }
+        return templates;
+    }
+
+    private static void validateSpreads(Map<String, String> templates, Map<String, String> fragments) {
+        for (Map.Entry<String, String> template : templates.entrySet()) {
+            // Templates may define fragments they use themselves
+            Set<String> defined = new HashSet<>();
+            Matcher local = FRAGMENT_DEFINITION.matcher(template.getValue());
+            while (local.find()) {
+                defined.add(local.group("fragmentName"));
+            }
+            Matcher spread = FRAGMENT_SPREAD.matcher(template.getValue());
+            while (spread.find()) {
+                String fragmentName = spread.group("fragmentName");
+                // Inline fragments are spread with a type condition instead of a name
+                if (fragmentName.equals("on") || defined.contains(fragmentName)) {
+                    continue;
+                }
+                String fragment = fragments.get(fragmentName);
+                if (fragment == null) {
+                    throw new ApiClientException("Template " + template.getKey() + " refers to missing fragment " +
+                            fragmentName);
+                }
+                Matcher definition = FRAGMENT_DEFINITION.matcher(fragment);
+                if (!definition.find() || !definition.group("fragmentName").equals(fragmentName)) {
+                    throw new ApiClientException("Fragment file " + fragmentName + " should define fragment " +
+                            fragmentName);
+                }
+            }
+        }
+    }
+
+    private static void appendTemplates(StringBuilder source, String map, Map<String, String> templates) {
+        for (Map.Entry<String, String> template : templates.entrySet()) {
+            source.append("        ").append(map).append(".put(\"").append(template.getKey()).append("\",");
+            String[] lines = template.getValue().split("\n", -1);
+            for (int i = 0; i < lines.length; i++) {
+                source.append("\n                \"").append(escape(lines[i]));
+                source.append(i < lines.length - 1 ? "\\n\" +" : "\"");
+            }
+            source.append(");\n");
+        }
+    }
+
+    private static String escape(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
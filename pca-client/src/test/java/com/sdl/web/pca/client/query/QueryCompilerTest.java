@@ -0,0 +1,63 @@
+package com.sdl.web.pca.client.query;
+
+import com.sdl.web.pca.client.exception.ApiClientException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+public class QueryCompilerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void compiledQueriesAreUpToDate() throws Exception {
+        // Test classes are in target/test-classes of the module, whichever directory tests run in
+        Path module = Paths.get(getClass().getProtectionDomain().getCodeSource().getLocation().toURI())
+                .getParent().getParent();
+        Path queries = module.resolveSibling("pca-model").resolve("src/main/resources/queries");
+        Path compiled = module.resolve("src/main/java/com/sdl/web/pca/client/query/CompiledQueries.java");
+
+        assertEquals("CompiledQueries.java is outdated, run QueryCompiler to regenerate it",
+                new String(Files.readAllBytes(compiled), UTF_8), QueryCompiler.generate(queries));
+    }
+
+    @Test
+    public void minifyKeepsLinesOfNames() {
+        String template = "query page($id: Int!) {  # page by id\n" +
+                "\tpage(id: $id, filter: \"a  b\") {\n" +
+                "\n" +
+                "\t\t...PageFields   \n" +
+                "\t\tincludeContent? {\n" +
+                "\t\t\trawContent@renderContentArgs { data }\n" +
+                "\t\t}\n" +
+                "\t}\n" +
+                "}\n";
+
+        assertEquals("query page($id:Int!){\n" +
+                "page(id:$id,filter:\"a  b\"){\n" +
+                "...PageFields\n" +
+                "includeContent?{\n" +
+                "rawContent@renderContentArgs{data}\n" +
+                "}\n" +
+                "}\n" +
+                "}", QueryCompiler.minify(template));
+    }
+
+    @Test(expected = ApiClientException.class)
+    public void rejectsMissingFragment() throws Exception {
+        File queries = folder.newFolder("queries");
+        File fragments = new File(queries, "fragments");
+        fragments.mkdir();
+        Files.write(new File(queries, "Page.graphql").toPath(), "query page {\n...PageFields\n}".getBytes(UTF_8));
+
+        QueryCompiler.generate(queries.toPath());
+    }
+}
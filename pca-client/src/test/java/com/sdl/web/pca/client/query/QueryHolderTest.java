@@ -0,0 +1,55 @@
+package com.sdl.web.pca.client.query;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class QueryHolderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void usesCompiledTemplateOfLibraryResource() {
+        assertSame(CompiledQueries.QUERIES.get("BinaryComponentByCmUri"),
+                QueryHolder.getInstance().getQuery("BinaryComponentByCmUri"));
+        assertSame(CompiledQueries.FRAGMENTS.get("ItemFields"), QueryHolder.getInstance().getFragment("ItemFields"));
+    }
+
+    @Test
+    public void resourceOnClasspathOverridesCompiledTemplateOnlyWhenEnabled() throws Exception {
+        File queries = folder.newFolder("queries");
+        String custom = "query binaryComponent {\n  binaryComponent { id }\n}";
+        Files.write(new File(queries, "BinaryComponentByCmUri.graphql").toPath(), custom.getBytes(UTF_8));
+        String compiled = CompiledQueries.QUERIES.get("BinaryComponentByCmUri");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{folder.getRoot().toURI().toURL()}, null)) {
+            assertSame(compiled, QueryHolder.loadTemplate(classLoader, "queries/BinaryComponentByCmUri", compiled,
+                    false));
+            assertEquals(custom, QueryHolder.loadTemplate(classLoader, "queries/BinaryComponentByCmUri", compiled,
+                    true));
+            // Templates missing from the classpath fall back to the compiled ones
+            assertSame(CompiledQueries.FRAGMENTS.get("ItemFields"), QueryHolder.loadTemplate(classLoader,
+                    "queries/fragments/ItemFields", CompiledQueries.FRAGMENTS.get("ItemFields"), true));
+        }
+    }
+
+    @Test
+    public void readsUnknownTemplateFromResource() throws Exception {
+        File queries = folder.newFolder("queries");
+        String custom = "query custom {\n  publications { edges { node { id } } }\n}";
+        Files.write(new File(queries, "Custom.graphql").toPath(), custom.getBytes(UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{folder.getRoot().toURI().toURL()}, null)) {
+            assertEquals(custom, QueryHolder.loadTemplate(classLoader, "queries/Custom", null, false));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.google.common.base.Ticker;
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.Ancestor;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.children;
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.taxonomy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NavigationTreeTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    private final AtomicLong time = new AtomicLong();
+
+    private NavigationTree tree;
+
+    @Before
+    public void setUp() {
+        when(apiClient.getSitemap(ContentNamespace.Sites, 1, 1, null))
+                .thenAnswer(invocation -> taxonomy("t1", children("t1-k", 3, false)));
+        when(apiClient.getSitemapSubtree(ContentNamespace.Sites, 1, "t1-k1", 1, Ancestor.NONE, null))
+                .thenAnswer(invocation -> new TaxonomySitemapItem[]{
+                        taxonomy("t1-k1", children("t1-k1-k", 2, true))
+                });
+        tree = new NavigationTree(apiClient, ContentNamespace.Sites, 1, null, 1, TimeUnit.MINUTES, new Ticker() {
+            @Override
+            public long read() {
+                return time.get();
+            }
+        });
+    }
+
+    @Test
+    public void loadsChildrenOnFirstAccessOnly() {
+        NavigationTree.Node root = tree.getRoot();
+        assertEquals(3, root.getChildren().size());
+
+        NavigationTree.Node node = root.getChild("t1-k1");
+        assertFalse(node.isExpanded());
+        assertEquals(2, node.getChildren().size());
+        assertSame(node.getChildren(), node.getChildren());
+        assertSame(root.getChildren(), node.getSiblings());
+
+        // Grandchildren came with the subtree response
+        NavigationTree.Node grandChild = node.getChild("t1-k1-k0");
+        assertTrue(grandChild.isExpanded());
+        assertEquals("t1-k1-k0-k0", grandChild.getChildren().get(0).getItem().getId());
+        // Items returned by the client may be shared, so they are left unchanged
+        assertEquals(1, ((TaxonomySitemapItem) grandChild.getItem()).getItems().size());
+
+        assertSame(root, tree.getRoot());
+        verify(apiClient, times(1)).getSitemap(ContentNamespace.Sites, 1, 1, null);
+        verify(apiClient, times(1)).getSitemapSubtree(ContentNamespace.Sites, 1, "t1-k1", 1, Ancestor.NONE, null);
+    }
+
+    @Test
+    public void reloadsExpiredNodes() {
+        NavigationTree.Node node = tree.getRoot().getChild("t1-k1");
+        List<NavigationTree.Node> children = node.getChildren();
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertFalse(node.isExpanded());
+        assertEquals(children.size(), node.getChildren().size());
+        verify(apiClient, times(2)).getSitemapSubtree(ContentNamespace.Sites, 1, "t1-k1", 1, Ancestor.NONE, null);
+
+        tree.getRoot();
+        verify(apiClient, times(2)).getSitemap(ContentNamespace.Sites, 1, 1, null);
+    }
+
+    @Test(timeout = 10000)
+    public void retriesLoadWhichFailedWithError() {
+        when(apiClient.getSitemapSubtree(ContentNamespace.Sites, 1, "t1-k1", 1, Ancestor.NONE, null))
+                .thenThrow(new StackOverflowError("failed"))
+                .thenAnswer(invocation -> new TaxonomySitemapItem[]{
+                        taxonomy("t1-k1", children("t1-k1-k", 2, false))
+                });
+        NavigationTree.Node node = tree.getRoot().getChild("t1-k1");
+
+        try {
+            node.getChildren();
+            fail("Error of the load should be thrown");
+        } catch (StackOverflowError e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertEquals(2, node.getChildren().size());
+    }
+}
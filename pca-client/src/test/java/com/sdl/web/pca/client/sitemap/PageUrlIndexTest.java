@@ -0,0 +1,96 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.Ancestor;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.page;
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.taxonomy;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PageUrlIndexTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    private PageUrlIndex index;
+
+    @Before
+    public void setUp() {
+        when(apiClient.getSitemap(ContentNamespace.Sites, 8, 1, null)).thenReturn(taxonomy("t1", false, Arrays.asList(
+                page("t1-p640", "/index"),
+                taxonomy("t1-k2", true, null))));
+        when(apiClient.getSitemapSubtree(ContentNamespace.Sites, 8, "t1-k2", 1, Ancestor.NONE, null))
+                .thenReturn(new TaxonomySitemapItem[]{taxonomy("t1-k2", false, Arrays.asList(
+                        page("t1-p644", "/further-information/index"),
+                        page("t1-p645", "/further-information/faq"),
+                        page("t1-p650", "/further-information/faq.html")))});
+        index = new PageUrlIndex(apiClient, ContentNamespace.Sites, 8, null);
+    }
+
+    @Test
+    public void findsPagesByPublishedUrl() {
+        assertEquals(3, index.build());
+
+        assertEquals(640, index.getPageId("/index.html"));
+        assertEquals(644, index.getPageId("/further-information/index.html"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/index"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/further-information/"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/further-information/index.html?lang=en"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId(null));
+        // Two pages share the published URL, so the content service has to resolve it
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/further-information/faq.html"));
+    }
+
+    @Test
+    public void findsPagesByNormalizedUrl() {
+        index = new PageUrlIndex(new SitemapCrawler(apiClient), ContentNamespace.Sites, 8, null, true);
+        assertEquals(3, index.build());
+
+        assertEquals(640, index.getPageId("/"));
+        assertEquals(640, index.getPageId("/index.html"));
+        assertEquals(644, index.getPageId("/further-information/"));
+        assertEquals(644, index.getPageId("/further-information/index.html?lang=en"));
+        // Two pages share the normalized URL, so the content service has to resolve it
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/further-information/faq.html"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/unknown.html"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId(null));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId(ContentNamespace.Docs, 8, "/index.html"));
+    }
+
+    @Test
+    public void updatesSubtree() {
+        index.build();
+        when(apiClient.getSitemapSubtree(ContentNamespace.Sites, 8, "t1-k2", 1, Ancestor.NONE, null))
+                .thenReturn(new TaxonomySitemapItem[]{taxonomy("t1-k2", false, Arrays.asList(
+                        page("t1-p646", "/further-information/image-library")))});
+
+        assertEquals(2, index.update("t1-k2"));
+
+        assertEquals(640, index.getPageId("/index.html"));
+        assertEquals(646, index.getPageId("/further-information/image-library.html"));
+        assertEquals(PageIdResolver.UNKNOWN, index.getPageId("/further-information/index.html"));
+        verify(apiClient, times(1)).getSitemap(ContentNamespace.Sites, 8, 1, null);
+    }
+
+    @Test
+    public void parsesPageIds() {
+        assertEquals(644, PageUrlIndex.pageIdOf("t2680-p644"));
+        assertEquals(644, PageUrlIndex.pageIdOf("p644"));
+        assertEquals(PageIdResolver.UNKNOWN, PageUrlIndex.pageIdOf("t2680-k10018"));
+        assertEquals(PageIdResolver.UNKNOWN, PageUrlIndex.pageIdOf("t2680-p"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.sdl.web.pca.client.ApiClient;
+import com.sdl.web.pca.client.contentmodel.ContextData;
+import com.sdl.web.pca.client.contentmodel.enums.ContentNamespace;
+import com.sdl.web.pca.client.contentmodel.generated.Ancestor;
+import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+import com.sdl.web.pca.client.exception.ApiClientException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.children;
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.page;
+import static com.sdl.web.pca.client.sitemap.SitemapFixtures.taxonomy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SitemapCrawlerTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        // Root with 6 taxonomies, each holding a taxonomy with one page
+        when(apiClient.getSitemap(ContentNamespace.Sites, 1, 1, null))
+                .thenAnswer(invocation -> taxonomy("t1", children("t1-k", 6)));
+        when(apiClient.getSitemapSubtree(eq(ContentNamespace.Sites), eq(1), anyString(), eq(1), eq(Ancestor.NONE),
+                any(ContextData.class))).thenAnswer(invocation -> {
+            String id = (String) invocation.getArguments()[2];
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20);
+                List<SitemapItem> items = id.split("-").length > 2
+                        ? Arrays.asList(page(id + "-p"))
+                        : children(id + "-k", 1);
+                return new TaxonomySitemapItem[]{taxonomy(id, items)};
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    public void loadsWholeSitemapWithBoundedConcurrency() {
+        SitemapCrawler crawler = new SitemapCrawler(apiClient, Executors.newCachedThreadPool(), 3);
+
+        TaxonomySitemapItem root = crawler.crawl(ContentNamespace.Sites, 1, -1, null);
+
+        assertEquals(6, root.getItems().size());
+        TaxonomySitemapItem child = (TaxonomySitemapItem) root.getItems().get(5);
+        TaxonomySitemapItem grandChild = (TaxonomySitemapItem) child.getItems().get(0);
+        assertEquals("t1-k5-k0", grandChild.getId());
+        assertEquals("t1-k5-k0-p", grandChild.getItems().get(0).getId());
+        assertTrue("Expected parallel requests", maxRunning.get() > 1);
+        assertTrue("Expected at most 3 requests at once", maxRunning.get() <= 3);
+    }
+
+    @Test
+    public void stopsAtDescendantLevels() {
+        SitemapCrawler crawler = new SitemapCrawler(apiClient, 2);
+
+        TaxonomySitemapItem root = crawler.crawl(ContentNamespace.Sites, 1, 2, null);
+
+        TaxonomySitemapItem child = (TaxonomySitemapItem) root.getItems().get(0);
+        TaxonomySitemapItem grandChild = (TaxonomySitemapItem) child.getItems().get(0);
+        assertNull(grandChild.getItems());
+        verify(apiClient, never()).getSitemapSubtree(ContentNamespace.Sites, 1, "t1-k0-k0", 1, Ancestor.NONE, null);
+    }
+
+    @Test(expected = ApiClientException.class)
+    public void propagatesFailure() {
+        when(apiClient.getSitemapSubtree(ContentNamespace.Sites, 1, "t1-k3", 1, Ancestor.NONE, null))
+                .thenThrow(new ApiClientException("Failure"));
+
+        new SitemapCrawler(apiClient).crawl(ContentNamespace.Sites, 1, -1, null);
+    }
+}
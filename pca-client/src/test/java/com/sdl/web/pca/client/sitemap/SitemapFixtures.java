@@ -0,0 +1,55 @@
+package com.sdl.web.pca.client.sitemap;
+
+import com.sdl.web.pca.client.contentmodel.generated.PageSitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.SitemapItem;
+import com.sdl.web.pca.client.contentmodel.generated.TaxonomySitemapItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sitemap items used by the sitemap tests.
+ */
+final class SitemapFixtures {
+    private SitemapFixtures() {
+    }
+
+    static List<SitemapItem> children(String prefix, int count) {
+        return children(prefix, count, false);
+    }
+
+    static List<SitemapItem> children(String prefix, int count, boolean withGrandChildren) {
+        List<SitemapItem> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String id = prefix + i;
+            result.add(taxonomy(id, withGrandChildren
+                    ? Collections.singletonList(taxonomy(id + "-k0", null))
+                    : null));
+        }
+        return result;
+    }
+
+    static TaxonomySitemapItem taxonomy(String id, List<SitemapItem> items) {
+        return taxonomy(id, true, items);
+    }
+
+    static TaxonomySitemapItem taxonomy(String id, boolean hasChildNodes, List<SitemapItem> items) {
+        TaxonomySitemapItem item = new TaxonomySitemapItem();
+        item.setId(id);
+        item.setHasChildNodes(hasChildNodes);
+        item.setItems(items);
+        return item;
+    }
+
+    static PageSitemapItem page(String id) {
+        return page(id, null);
+    }
+
+    static PageSitemapItem page(String id, String url) {
+        PageSitemapItem item = new PageSitemapItem();
+        item.setId(id);
+        item.setUrl(url);
+        return item;
+    }
+}
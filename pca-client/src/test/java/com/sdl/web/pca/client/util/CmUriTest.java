@@ -3,6 +3,8 @@ package com.sdl.web.pca.client.util;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 public class CmUriTest {
 
@@ -47,6 +49,16 @@ public class CmUriTest {
         new CmUri("ish:12-34-555");
     }
 
+    @Test
+    public void testSharedStringForm() {
+        String first = new CmUri("tcm:5-640").toString();
+        assertEquals("tcm:5-640-16", first);
+        assertSame(first, new CmUri("tcm:5-640").toString());
+        assertSame(first, new CmUri(new String("tcm:5-640-16")).toString());
+        assertSame(first, CmUri.fromLong(new CmUri("tcm:5-640-16-v2").toLong()).toString());
+        assertEquals("tcm:5-640-16-v2", new CmUri("tcm:5-640-16-v2").toString());
+    }
+
     @Test
     public void testToString() {
         CmUri uri = new CmUri("ish:12-34");
@@ -56,4 +68,41 @@ public class CmUriTest {
         assertEquals("tcm:12-34-16-v33", uri.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testToStringReusesCanonicalInput() {
+        String canonical = "tcm:1082-640-64";
+        assertSame(canonical, new CmUri(canonical).toString());
+
+        CmUri uri = new CmUri("tcm:1082-0640-64");
+        assertEquals(640, uri.getItemId());
+        assertEquals("tcm:1082-640-64", uri.toString());
+        assertSame(uri.toString(), uri.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedVersion() {
+        new CmUri("tcm:12-34-16-x3");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeNumber() {
+        new CmUri("tcm:12-2147483648");
+    }
+
+    @Test
+    public void testPackToLong() {
+        CmUri uri = new CmUri("ish:12-34-512-v123");
+        CmUri unpacked = CmUri.fromLong(uri.toLong());
+        assertEquals("ish:12-34-512", unpacked.toString());
+        assertEquals(-1, unpacked.getVersion());
+
+        uri = new CmUri("tcm:" + CmUri.MAX_PACKED_PUBLICATION_ID + "-" + Integer.MAX_VALUE + "-64");
+        assertEquals(uri, CmUri.fromLong(uri.toLong()));
+        assertNotEquals(new CmUri("tcm:12-34-64").toLong(), new CmUri("ish:12-34-64").toLong());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPublicationTooLargeToPack() {
+        new CmUri("tcm:" + (CmUri.MAX_PACKED_PUBLICATION_ID + 1) + "-34").toLong();
+    }
+}
@@ -12,14 +12,28 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Formatter;
 import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Generates model classes from the schema of a GraphQL endpoint.
+ * <p>
+ * Arguments: {@code -e <endpoint> -o <output directory> -ns <package> [-immutable true]}.
+ * <p>
+ * With {@code -immutable true} object types are final, bound through their constructor and have no setters, and
+ * interfaces declare no setters. pca-client, its tests and applications build and modify model objects through
+ * setters, for example {@code TaxonomySitemapItem.setItems}, so immutable types should be generated into a package
+ * of their own; generating them over {@code com.sdl.web.pca.client.contentmodel.generated} breaks the build of
+ * pca-client.
+ */
 public class Program {
     private static final Logger LOG = getLogger(Program.class);
     static StringBuilder importBuilder = new StringBuilder();
+    // Emit immutable object types bound through their constructor instead of mutable beans, see class comment
+    static boolean immutable = false;
 
     public static void main(String[] args) throws GraphQLClientException {
         System.out.print("Generate Model Classes \n");
@@ -39,6 +53,9 @@ public class Program {
                     case "-o":
                         outputFile = args[i + 1];
                         break;
+                    case "-immutable":
+                        immutable = Boolean.parseBoolean(args[i + 1]);
+                        break;
                 }
             }
             if (isNullOrBlank(endpoint)) {
@@ -141,6 +158,9 @@ public class Program {
             sb.append("public enum " + type.name);
         else if (type.kind.equalsIgnoreCase("INTERFACE"))
             sb.append("public interface " + type.name);
+        else if (immutable && type.kind.equalsIgnoreCase("OBJECT"))
+            sb.append("public final class " + type.name + (type.interfaces == null || type.interfaces.size() == 0
+                    ? "" : getImplementation(type.interfaces)));
         else if (type.interfaces == null || type.interfaces.size() == 0)
             sb.append("public class " + type.name);
         else
@@ -150,7 +170,11 @@ public class Program {
 
         switch (type.kind) {
             case "OBJECT":
-                emitFields(sb, type.fields, indentCount + 1, true);
+                if (immutable) {
+                    emitImmutableFields(sb, type.name, type.fields, indentCount + 1);
+                } else {
+                    emitFields(sb, type.fields, indentCount + 1, true);
+                }
                 break;
             case "INPUT_OBJECT":
                 emitFields(sb, type.inputFields, indentCount + 1, true);
@@ -242,11 +266,95 @@ public class Program {
                 sb.append("}\n");
             } else {
                 sb.append(returnTypeName + " get" + field.name.substring(0, 1).toUpperCase() + field.name.substring(1) + "()" + ";");
-                sb.append("\n");
+                if (!immutable) {
+                    sb.append("\n");
+                    sb.append(indentString);
+                    sb.append("void set" + field.name.substring(0, 1).toUpperCase() + field.name.substring(1) + "(" + returnTypeName + " " + field.name + ")" + ";");
+                }
+            }
+        }
+    }
+
+    static void emitImmutableFields(StringBuilder sb, String typeName, List<GraphQLSchemaField> fields, int indentCount) {
+        if (fields == null) return;
+        String indentString = new String(new char[indentCount]).replace("\0", "\t");
+        List<String> jsonNames = new ArrayList<>();
+        List<String> typeNames = new ArrayList<>();
+        boolean hasLists = false;
+        for (GraphQLSchemaField field : fields) {
+            field.type = remapFieldType(field);
+            jsonNames.add(field.name);
+            typeNames.add(getFieldReturnTypeName(field.type));
+            hasLists |= isList(getFieldReturnTypeName(field.type));
+            if (field.name.equalsIgnoreCase("abstract")) {
+                // avoid using keyword
+                field.name = "Abstract";
+            }
+            sb.append(indentString);
+            sb.append("private final " + getFieldReturnTypeName(field.type) + " " + field.name + ";");
+            sb.append("\n");
+        }
+
+        /*Constructor binding all fields, lists are copied into fixed size unmodifiable ones*/
+
+        sb.append("\n\n");
+        sb.append(indentString);
+        sb.append("@JsonCreator\n");
+        sb.append(indentString);
+        sb.append("public " + typeName + "(");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sb.append(",\n");
                 sb.append(indentString);
-                sb.append("void set" + field.name.substring(0, 1).toUpperCase() + field.name.substring(1) + "(" + returnTypeName + " " + field.name + ")" + ";");
+                sb.append("\t\t");
             }
+            sb.append("@JsonProperty(\"" + jsonNames.get(i) + "\") " + typeNames.get(i) + " " + fields.get(i).name);
+        }
+        sb.append("){\n");
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).name;
+            sb.append(indentString);
+            sb.append("\t");
+            sb.append("this." + name + " = " + (isList(typeNames.get(i)) ? "immutableList(" + name + ")" : name) + ";");
+            sb.append("\n");
+        }
+        sb.append(indentString);
+        sb.append("}\n");
+
+        /*Getter for Model Class*/
+
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).name;
+            sb.append("\n\n");
+            sb.append(indentString);
+            sb.append("public " + typeNames.get(i) + " get" + name.substring(0, 1).toUpperCase() + name.substring(1) + "()");
+            sb.append("{\n");
+            sb.append(indentString);
+            sb.append("\t");
+            sb.append("return " + name + ";");
+            sb.append("\n");
+            sb.append(indentString);
+            sb.append("}\n");
         }
+
+        if (hasLists) {
+            sb.append("\n\n");
+            sb.append(indentString);
+            sb.append("@SuppressWarnings(\"unchecked\")\n");
+            sb.append(indentString);
+            sb.append("private static <T> List<T> immutableList(List<T> list){\n");
+            sb.append(indentString);
+            sb.append("\t");
+            sb.append("return list == null || list.isEmpty() ? Collections.<T>emptyList() : " +
+                    "Collections.unmodifiableList((List<T>) Arrays.asList(list.toArray()));");
+            sb.append("\n");
+            sb.append(indentString);
+            sb.append("}\n");
+        }
+    }
+
+    static boolean isList(String typeName) {
+        return typeName.startsWith("List<");
     }
 
     static String getFieldReturnTypeName(GraphQLSchemaTypeInfo type) {
@@ -367,6 +475,14 @@ public class Program {
 
     static StringBuilder emitImport(StringBuilder sb, GraphQLSchemaType type, String ns) {
         int count = 0, itemtypeCount = 0;
+        if (immutable && type.kind.equalsIgnoreCase("OBJECT")) {
+            sb.append("import com.fasterxml.jackson.annotation.JsonCreator;\n");
+            sb.append("import com.fasterxml.jackson.annotation.JsonProperty;\n");
+            if (type.fields != null && type.fields.stream().anyMatch(field -> "LIST".equals(field.type.kind))) {
+                sb.append("import java.util.Arrays;\n");
+                sb.append("import java.util.Collections;\n");
+            }
+        }
         if (type.fields != null) {
             for (GraphQLSchemaField field : type.fields) {
                 if (field.type.kind != null && count <= 0) {
@@ -0,0 +1,157 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProgramTest {
+    private static final String PACKAGE = "generated";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        Program.immutable = false;
+    }
+
+    @Test
+    public void generatesImmutableTypesWhichBindJson() throws Exception {
+        Program.immutable = true;
+        File sources = folder.newFolder("sources");
+        generate(sources, named());
+        generate(sources, keyword());
+
+        ClassLoader classLoader = compile(sources, new File(sources, "Named.java"), new File(sources, "Keyword.java"));
+        Class<?> keywordClass = classLoader.loadClass(PACKAGE + ".Keyword");
+        assertTrue(Modifier.isFinal(keywordClass.getModifiers()));
+        for (Method method : keywordClass.getMethods()) {
+            assertFalse("Immutable type should not have setter " + method, method.getName().startsWith("set"));
+        }
+        for (Method method : classLoader.loadClass(PACKAGE + ".Named").getMethods()) {
+            assertFalse("Interface should not declare setter " + method, method.getName().startsWith("set"));
+        }
+
+        Object keyword = new ObjectMapper().readValue("{\"id\":\"k1\",\"count\":3,\"tags\":[\"a\",\"b\"]}",
+                keywordClass);
+        assertEquals("k1", keywordClass.getMethod("getId").invoke(keyword));
+        assertEquals(3, keywordClass.getMethod("getCount").invoke(keyword));
+        List<?> tags = (List<?>) keywordClass.getMethod("getTags").invoke(keyword);
+        assertEquals(Arrays.asList("a", "b"), tags);
+        try {
+            tags.clear();
+            fail("List of an immutable type should not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+            // Lists are copied into unmodifiable ones
+        }
+    }
+
+    @Test
+    public void generatesBeansByDefault() throws Exception {
+        File sources = folder.newFolder("sources");
+        generate(sources, named());
+        generate(sources, keyword());
+
+        ClassLoader classLoader = compile(sources, new File(sources, "Named.java"), new File(sources, "Keyword.java"));
+        Class<?> keywordClass = classLoader.loadClass(PACKAGE + ".Keyword");
+        Object keyword = keywordClass.newInstance();
+        keywordClass.getMethod("setId", String.class).invoke(keyword, "k1");
+        assertEquals("k1", keywordClass.getMethod("getId").invoke(keyword));
+    }
+
+    private static GraphQLSchemaType named() {
+        GraphQLSchemaType type = type("INTERFACE", "Named", field("id", scalar("ID")));
+        type.possibleTypes = Collections.singletonList(scalar("Keyword"));
+        return type;
+    }
+
+    private static GraphQLSchemaType keyword() {
+        GraphQLSchemaType type = type("OBJECT", "Keyword",
+                field("id", scalar("ID")),
+                field("count", nonNull(scalar("Int"))),
+                field("tags", list(scalar("String"))));
+        GraphQLSchemaInterface named = new GraphQLSchemaInterface();
+        named.name = "Named";
+        type.interfaces = Collections.singletonList(named);
+        return type;
+    }
+
+    private static GraphQLSchemaType type(String kind, String name, GraphQLSchemaField... fields) {
+        GraphQLSchemaType type = new GraphQLSchemaType();
+        type.kind = kind;
+        type.name = name;
+        type.fields = Arrays.asList(fields);
+        return type;
+    }
+
+    private static GraphQLSchemaField field(String name, GraphQLSchemaTypeInfo type) {
+        GraphQLSchemaField field = new GraphQLSchemaField();
+        field.name = name;
+        field.type = type;
+        return field;
+    }
+
+    private static GraphQLSchemaTypeInfo scalar(String name) {
+        GraphQLSchemaTypeInfo type = new GraphQLSchemaTypeInfo();
+        type.kind = "SCALAR";
+        type.name = name;
+        return type;
+    }
+
+    private static GraphQLSchemaTypeInfo nonNull(GraphQLSchemaTypeInfo ofType) {
+        GraphQLSchemaTypeInfo type = new GraphQLSchemaTypeInfo();
+        type.kind = "NON_NULL";
+        type.ofType = ofType;
+        return type;
+    }
+
+    private static GraphQLSchemaTypeInfo list(GraphQLSchemaTypeInfo ofType) {
+        GraphQLSchemaTypeInfo type = new GraphQLSchemaTypeInfo();
+        type.kind = "LIST";
+        type.ofType = ofType;
+        return type;
+    }
+
+    private static void generate(File directory, GraphQLSchemaType type) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        Program.emitPackage(sb, PACKAGE);
+        Program.emitImport(sb, type, PACKAGE);
+        Program.createJavaFile(type, Program.generateClass(sb, null, type, 1), directory.getPath() + File.separator);
+    }
+
+    private ClassLoader compile(File sources, File... files) throws Exception {
+        File classes = folder.newFolder("classes");
+        String annotations = new File(JsonCreator.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .getPath();
+        List<String> arguments = new ArrayList<>(Arrays.asList("-d", classes.getPath(), "-cp", annotations));
+        for (File file : files) {
+            arguments.add(file.getPath());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int result = compiler.run(null, null, errors, arguments.toArray(new String[0]));
+        assertEquals("Generated sources in " + sources + " should compile: " + new String(errors.toByteArray(), UTF_8),
+                0, result);
+        return new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+    }
+}
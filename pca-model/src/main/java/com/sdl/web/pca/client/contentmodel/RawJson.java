@@ -0,0 +1,264 @@
+package com.sdl.web.pca.client.contentmodel;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.ContentReference;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Unparsed JSON value kept as a slice of UTF-8 encoded bytes.
+ * <p>
+ * The value is materialized only when asked for, either as a tree, a map or a caller-supplied type.
+ * Tree and map representations are cached after the first call. When the value is deserialized from
+ * a byte array source the slice points into that array and no bytes are copied.
+ */
+@JsonDeserialize(using = RawJson.Deserializer.class)
+@JsonSerialize(using = RawJson.Serializer.class)
+public final class RawJson {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private volatile JsonNode node;
+    private volatile Map<String, Object> map;
+
+    public RawJson(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public RawJson(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Slice [" + offset + ", " + (offset + length) +
+                    ") is out of bounds for " + bytes.length + " bytes");
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Serializes given value into a new raw JSON instance. A {@link RawJsonMap}, such as data of raw content read
+     * by the client, gives its raw value back without serialization.
+     *
+     * @param value value to serialize
+     * @return raw JSON holding serialized value, or null if value is null
+     */
+    public static RawJson of(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof RawJsonMap) {
+            return ((RawJsonMap) value).getRaw();
+        }
+        try {
+            RawJson result = new RawJson(MAPPER.writeValueAsBytes(value));
+            if (value instanceof Map) {
+                //noinspection unchecked
+                result.map = (Map<String, Object>) value;
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to serialize value of " + value.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Returns number of bytes in the JSON value.
+     *
+     * @return length in bytes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a copy of the JSON value bytes.
+     *
+     * @return UTF-8 encoded JSON
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    /**
+     * Returns a read-only view of the JSON value bytes without copying them.
+     *
+     * @return buffer positioned at the start of the value
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the JSON value bytes to given stream.
+     *
+     * @param out stream to write to
+     * @throws IOException in case of write failure
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, offset, length);
+    }
+
+    /**
+     * Materializes the value as a JSON tree. The tree is built on first call only.
+     *
+     * @return JSON tree
+     */
+    public JsonNode asJsonNode() {
+        JsonNode result = node;
+        if (result == null) {
+            try {
+                result = MAPPER.readTree(MAPPER.getFactory().createParser(bytes, offset, length));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to parse raw JSON", e);
+            }
+            node = result;
+        }
+        return result;
+    }
+
+    /**
+     * Materializes the value as a map. The map is built on first call only.
+     *
+     * @return map representation
+     */
+    public Map<String, Object> asMap() {
+        Map<String, Object> result = map;
+        if (result == null) {
+            result = as(MAP_TYPE, MAPPER);
+            map = result;
+        }
+        return result;
+    }
+
+    /**
+     * Materializes the value as an instance of given type.
+     *
+     * @param type target type
+     * @param <T>  target type
+     * @return new instance bound from the JSON value
+     */
+    public <T> T as(Class<T> type) {
+        return as(type, MAPPER);
+    }
+
+    /**
+     * Materializes the value as an instance of given type using given mapper.
+     *
+     * @param type   target type
+     * @param mapper mapper used for binding
+     * @param <T>    target type
+     * @return new instance bound from the JSON value
+     */
+    public <T> T as(Class<T> type, ObjectMapper mapper) {
+        try {
+            return mapper.readValue(bytes, offset, length, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map raw JSON to " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Materializes the value as an instance of given generic type using given mapper.
+     *
+     * @param type   target type reference
+     * @param mapper mapper used for binding
+     * @param <T>    target type
+     * @return new instance bound from the JSON value
+     */
+    public <T> T as(TypeReference<T> type, ObjectMapper mapper) {
+        try {
+            return mapper.readValue(bytes, offset, length, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map raw JSON to " + type.getType(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, UTF_8);
+    }
+
+    /**
+     * Captures the current JSON value of a parser. If the parser reads from a byte array the value is
+     * sliced out of it, otherwise the value is copied token by token without building a tree.
+     */
+    static final class Deserializer extends StdDeserializer<RawJson> {
+
+        Deserializer() {
+            super(RawJson.class);
+        }
+
+        @Override
+        public RawJson deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            RawJson slice = trySlice(parser);
+            if (slice != null) {
+                return slice;
+            }
+            ByteArrayBuilder buffer = new ByteArrayBuilder();
+            try (JsonGenerator generator = MAPPER.getFactory().createGenerator(buffer)) {
+                generator.copyCurrentStructure(parser);
+            }
+            return new RawJson(buffer.toByteArray());
+        }
+
+        private static RawJson trySlice(JsonParser parser) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                return null;
+            }
+            JsonLocation start = parser.getTokenLocation();
+            ContentReference content = start.contentReference();
+            if (start.getByteOffset() < 0 || !(content.getRawContent() instanceof byte[])) {
+                return null;
+            }
+            parser.skipChildren();
+            long end = parser.getCurrentLocation().getByteOffset();
+            int base = Math.max(content.contentOffset(), 0);
+            return new RawJson((byte[]) content.getRawContent(), base + (int) start.getByteOffset(),
+                    (int) (end - start.getByteOffset()));
+        }
+    }
+
+    /**
+     * Writes the JSON value as is, without materializing it.
+     */
+    static final class Serializer extends StdSerializer<RawJson> {
+
+        Serializer() {
+            super(RawJson.class);
+        }
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            try (JsonParser parser = MAPPER.getFactory().createParser(value.bytes, value.offset, value.length)) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+}
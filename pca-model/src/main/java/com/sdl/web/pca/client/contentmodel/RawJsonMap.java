@@ -0,0 +1,112 @@
+package com.sdl.web.pca.client.contentmodel;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map backed by a {@link RawJson} value, which is parsed only when the map is accessed.
+ * <p>
+ * Lets map-typed properties of generated models, such as data of raw content, keep their JSON unparsed, see
+ * {@link RawJson#of(Object)} to get the raw value back. The map is backed by the map materialized from the raw
+ * value, so changes of the map are not reflected in raw bytes. A map which was never accessed is serialized from
+ * its raw bytes.
+ */
+@JsonSerialize(using = RawJsonMap.Serializer.class)
+public final class RawJsonMap extends AbstractMap<String, Object> {
+    private final RawJson raw;
+    private volatile boolean materialized;
+
+    public RawJsonMap(RawJson raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * Returns raw value backing this map.
+     *
+     * @return raw JSON
+     */
+    public RawJson getRaw() {
+        return raw;
+    }
+
+    private Map<String, Object> map() {
+        materialized = true;
+        return raw.asMap();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return map().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return map().remove(key);
+    }
+
+    /**
+     * Reads map-typed property as raw JSON, to be registered on the property with a mixin.
+     */
+    public static final class Deserializer extends StdDeserializer<Map<String, Object>> {
+
+        public Deserializer() {
+            super(Map.class);
+        }
+
+        @Override
+        public Map<String, Object> deserialize(JsonParser parser, DeserializationContext context)
+                throws IOException {
+            return new RawJsonMap(new RawJson.Deserializer().deserialize(parser, context));
+        }
+    }
+
+    /**
+     * Writes raw bytes of a map which was never accessed, materialized map otherwise.
+     */
+    static final class Serializer extends StdSerializer<RawJsonMap> {
+
+        Serializer() {
+            super(RawJsonMap.class);
+        }
+
+        @Override
+        public void serialize(RawJsonMap value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (value.materialized) {
+                provider.defaultSerializeValue(value.raw.asMap(), generator);
+            } else {
+                new RawJson.Serializer().serialize(value.raw, generator, provider);
+            }
+        }
+    }
+}